@@ -78,6 +78,8 @@ public class Constants {
     public static final String USED_ANALYSIS_RESULT = "analysis-result";
     public static final String USED_COMPILATION_RESULT = "compilation-result";
     public static final String USED_QPU_SELECTION_RESULT = "qpu-selection-result";
+    public static final String INITIAL_CIRCUIT = "initial-circuit";
+    public static final String TRANSPILED_CIRCUIT = "transpiled-circuit";
 
     // circuit languages
     public static final String OPENQASM = "openqasm";
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.cache;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Thread-safe, size-bounded cache whose entries expire after a fixed time to live. Expired entries are still returned
+ * while they are refreshed in the background, and concurrent loads of the same missing key are coalesced into a single
+ * call of the loader.
+ *
+ * @param <K> the type of the cache keys
+ * @param <V> the type of the cached values
+ */
+public class TtlCache<K, V> {
+
+    final private static Logger LOG = LoggerFactory.getLogger(TtlCache.class);
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private final Map<K, CompletableFuture<V>> pendingLoads = new ConcurrentHashMap<>();
+
+    private final String name;
+
+    private final long ttl;
+
+    private final int maxSize;
+
+    private final Executor refreshExecutor;
+
+    private final Counter hits;
+
+    private final Counter staleHits;
+
+    private final Counter misses;
+
+    /**
+     * Create a new cache and register its metrics
+     *
+     * @param name            the name of the cache used as tag for the metrics
+     * @param ttl             the time in milliseconds after which an entry is refreshed
+     * @param maxSize         the maximum number of entries in the cache
+     * @param refreshExecutor the executor refreshing expired entries in the background, which should not be shared
+     *                        with other tasks as the loaders may block
+     * @param meterRegistry   the registry to register the metrics of the cache
+     */
+    public TtlCache(String name, long ttl, int maxSize, Executor refreshExecutor, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.refreshExecutor = refreshExecutor;
+
+        hits = Counter.builder("nisq.analyzer.cache.requests").description("Number of requests to the cache")
+            .tag("cache", name).tag("result", "hit").register(meterRegistry);
+        staleHits = Counter.builder("nisq.analyzer.cache.requests").description("Number of requests to the cache")
+            .tag("cache", name).tag("result", "stale").register(meterRegistry);
+        misses = Counter.builder("nisq.analyzer.cache.requests").description("Number of requests to the cache")
+            .tag("cache", name).tag("result", "miss").register(meterRegistry);
+        Gauge.builder("nisq.analyzer.cache.size", entries, Map::size).description("Number of entries in the cache")
+            .tag("cache", name).register(meterRegistry);
+    }
+
+    /**
+     * Get the cached value for the given key, loading it if it is not yet cached
+     *
+     * @param key    the key to get the value for
+     * @param loader the function loading the value, returning null if the value is not available and must not be
+     *               cached
+     * @return the cached or loaded value, or null if it could not be loaded
+     */
+    public V get(K key, Function<K, V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (Objects.nonNull(entry)) {
+            if (System.currentTimeMillis() - entry.loadedAt < ttl) {
+                hits.increment();
+                return entry.value;
+            }
+
+            // serve the stale value and refresh it once in the background
+            staleHits.increment();
+            if (entry.refreshing.compareAndSet(false, true)) {
+                try {
+                    refreshExecutor.execute(() -> {
+                        try {
+                            store(key, loader.apply(key));
+                        } catch (Exception e) {
+                            LOG.warn("Refreshing entry '{}' of cache '{}' failed: {}", key, name, e.getMessage());
+                        } finally {
+                            entry.refreshing.set(false);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    LOG.debug("Refreshing entry '{}' of cache '{}' was rejected.", key, name);
+                    entry.refreshing.set(false);
+                }
+            }
+            return entry.value;
+        }
+
+        misses.increment();
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> pendingLoad = pendingLoads.putIfAbsent(key, load);
+        if (Objects.nonNull(pendingLoad)) {
+            try {
+                return pendingLoad.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        try {
+            V value = loader.apply(key);
+            store(key, value);
+            load.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingLoads.remove(key, load);
+        }
+    }
+
+    /**
+     * Remove all entries from the cache
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private void store(K key, V value) {
+        if (Objects.isNull(value)) {
+            return;
+        }
+        entries.put(key, new Entry<>(value));
+
+        // evict the oldest entries if the cache exceeds its size
+        while (entries.size() > maxSize) {
+            entries.entrySet().stream().min(Comparator.comparingLong(e -> e.getValue().loadedAt))
+                .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    private static class Entry<V> {
+
+        private final V value;
+
+        private final long loadedAt = System.currentTimeMillis();
+
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(V value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.connector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.planqk.nisq.analyzer.core.Constants;
+import org.planqk.nisq.analyzer.core.control.CircuitStorageService;
+import org.planqk.nisq.analyzer.core.model.GeneratedCircuit;
+import org.planqk.nisq.analyzer.core.model.Implementation;
+import org.planqk.nisq.analyzer.core.model.ParameterValue;
+import org.planqk.nisq.analyzer.core.planqk.PlanqkTokenService;
+import org.planqk.nisq.analyzer.core.repository.GeneratedCircuitRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Service caching the circuits generated from implementations per implementation, version of the implementation file,
+ * and input parameters, so that repeated analyses of the same implementation do not have to generate the circuit again
+ */
+@Service
+public class GeneratedCircuitCacheService {
+
+    final private static Logger LOG = LoggerFactory.getLogger(GeneratedCircuitCacheService.class);
+
+    // credentials do not influence the generated circuit and must not be part of the key
+    private static final List<String> CREDENTIAL_PARAMETERS = Arrays.asList(Constants.TOKEN_PARAMETER,
+        Constants.AWS_ACCESS_TOKEN_PARAMETER, Constants.AWS_ACCESS_SECRET_PARAMETER);
+
+    private final GeneratedCircuitRepository generatedCircuitRepository;
+
+    private final CircuitStorageService circuitStorageService;
+
+    private final PlanqkTokenService planqkTokenService;
+
+    private final RestTemplate restTemplate;
+
+    private final boolean enabled;
+
+    private final long maxAge;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    public GeneratedCircuitCacheService(GeneratedCircuitRepository generatedCircuitRepository,
+                                        CircuitStorageService circuitStorageService,
+                                        PlanqkTokenService planqkTokenService, RestTemplate restTemplate,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${org.planqk.nisq.analyzer.generation.cache.enabled:true}")
+                                            boolean enabled,
+                                        @Value("${org.planqk.nisq.analyzer.generation.cache.maxAge:86400000}")
+                                            long maxAge) {
+        this.generatedCircuitRepository = generatedCircuitRepository;
+        this.circuitStorageService = circuitStorageService;
+        this.planqkTokenService = planqkTokenService;
+        this.restTemplate = restTemplate;
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+
+        hits = Counter.builder("nisq.analyzer.cache.requests").description("Number of requests to the cache")
+            .tag("cache", "generated-circuits").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("nisq.analyzer.cache.requests").description("Number of requests to the cache")
+            .tag("cache", "generated-circuits").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Get the generated circuit of the given implementation for the specific input parameters and the analyzed
+     * properties of this circuit, using the given connector only if the circuit was not generated recently
+     *
+     * @param connector      the connector to generate the circuit with
+     * @param implementation the implementation from which the circuit should be generated
+     * @param parameters     the input parameters for the implementation
+     * @param refreshToken   the refresh token to access the implementation on the PlanQK platform
+     * @return the object containing all analysed properties of the original quantum circuit and the circuit itself, or
+     * null if the generation failed
+     */
+    public CircuitInformationOfImplementation getCircuitOfImplementation(SdkConnector connector,
+                                                                         Implementation implementation,
+                                                                         Map<String, ParameterValue> parameters,
+                                                                         String refreshToken) {
+        if (!enabled) {
+            return connector.getCircuitOfImplementation(implementation, parameters, refreshToken);
+        }
+
+        String fileVersion = getFileVersion(implementation, refreshToken);
+        if (Objects.isNull(fileVersion)) {
+            LOG.debug("Version of implementation {} is unknown, generating circuit without cache.",
+                implementation.getName());
+            return connector.getCircuitOfImplementation(implementation, parameters, refreshToken);
+        }
+
+        String generationKey = getGenerationKey(implementation, fileVersion, parameters);
+        Optional<GeneratedCircuit> generatedCircuit = generatedCircuitRepository.findByGenerationKey(generationKey);
+        if (generatedCircuit.isPresent() && isUpToDate(generatedCircuit.get())) {
+            LOG.debug("Using cached circuit of implementation {}.", implementation.getName());
+            hits.increment();
+            return toCircuitInformation(generatedCircuit.get());
+        }
+
+        misses.increment();
+        CircuitInformationOfImplementation circuitInformation =
+            connector.getCircuitOfImplementation(implementation, parameters, refreshToken);
+        if (Objects.nonNull(circuitInformation) && Objects.nonNull(circuitInformation.getGeneratedCircuit())) {
+            store(generatedCircuit.orElseGet(GeneratedCircuit::new), generationKey, implementation, circuitInformation);
+        }
+        return circuitInformation;
+    }
+
+    private boolean isUpToDate(GeneratedCircuit generatedCircuit) {
+        return maxAge <= 0 || generatedCircuit.getTime().isAfter(OffsetDateTime.now().minusNanos(maxAge * 1000000));
+    }
+
+    private void store(GeneratedCircuit generatedCircuit, String generationKey, Implementation implementation,
+                       CircuitInformationOfImplementation circuitInformation) {
+        generatedCircuit.setGenerationKey(generationKey);
+        generatedCircuit.setImplementationId(implementation.getId());
+        generatedCircuit.setTime(OffsetDateTime.now());
+        generatedCircuit.setOriginalWidth(circuitInformation.getCircuitWidth());
+        generatedCircuit.setOriginalDepth(circuitInformation.getCircuitDepth());
+        generatedCircuit.setOriginalMultiQubitGateDepth(circuitInformation.getCircuitMultiQubitGateDepth());
+        generatedCircuit.setOriginalNumberOfSingleQubitGates(circuitInformation.getCircuitNumberOfSingleQubitGates());
+        generatedCircuit.setOriginalNumberOfMultiQubitGates(circuitInformation.getCircuitNumberOfMultiQubitGates());
+        generatedCircuit.setOriginalTotalNumberOfOperations(circuitInformation.getCircuitTotalNumberOfOperations());
+        generatedCircuit.setOriginalNumberOfMeasurementOperations(
+            circuitInformation.getCircuitNumberOfMeasurementOperations());
+        generatedCircuit.setCircuitBlob(circuitStorageService.store(circuitInformation.getGeneratedCircuit()));
+        generatedCircuit.setCircuitLanguage(circuitInformation.getCircuitLanguage());
+        generatedCircuit.setCorrelationId(circuitInformation.getCorrelationId());
+
+        try {
+            generatedCircuitRepository.save(generatedCircuit);
+        } catch (DataIntegrityViolationException e) {
+            // the same circuit was generated and stored concurrently
+            LOG.debug("Generated circuit with key '{}' is already cached.", generationKey);
+        }
+    }
+
+    private static CircuitInformationOfImplementation toCircuitInformation(GeneratedCircuit generatedCircuit) {
+        CircuitInformationOfImplementation circuitInformation = new CircuitInformationOfImplementation();
+        circuitInformation.setCircuitWidth(generatedCircuit.getOriginalWidth());
+        circuitInformation.setCircuitDepth(generatedCircuit.getOriginalDepth());
+        circuitInformation.setCircuitMultiQubitGateDepth(generatedCircuit.getOriginalMultiQubitGateDepth());
+        circuitInformation.setCircuitNumberOfSingleQubitGates(generatedCircuit.getOriginalNumberOfSingleQubitGates());
+        circuitInformation.setCircuitNumberOfMultiQubitGates(generatedCircuit.getOriginalNumberOfMultiQubitGates());
+        circuitInformation.setCircuitTotalNumberOfOperations(generatedCircuit.getOriginalTotalNumberOfOperations());
+        circuitInformation.setCircuitNumberOfMeasurementOperations(
+            generatedCircuit.getOriginalNumberOfMeasurementOperations());
+        if (Objects.nonNull(generatedCircuit.getCircuitBlob())) {
+            circuitInformation.setGeneratedCircuit(generatedCircuit.getCircuitBlob().getCircuit());
+        }
+        circuitInformation.setCircuitLanguage(generatedCircuit.getCircuitLanguage());
+        circuitInformation.setCorrelationId(generatedCircuit.getCorrelationId());
+        circuitInformation.setComplete(true);
+        return circuitInformation;
+    }
+
+    /**
+     * Get the version of the implementation file, i.e., its entity tag or modification date if the server provides
+     * them, or the hash of its content otherwise, so that circuits are generated again as soon as the file changes
+     *
+     * @param implementation the implementation to get the file version for
+     * @param refreshToken   the refresh token to access the implementation on the PlanQK platform
+     * @return the version of the implementation file, or null if the file can not be retrieved
+     */
+    private String getFileVersion(Implementation implementation, String refreshToken) {
+        if (Objects.isNull(implementation.getFileLocation())) {
+            return null;
+        }
+
+        try {
+            URI fileLocation = implementation.getFileLocation().toURI();
+            String bearerToken = "platform.planqk.de".equals(fileLocation.getHost())
+                ? planqkTokenService.getBearerToken(refreshToken)
+                : null;
+            RequestCallback authentication = request -> {
+                if (Objects.nonNull(bearerToken) && !bearerToken.isEmpty()) {
+                    request.getHeaders().setBearerAuth(bearerToken);
+                }
+            };
+
+            try {
+                HttpHeaders headers =
+                    restTemplate.execute(fileLocation, HttpMethod.HEAD, authentication, ClientHttpResponse::getHeaders);
+                if (Objects.nonNull(headers) && Objects.nonNull(headers.getETag())) {
+                    return "etag:" + headers.getETag();
+                }
+                if (Objects.nonNull(headers) && headers.getLastModified() > 0) {
+                    return "modified:" + headers.getLastModified();
+                }
+            } catch (RestClientException e) {
+                LOG.debug("Unable to request headers of implementation file: {}", e.getMessage());
+            }
+
+            // the server does not provide validators for the file, compare its content instead
+            return restTemplate.execute(fileLocation, HttpMethod.GET, authentication,
+                response -> "sha256:" + hash(response.getBody()));
+        } catch (RestClientException | URISyntaxException e) {
+            LOG.warn("Unable to retrieve version of implementation file: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Get the key of the circuit generated from the given version of the implementation file with the given input
+     * parameters, normalized by sorting them by name and removing the credentials
+     */
+    private static String getGenerationKey(Implementation implementation, String fileVersion,
+                                           Map<String, ParameterValue> parameters) {
+        Map<String, String> normalizedParameters = new TreeMap<>();
+        parameters.forEach((name, value) -> {
+            if (!CREDENTIAL_PARAMETERS.contains(name) && Objects.nonNull(value)) {
+                normalizedParameters.put(name,
+                    value.getType() + ":" + Objects.toString(value.getRawValue(), "").trim());
+            }
+        });
+
+        StringBuilder key = new StringBuilder().append(implementation.getId()).append('\n')
+            .append(implementation.getFileLocation()).append('\n').append(fileVersion).append('\n')
+            .append(implementation.getLanguage()).append('\n')
+            .append(Objects.nonNull(implementation.getSdk()) ? implementation.getSdk().getName() : "");
+        normalizedParameters.forEach((name, value) -> key.append('\n').append(name).append('=').append(value));
+
+        MessageDigest digest = sha256();
+        digest.update(key.toString().getBytes(StandardCharsets.UTF_8));
+        return String.format("%064x", new BigInteger(1, digest.digest()));
+    }
+
+    private static String hash(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return String.format("%064x", new BigInteger(1, digest.digest()));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.connector;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.PreDestroy;
+
+import org.planqk.nisq.analyzer.core.model.ExecutionResult;
+import org.planqk.nisq.analyzer.core.model.ExecutionResultStatus;
+import org.planqk.nisq.analyzer.core.model.QpuSelectionResult;
+import org.planqk.nisq.analyzer.core.prioritization.restMcdaAndPrediction.TrainingSampleService;
+import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
+import org.planqk.nisq.analyzer.core.repository.QpuSelectionResultRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service calculating the histogram intersection of QPU executions with the simulator execution of the same QPU
+ * selection job. Finished simulator executions publish their counts, and QPU executions finishing earlier are updated
+ * as soon as the counts of the simulator arrive. Executions with a valid intersection are added to the training data
+ * for the prediction of histogram intersections and the learning of MCDA weights.
+ */
+@Service
+public class HistogramIntersectionService {
+
+    final private static Logger LOG = LoggerFactory.getLogger(HistogramIntersectionService.class);
+
+    private final Map<UUID, CompletableFuture<SimulatorCounts>> simulatorCounts = new ConcurrentHashMap<>();
+
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private final TrainingSampleService trainingSampleService;
+
+    private final long timeout;
+
+    public HistogramIntersectionService(TrainingSampleService trainingSampleService,
+                                        @Value("${org.planqk.nisq.analyzer.histogramIntersection.timeout:600000}")
+                                            long timeout) {
+        this.trainingSampleService = trainingSampleService;
+        this.timeout = timeout;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "histogram-intersection");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Calculate the histogram intersection for the given execution of a QPU selection result. If the execution ran on
+     * the simulator, its counts are published to all executions of the same job. Otherwise, the intersection is set
+     * directly if the simulator counts are already available, or the execution result is updated and stored as soon as
+     * they arrive.
+     *
+     * @param executionResult              the execution result to set the histogram intersection for
+     * @param result                       the result of the execution returned by the SDK connector
+     * @param qResult                      the QPU selection result that was executed
+     * @param simulator                    the name identifying the simulator of the provider
+     * @param resultRepository             the repository to store the execution results
+     * @param qpuSelectionResultRepository the repository to retrieve the results of the QPU selection job
+     */
+    public void calculateHistogramIntersection(ExecutionResult executionResult, ExecutionRequestResult result,
+                                               QpuSelectionResult qResult, String simulator,
+                                               ExecutionResultRepository resultRepository,
+                                               QpuSelectionResultRepository qpuSelectionResultRepository) {
+        if (qResult.getQpu().contains(simulator)) {
+            executionResult.setHistogramIntersectionValue(1);
+            getSimulatorCounts(qResult.getId()).complete(new SimulatorCounts(result.getResult(), result.getShots()));
+            return;
+        }
+
+        // get qpuSelectionResult of simulator if available
+        Optional<QpuSelectionResult> simulatorQpuSelectionResult =
+            qpuSelectionResultRepository.findAllByQpuSelectionJobId(qResult.getQpuSelectionJobId()).stream()
+                .filter(jobResult -> jobResult.getQpu().contains(simulator)).findFirst();
+        if (!simulatorQpuSelectionResult.isPresent()) {
+            return;
+        }
+
+        CompletableFuture<SimulatorCounts> counts = getSimulatorCounts(simulatorQpuSelectionResult.get().getId());
+        if (!counts.isDone()) {
+            // simulator may have finished before its counts could be published, e.g., before a restart
+            resultRepository.findByQpuSelectionResult(simulatorQpuSelectionResult.get()).stream()
+                .filter(simulatorResult -> simulatorResult.getStatus() == ExecutionResultStatus.FINISHED).findFirst()
+                .ifPresent(simulatorResult -> counts.complete(
+                    new SimulatorCounts(simulatorResult.getCounts(), simulatorResult.getShots())));
+        }
+
+        Map<String, Integer> qpuCounts = result.getResult();
+        if (counts.isDone() && !counts.isCompletedExceptionally()) {
+            setHistogramIntersection(executionResult, counts.join(), qpuCounts);
+            addToTrainingData(executionResult, qResult);
+            return;
+        }
+
+        LOG.debug("Waiting for simulator execution of QPU selection job {} to calculate histogram intersection.",
+            qResult.getQpuSelectionJobId());
+        counts.thenAccept(simulatorCounts -> {
+            setHistogramIntersection(executionResult, simulatorCounts, qpuCounts);
+            resultRepository.save(executionResult);
+            addToTrainingData(executionResult, qResult);
+        }).exceptionally(e -> {
+            LOG.warn("Unable to calculate histogram intersection for execution result {}: {}",
+                executionResult.getId(), e.getMessage());
+            return null;
+        });
+    }
+
+    private CompletableFuture<SimulatorCounts> getSimulatorCounts(UUID simulatorQpuSelectionResultId) {
+        return simulatorCounts.computeIfAbsent(simulatorQpuSelectionResultId, id -> {
+            CompletableFuture<SimulatorCounts> counts = new CompletableFuture<>();
+
+            // stop waiting for the simulator after the timeout, later executions fall back to the stored results
+            scheduler.schedule(() -> {
+                simulatorCounts.remove(id, counts);
+                counts.completeExceptionally(new TimeoutException("Simulator execution did not finish in time"));
+            }, timeout, TimeUnit.MILLISECONDS);
+            return counts;
+        });
+    }
+
+    private void setHistogramIntersection(ExecutionResult executionResult, SimulatorCounts simulatorCounts,
+                                          Map<String, Integer> qpuCounts) {
+        executionResult.setHistogramIntersectionValue(
+            ConnectorUtils.calculateHistogramIntersection(simulatorCounts.counts, qpuCounts, simulatorCounts.shots));
+    }
+
+    private void addToTrainingData(ExecutionResult executionResult, QpuSelectionResult qResult) {
+        trainingSampleService.addExecutionResult(executionResult, qResult);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Counts and shots of a finished simulator execution
+     */
+    private static class SimulatorCounts {
+
+        private final Map<String, Integer> counts;
+
+        private final int shots;
+
+        SimulatorCounts(Map<String, Integer> counts, int shots) {
+            this.counts = counts;
+            this.shots = shots;
+        }
+    }
+}
@@ -24,6 +24,8 @@ import java.net.URL;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.planqk.nisq.analyzer.core.model.ExecutionResult;
 import org.planqk.nisq.analyzer.core.model.Implementation;
@@ -31,6 +33,7 @@ import org.planqk.nisq.analyzer.core.model.Parameter;
 import org.planqk.nisq.analyzer.core.model.ParameterValue;
 import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
 import org.planqk.nisq.analyzer.core.repository.QpuSelectionResultRepository;
+import org.slf4j.LoggerFactory;
 
 /**
  * Interface for the interaction with a certain SDK.
@@ -142,7 +145,30 @@ public interface SdkConnector {
      * @param parameters     the input parameters for the implementation
      * @return the object containing all analysed properties of the original quantum circuit and the circuit itself
      */
-    CircuitInformationOfImplementation getCircuitOfImplementation(Implementation implementation,
-                                                                  Map<String, ParameterValue> parameters,
-                                                                  String refreshToken);
+    default CircuitInformationOfImplementation getCircuitOfImplementation(Implementation implementation,
+                                                                          Map<String, ParameterValue> parameters,
+                                                                          String refreshToken) {
+        try {
+            return generateCircuitOfImplementation(implementation, parameters, refreshToken).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            LoggerFactory.getLogger(SdkConnector.class)
+                .error("Unable to generate circuit of implementation {}.", implementation.getName(), e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Start the generation of the circuit of the given implementation for the specific input parameters and poll for
+     * the generated circuit without blocking the calling thread.
+     *
+     * @param implementation the implementation from which the circuit should be generated
+     * @param parameters     the input parameters for the implementation
+     * @return the future completed with the analysed properties of the original quantum circuit and the circuit
+     * itself, or exceptionally if the generation failed
+     */
+    CompletableFuture<CircuitInformationOfImplementation> generateCircuitOfImplementation(
+        Implementation implementation, Map<String, ParameterValue> parameters, String refreshToken);
 }
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.connector;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.planqk.nisq.analyzer.core.control.CircuitStorageService;
+import org.planqk.nisq.analyzer.core.model.ParameterValue;
+import org.planqk.nisq.analyzer.core.model.Qpu;
+import org.planqk.nisq.analyzer.core.model.TranspilationCacheEntry;
+import org.planqk.nisq.analyzer.core.repository.TranspilationCacheEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Service caching the properties of transpiled circuits per circuit content, provider, QPU, compiler, and calibration
+ * of the QPU. Entries of a QPU are removed as soon as QProv reports new calibration data for it.
+ */
+@Service
+public class TranspilationCacheService {
+
+    final private static Logger LOG = LoggerFactory.getLogger(TranspilationCacheService.class);
+
+    private final TranspilationCacheEntryRepository transpilationCacheEntryRepository;
+
+    private final CircuitStorageService circuitStorageService;
+
+    // calibration version of each QPU for which outdated entries were already removed
+    private final Map<String, String> calibrationVersions = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    public TranspilationCacheService(TranspilationCacheEntryRepository transpilationCacheEntryRepository,
+                                     CircuitStorageService circuitStorageService, MeterRegistry meterRegistry,
+                                     @Value("${org.planqk.nisq.analyzer.transpilation.cache.enabled:true}")
+                                         boolean enabled) {
+        this.transpilationCacheEntryRepository = transpilationCacheEntryRepository;
+        this.circuitStorageService = circuitStorageService;
+        this.enabled = enabled;
+
+        hits = Counter.builder("nisq.analyzer.cache.requests").description("Number of requests to the cache")
+            .tag("cache", "transpilations").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("nisq.analyzer.cache.requests").description("Number of requests to the cache")
+            .tag("cache", "transpilations").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Get the properties of the given circuit transpiled for the given QPU, using the given connector only if the
+     * circuit was not yet transpiled by the compiler for the current calibration of the QPU
+     *
+     * @param connector    the connector to transpile the circuit with
+     * @param compilerName the name of the compiler to use for the transpilation
+     * @param circuit      the file containing the circuit to transpile
+     * @param language     the language of the circuit
+     * @param providerName the name of the provider of the QPU
+     * @param qpu          the QPU to transpile the circuit for
+     * @param parameters   the parameters required for the transpilation, e.g., the access tokens of the provider
+     * @return the properties of the transpiled circuit, or null if the transpilation failed
+     */
+    public CircuitInformation getCircuitProperties(SdkConnector connector, String compilerName, File circuit,
+                                                   String language, String providerName, Qpu qpu,
+                                                   Map<String, ParameterValue> parameters) {
+        if (!enabled) {
+            return connector.getCircuitProperties(circuit, language, providerName, qpu.getName(), parameters);
+        }
+
+        String circuitCode;
+        try {
+            circuitCode = FileUtils.readFileToString(circuit, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOG.warn("Unable to read circuit to look up cached transpilations: {}", e.getMessage());
+            return connector.getCircuitProperties(circuit, language, providerName, qpu.getName(), parameters);
+        }
+
+        String provider = providerName.toLowerCase();
+        String qpuName = qpu.getName().toLowerCase();
+        String compiler = compilerName.toLowerCase();
+        String calibrationVersion = getCalibrationVersion(qpu);
+        removeOutdatedEntries(provider, qpuName, calibrationVersion);
+
+        String cacheKey = hash(
+            String.join("\n", provider, qpuName, compiler, calibrationVersion, language.toLowerCase(), circuitCode));
+        Optional<TranspilationCacheEntry> entry = transpilationCacheEntryRepository.findByCacheKey(cacheKey);
+        if (entry.isPresent()) {
+            LOG.debug("Using cached transpilation of compiler '{}' for QPU '{}'.", compiler, qpuName);
+            hits.increment();
+            return toCircuitInformation(entry.get());
+        }
+
+        misses.increment();
+        CircuitInformation circuitInformation =
+            connector.getCircuitProperties(circuit, language, providerName, qpu.getName(), parameters);
+        // do not cache transpilations that finished after the job requesting them was cancelled
+        if (Objects.nonNull(circuitInformation) && circuitInformation.wasTranspilationSuccessfull() &&
+            !Thread.currentThread().isInterrupted()) {
+            store(cacheKey, provider, qpuName, compiler, calibrationVersion, circuitInformation);
+        }
+        return circuitInformation;
+    }
+
+    private void removeOutdatedEntries(String provider, String qpuName, String calibrationVersion) {
+        String previousVersion = calibrationVersions.put(provider + "/" + qpuName, calibrationVersion);
+        if (!calibrationVersion.equals(previousVersion)) {
+            long removed = transpilationCacheEntryRepository
+                .deleteByProviderAndQpuAndCalibrationVersionNot(provider, qpuName, calibrationVersion);
+            if (removed > 0) {
+                LOG.debug("Removed {} cached transpilations for recalibrated QPU '{}'.", removed, qpuName);
+            }
+        }
+    }
+
+    private void store(String cacheKey, String provider, String qpuName, String compiler, String calibrationVersion,
+                       CircuitInformation circuitInformation) {
+        TranspilationCacheEntry entry = new TranspilationCacheEntry();
+        entry.setCacheKey(cacheKey);
+        entry.setProvider(provider);
+        entry.setQpu(qpuName);
+        entry.setCompiler(compiler);
+        entry.setCalibrationVersion(calibrationVersion);
+        entry.setCircuitDepth(circuitInformation.getCircuitDepth());
+        entry.setCircuitWidth(circuitInformation.getCircuitWidth());
+        entry.setCircuitTotalNumberOfOperations(circuitInformation.getCircuitTotalNumberOfOperations());
+        entry.setCircuitNumberOfSingleQubitGates(circuitInformation.getCircuitNumberOfSingleQubitGates());
+        entry.setCircuitNumberOfMultiQubitGates(circuitInformation.getCircuitNumberOfMultiQubitGates());
+        entry.setCircuitNumberOfMeasurementOperations(circuitInformation.getCircuitNumberOfMeasurementOperations());
+        entry.setCircuitMultiQubitGateDepth(circuitInformation.getCircuitMultiQubitGateDepth());
+        entry.setTranspiledCircuitBlob(circuitStorageService.store(circuitInformation.getTranspiledCircuit()));
+        entry.setTranspiledLanguage(circuitInformation.getTranspiledLanguage());
+
+        try {
+            transpilationCacheEntryRepository.save(entry);
+        } catch (DataIntegrityViolationException e) {
+            // the same transpilation was stored concurrently
+            LOG.debug("Transpilation with key '{}' is already cached.", cacheKey);
+        }
+    }
+
+    private static CircuitInformation toCircuitInformation(TranspilationCacheEntry entry) {
+        CircuitInformation circuitInformation = new CircuitInformation();
+        circuitInformation.setCircuitDepth(entry.getCircuitDepth());
+        circuitInformation.setCircuitWidth(entry.getCircuitWidth());
+        circuitInformation.setCircuitTotalNumberOfOperations(entry.getCircuitTotalNumberOfOperations());
+        circuitInformation.setCircuitNumberOfSingleQubitGates(entry.getCircuitNumberOfSingleQubitGates());
+        circuitInformation.setCircuitNumberOfMultiQubitGates(entry.getCircuitNumberOfMultiQubitGates());
+        circuitInformation.setCircuitNumberOfMeasurementOperations(entry.getCircuitNumberOfMeasurementOperations());
+        circuitInformation.setCircuitMultiQubitGateDepth(entry.getCircuitMultiQubitGateDepth());
+        if (Objects.nonNull(entry.getTranspiledCircuitBlob())) {
+            circuitInformation.setTranspiledCircuit(entry.getTranspiledCircuitBlob().getCircuit());
+        }
+        circuitInformation.setTranspiledLanguage(entry.getTranspiledLanguage());
+        return circuitInformation;
+    }
+
+    /**
+     * Get the version of the current calibration of the QPU, i.e., the calibration timestamp reported by QProv, or a
+     * fingerprint of the calibration data if no timestamp is available
+     */
+    private static String getCalibrationVersion(Qpu qpu) {
+        if (Objects.nonNull(qpu.getLastCalibrated())) {
+            return qpu.getLastCalibrated();
+        }
+        return "metrics-" + Integer.toHexString(
+            Objects.hash(qpu.getQubitCount(), qpu.getT1(), qpu.getT2(), qpu.getAvgReadoutError(),
+                qpu.getAvgSingleQubitGateError(), qpu.getAvgMultiQubitGateError(), qpu.getAvgSingleQubitGateTime(),
+                qpu.getAvgMultiQubitGateTime(), qpu.getMaxGateTime()));
+    }
+
+    private static String hash(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x", new BigInteger(1, digest));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
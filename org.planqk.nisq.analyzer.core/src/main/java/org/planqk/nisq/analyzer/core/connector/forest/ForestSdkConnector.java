@@ -19,9 +19,6 @@
 
 package org.planqk.nisq.analyzer.core.connector.forest;
 
-import static org.planqk.nisq.analyzer.core.connector.ConnectorUtils.calculateHistogramIntersection;
-import static org.planqk.nisq.analyzer.core.web.Utils.getBearerTokenFromRefreshToken;
-
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
@@ -35,20 +32,26 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.io.FileUtils;
 import org.planqk.nisq.analyzer.core.Constants;
 import org.planqk.nisq.analyzer.core.connector.CircuitInformation;
 import org.planqk.nisq.analyzer.core.connector.CircuitInformationOfImplementation;
 import org.planqk.nisq.analyzer.core.connector.ExecutionRequestResult;
+import org.planqk.nisq.analyzer.core.connector.HistogramIntersectionService;
 import org.planqk.nisq.analyzer.core.connector.OriginalCircuitInformation;
 import org.planqk.nisq.analyzer.core.connector.SdkConnector;
+import org.planqk.nisq.analyzer.core.execution.JobExecutorService;
+import org.planqk.nisq.analyzer.core.execution.JobQueue;
+import org.planqk.nisq.analyzer.core.execution.PollingScheduler;
 import org.planqk.nisq.analyzer.core.model.ExecutionResult;
 import org.planqk.nisq.analyzer.core.model.ExecutionResultStatus;
 import org.planqk.nisq.analyzer.core.model.Implementation;
 import org.planqk.nisq.analyzer.core.model.Parameter;
 import org.planqk.nisq.analyzer.core.model.ParameterValue;
 import org.planqk.nisq.analyzer.core.model.QpuSelectionResult;
+import org.planqk.nisq.analyzer.core.planqk.PlanqkTokenService;
 import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
 import org.planqk.nisq.analyzer.core.repository.QpuSelectionResultRepository;
 import org.slf4j.Logger;
@@ -71,6 +74,16 @@ public class ForestSdkConnector implements SdkConnector {
     @Value("${org.planqk.nisq.analyzer.connector.forest.pollInterval:10000}")
     private int pollInterval;
 
+    private final PollingScheduler pollingScheduler;
+
+    private final HistogramIntersectionService histogramIntersectionService;
+
+    private final RestTemplate restTemplate;
+
+    private final PlanqkTokenService planqkTokenService;
+
+    private final JobExecutorService jobExecutorService;
+
     // API Endpoints
     private URI generateAPIEndpoint;
 
@@ -82,7 +95,17 @@ public class ForestSdkConnector implements SdkConnector {
 
     public ForestSdkConnector(@Value("${org.planqk.nisq.analyzer.connector.forest.hostname}") String hostname,
                               @Value("${org.planqk.nisq.analyzer.connector.forest.port}") int port,
-                              @Value("${org.planqk.nisq.analyzer.connector.forest.version}") String version) {
+                              @Value("${org.planqk.nisq.analyzer.connector.forest.version}") String version,
+                              PollingScheduler pollingScheduler,
+                              HistogramIntersectionService histogramIntersectionService,
+                              RestTemplate restTemplate,
+                              PlanqkTokenService planqkTokenService,
+                              JobExecutorService jobExecutorService) {
+        this.pollingScheduler = pollingScheduler;
+        this.histogramIntersectionService = histogramIntersectionService;
+        this.restTemplate = restTemplate;
+        this.planqkTokenService = planqkTokenService;
+        this.jobExecutorService = jobExecutorService;
         // compile the API endpoints
         generateAPIEndpoint =
             URI.create(String.format("http://%s:%d/forest-service/api/%s/generate-circuit", hostname, port, version));
@@ -94,69 +117,57 @@ public class ForestSdkConnector implements SdkConnector {
             URI.create(String.format("http://%s:%d/forest-service/api/%s/execute", hostname, port, version));
     }
 
-    public CircuitInformationOfImplementation getCircuitOfImplementation(Implementation implementation,
-                                                                         Map<String, ParameterValue> parameters,
-                                                                         String refreshToken) {
+    @Override
+    public CompletableFuture<CircuitInformationOfImplementation> generateCircuitOfImplementation(
+        Implementation implementation, Map<String, ParameterValue> parameters, String refreshToken) {
         LOG.debug(
             "Generating and analyzing quantum circuit of quantum algorithm implementation with forest Sdk connector " +
                 "plugin!");
-        String bearerToken = getBearerTokenFromRefreshToken(refreshToken)[0];
+        String bearerToken = planqkTokenService.getBearerToken(refreshToken);
         ForestRequest request =
             new ForestRequest(implementation.getFileLocation(), implementation.getLanguage(), parameters, bearerToken);
 
-        RestTemplate restTemplate = new RestTemplate();
+        URI circuitLocation;
         try {
             // request to generate circuit
-            URI circuitLocation = restTemplate.postForLocation(generateAPIEndpoint, request);
-
-            ExecutionResultStatus generationComplete = ExecutionResultStatus.RUNNING;
-
-            // poll the forest service frequently
-            while (generationComplete != ExecutionResultStatus.FAILED) {
-                try {
-                    ResponseEntity<CircuitInformationOfImplementation> response =
-                        restTemplate.exchange(circuitLocation, HttpMethod.GET, null,
-                            CircuitInformationOfImplementation.class);
-
-                    CircuitInformationOfImplementation result = null;
-
-                    // Check if the forest service was successful
-                    if (response.getStatusCode().is2xxSuccessful()) {
-                        LOG.debug("Generating circuit using forest Service.");
-                        result = response.getBody();
-                        result.setCircuitLanguage(Constants.QUIL);
-
-                        // Check if generation is completed
-                        if (result.isComplete()) {
-                            generationComplete = ExecutionResultStatus.FINISHED;
-                            return result;
-                        }
-                    } else if (response.getStatusCode().is4xxClientError()) {
-                        LOG.error(
-                            String.format("Forest Service rejected request (HTTP %d)", response.getStatusCodeValue()));
-                        generationComplete = ExecutionResultStatus.FAILED;
-                    } else if (response.getStatusCode().is5xxServerError()) {
-                        LOG.error(
-                            String.format("Internal forest Service error (HTTP %d)", response.getStatusCodeValue()));
-                        generationComplete = ExecutionResultStatus.FAILED;
-                    }
-
-                    // Wait for next poll
-                    try {
-                        Thread.sleep(pollInterval);
-                    } catch (InterruptedException e) {
-                        // pass
-                    }
-                } catch (RestClientException e) {
-                    LOG.error("Polling generation result from forest Service failed.");
-                    generationComplete = ExecutionResultStatus.FAILED;
-                }
-            }
+            circuitLocation = restTemplate.postForLocation(generateAPIEndpoint, request);
         } catch (RestClientException e) {
             LOG.error("Circuit generation with forest Service failed.");
             throw new RuntimeException(e);
         }
-        return null;
+
+        // poll the forest service frequently without blocking a thread between the polls
+        return pollingScheduler.poll(() -> {
+            ResponseEntity<CircuitInformationOfImplementation> response;
+            try {
+                response = restTemplate.exchange(circuitLocation, HttpMethod.GET, null,
+                    CircuitInformationOfImplementation.class);
+            } catch (RestClientException e) {
+                LOG.error("Polling generation result from forest Service failed.");
+                throw e;
+            }
+
+            // Check if the forest service was successful
+            if (response.getStatusCode().is2xxSuccessful()) {
+                LOG.debug("Generating circuit using forest Service.");
+                CircuitInformationOfImplementation result = response.getBody();
+                result.setCircuitLanguage(Constants.QUIL);
+
+                // Check if generation is completed
+                return result.isComplete() ? result : null;
+            } else if (response.getStatusCode().is4xxClientError()) {
+                String message =
+                    String.format("Forest Service rejected request (HTTP %d)", response.getStatusCodeValue());
+                LOG.error(message);
+                throw new IllegalStateException(message);
+            } else if (response.getStatusCode().is5xxServerError()) {
+                String message =
+                    String.format("Internal forest Service error (HTTP %d)", response.getStatusCodeValue());
+                LOG.error(message);
+                throw new IllegalStateException(message);
+            }
+            return null;
+        }, pollInterval);
     }
 
     @Override
@@ -174,7 +185,6 @@ public class ForestSdkConnector implements SdkConnector {
     private void executeQuantumCircuit(ForestRequest request, ExecutionResult executionResult,
                                        ExecutionResultRepository resultRepository,
                                        QpuSelectionResultRepository qpuSelectionResultRepository) {
-        RestTemplate restTemplate = new RestTemplate();
         try {
             // make the execution request
             URI resultLocation = restTemplate.postForLocation(executeAPIEndpoint, request);
@@ -184,57 +194,20 @@ public class ForestSdkConnector implements SdkConnector {
             executionResult.setStatusCode("Pending for execution on Forest Service ...");
             resultRepository.save(executionResult);
 
-            // poll the Forest service frequently
-            while (executionResult.getStatus() != ExecutionResultStatus.FINISHED &&
-                executionResult.getStatus() != ExecutionResultStatus.FAILED) {
-                try {
-                    ExecutionRequestResult result =
-                        restTemplate.getForObject(resultLocation, ExecutionRequestResult.class);
-
-                    // Check if execution is completed
-                    if (result.isComplete()) {
-                        executionResult.setStatus(ExecutionResultStatus.FINISHED);
-                        executionResult.setStatusCode("Execution successfully completed.");
-                        executionResult.setResult(result.getResult().toString());
-                        executionResult.setShots(result.getShots());
-                        resultRepository.save(executionResult);
-                        executionResult.setResultLocation(resultLocation);
-
-                        // histogram intersection
-                        //FIXME currently only for qpu-selection
-                        if (Objects.nonNull(qpuSelectionResultRepository)) {
-                            Optional<QpuSelectionResult> qpuSelectionResult =
-                                qpuSelectionResultRepository.findById(executionResult.getQpuSelectionResult().getId());
-                            if (qpuSelectionResult.isPresent()) {
-                                // get stored token for the execution
-                                QpuSelectionResult qResult = qpuSelectionResult.get();
-
-                                // check if target machine is of Rigetti or IBMQ, consider accordingly qvm simulator
-                                // or ibmq simulator
-                                String simulator = "qvm";
-
-                                // check if current execution result is already of a simulator otherwise get all
-                                // qpu-selection-results of same job
-                                calculateHistogramIntersection(executionResult, resultRepository,
-                                    qpuSelectionResultRepository, result, qResult, simulator);
-                            }
-                        }
-                        resultRepository.save(executionResult);
-                    }
-
-                    // Wait for next poll
-                    try {
-                        Thread.sleep(pollInterval);
-                    } catch (InterruptedException e) {
-                        // pass
-                    }
-                } catch (RestClientException e) {
-                    LOG.error("Polling result from Forest Service failed.");
+            // poll the Forest service frequently without blocking a thread between the polls
+            pollingScheduler.poll(() -> {
+                ExecutionRequestResult result = restTemplate.getForObject(resultLocation, ExecutionRequestResult.class);
+
+                // Check if execution is completed
+                return result.isComplete() ? result : null;
+            }, pollInterval).whenComplete((result, e) -> jobExecutorService.submitCallback(JobQueue.EXECUTION_RESULT,
+                () -> processExecutionResult(result, e, resultLocation, executionResult, resultRepository,
+                    qpuSelectionResultRepository),
+                failure -> {
                     executionResult.setStatus(ExecutionResultStatus.FAILED);
-                    executionResult.setStatusCode("Polling result from Forest Service failed.");
+                    executionResult.setStatusCode("Processing result from Forest Service failed.");
                     resultRepository.save(executionResult);
-                }
-            }
+                }));
         } catch (RestClientException e) {
             LOG.error("Connection to Forest Service failed.");
             executionResult.setStatus(ExecutionResultStatus.FAILED);
@@ -243,11 +216,56 @@ public class ForestSdkConnector implements SdkConnector {
         }
     }
 
+    /**
+     * Process the result polled from the Forest service on a job thread, as it accesses the repositories and
+     * waits for the histogram intersection
+     */
+    private void processExecutionResult(ExecutionRequestResult result, Throwable e, URI resultLocation,
+                                        ExecutionResult executionResult,
+                                        ExecutionResultRepository resultRepository,
+                                        QpuSelectionResultRepository qpuSelectionResultRepository) {
+        if (Objects.nonNull(e)) {
+            LOG.error("Polling result from Forest Service failed.");
+            executionResult.setStatus(ExecutionResultStatus.FAILED);
+            executionResult.setStatusCode("Polling result from Forest Service failed.");
+            resultRepository.save(executionResult);
+            return;
+        }
+
+        executionResult.setStatus(ExecutionResultStatus.FINISHED);
+        executionResult.setStatusCode("Execution successfully completed.");
+        executionResult.setCounts(result.getResult());
+        executionResult.setShots(result.getShots());
+        resultRepository.save(executionResult);
+        executionResult.setResultLocation(resultLocation);
+
+        // histogram intersection
+        //FIXME currently only for qpu-selection
+        if (Objects.nonNull(qpuSelectionResultRepository)) {
+            Optional<QpuSelectionResult> qpuSelectionResult =
+                qpuSelectionResultRepository.findById(executionResult.getQpuSelectionResult().getId());
+            if (qpuSelectionResult.isPresent()) {
+                // get stored token for the execution
+                QpuSelectionResult qResult = qpuSelectionResult.get();
+
+                // check if target machine is of Rigetti or IBMQ, consider accordingly qvm simulator
+                // or ibmq simulator
+                String simulator = "qvm";
+
+                // publish the counts if the execution ran on the simulator, otherwise calculate the
+                // intersection as soon as the counts of the simulator are available
+                histogramIntersectionService.calculateHistogramIntersection(executionResult, result, qResult,
+                    simulator, resultRepository, qpuSelectionResultRepository);
+            }
+        }
+        resultRepository.save(executionResult);
+    }
+
     @Override
     public CircuitInformation getCircuitProperties(Implementation implementation, String providerName, String qpuName,
                                                    Map<String, ParameterValue> parameters, String refreshToken) {
         LOG.debug("Analysing quantum algorithm implementation with Forest Sdk connector plugin!");
-        String bearerToken = getBearerTokenFromRefreshToken(refreshToken)[0];
+        String bearerToken = planqkTokenService.getBearerToken(refreshToken);
         ForestRequest request =
             new ForestRequest(implementation.getFileLocation(), implementation.getLanguage(), qpuName, parameters,
                 bearerToken);
@@ -273,7 +291,6 @@ public class ForestSdkConnector implements SdkConnector {
     }
 
     private CircuitInformation executeCircuitPropertiesRequest(ForestRequest request) {
-        RestTemplate restTemplate = new RestTemplate();
         try {
             // Transpile the given algorithm implementation using Forest service
             ResponseEntity<CircuitInformation> response =
@@ -302,7 +319,6 @@ public class ForestSdkConnector implements SdkConnector {
     }
 
     private OriginalCircuitInformation executeOriginalCircuitPropertiesRequest(ForestRequest request) {
-        RestTemplate restTemplate = new RestTemplate();
         try {
             // Analyze the given original circuit using Forest service
             ResponseEntity<OriginalCircuitInformation> response =
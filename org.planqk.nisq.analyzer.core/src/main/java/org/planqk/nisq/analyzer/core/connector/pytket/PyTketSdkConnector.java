@@ -19,9 +19,6 @@
 
 package org.planqk.nisq.analyzer.core.connector.pytket;
 
-import static org.planqk.nisq.analyzer.core.connector.ConnectorUtils.calculateHistogramIntersection;
-import static org.planqk.nisq.analyzer.core.web.Utils.getBearerTokenFromRefreshToken;
-
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
@@ -35,14 +32,19 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.io.FileUtils;
 import org.planqk.nisq.analyzer.core.Constants;
 import org.planqk.nisq.analyzer.core.connector.CircuitInformation;
 import org.planqk.nisq.analyzer.core.connector.CircuitInformationOfImplementation;
 import org.planqk.nisq.analyzer.core.connector.ExecutionRequestResult;
+import org.planqk.nisq.analyzer.core.connector.HistogramIntersectionService;
 import org.planqk.nisq.analyzer.core.connector.OriginalCircuitInformation;
 import org.planqk.nisq.analyzer.core.connector.SdkConnector;
+import org.planqk.nisq.analyzer.core.execution.JobExecutorService;
+import org.planqk.nisq.analyzer.core.execution.JobQueue;
+import org.planqk.nisq.analyzer.core.execution.PollingScheduler;
 import org.planqk.nisq.analyzer.core.model.DataType;
 import org.planqk.nisq.analyzer.core.model.ExecutionResult;
 import org.planqk.nisq.analyzer.core.model.ExecutionResultStatus;
@@ -50,6 +52,7 @@ import org.planqk.nisq.analyzer.core.model.Implementation;
 import org.planqk.nisq.analyzer.core.model.Parameter;
 import org.planqk.nisq.analyzer.core.model.ParameterValue;
 import org.planqk.nisq.analyzer.core.model.QpuSelectionResult;
+import org.planqk.nisq.analyzer.core.planqk.PlanqkTokenService;
 import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
 import org.planqk.nisq.analyzer.core.repository.QpuSelectionResultRepository;
 import org.slf4j.Logger;
@@ -57,7 +60,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
@@ -72,6 +74,16 @@ public class PyTketSdkConnector implements SdkConnector {
     @Value("${org.planqk.nisq.analyzer.connector.pytket.pollInterval:10000}")
     private int pollInterval;
 
+    private final PollingScheduler pollingScheduler;
+
+    private final HistogramIntersectionService histogramIntersectionService;
+
+    private final RestTemplate restTemplate;
+
+    private final PlanqkTokenService planqkTokenService;
+
+    private final JobExecutorService jobExecutorService;
+
     // API Endpoints
     private URI generateAPIEndpoint;
 
@@ -83,7 +95,17 @@ public class PyTketSdkConnector implements SdkConnector {
 
     public PyTketSdkConnector(@Value("${org.planqk.nisq.analyzer.connector.pytket.hostname}") String hostname,
                               @Value("${org.planqk.nisq.analyzer.connector.pytket.port}") int port,
-                              @Value("${org.planqk.nisq.analyzer.connector.pytket.version}") String version) {
+                              @Value("${org.planqk.nisq.analyzer.connector.pytket.version}") String version,
+                              PollingScheduler pollingScheduler,
+                              HistogramIntersectionService histogramIntersectionService,
+                              RestTemplate restTemplate,
+                              PlanqkTokenService planqkTokenService,
+                              JobExecutorService jobExecutorService) {
+        this.pollingScheduler = pollingScheduler;
+        this.histogramIntersectionService = histogramIntersectionService;
+        this.restTemplate = restTemplate;
+        this.planqkTokenService = planqkTokenService;
+        this.jobExecutorService = jobExecutorService;
         // compile the API endpoints
         generateAPIEndpoint =
             URI.create(String.format("http://%s:%d/pytket-service/api/%s/generate-circuit", hostname, port, version));
@@ -95,73 +117,61 @@ public class PyTketSdkConnector implements SdkConnector {
             URI.create(String.format("http://%s:%d/pytket-service/api/%s/execute", hostname, port, version));
     }
 
-    public CircuitInformationOfImplementation getCircuitOfImplementation(Implementation implementation,
-                                                                         Map<String, ParameterValue> parameters,
-                                                                         String refreshToken) {
+    @Override
+    public CompletableFuture<CircuitInformationOfImplementation> generateCircuitOfImplementation(
+        Implementation implementation, Map<String, ParameterValue> parameters, String refreshToken) {
         LOG.debug(
             "Generating and analyzing quantum circuit of quantum algorithm implementation with Pytket Sdk connector " +
                 "plugin!");
-        String bearerToken = getBearerTokenFromRefreshToken(refreshToken)[0];
+        String bearerToken = planqkTokenService.getBearerToken(refreshToken);
         PyTketRequest request =
             new PyTketRequest(implementation.getFileLocation(), implementation.getLanguage(), parameters, bearerToken);
 
-        RestTemplate restTemplate = new RestTemplate();
+        URI circuitLocation;
         try {
             // request to generate circuit
-            URI circuitLocation = restTemplate.postForLocation(generateAPIEndpoint, request);
-
-            ExecutionResultStatus generationComplete = ExecutionResultStatus.RUNNING;
-
-            // poll the Pytket service frequently
-            while (generationComplete != ExecutionResultStatus.FAILED) {
-                try {
-                    ResponseEntity<CircuitInformationOfImplementation> response =
-                        restTemplate.exchange(circuitLocation, HttpMethod.GET, null,
-                            CircuitInformationOfImplementation.class);
-
-                    CircuitInformationOfImplementation result = null;
-
-                    // Check if the Pytket service was successful
-                    if (response.getStatusCode().is2xxSuccessful()) {
-                        LOG.debug("Generating circuit using Pytket Service.");
-                        result = response.getBody();
-                        if (implementation.getLanguage().equalsIgnoreCase("qiskit")) {
-                            result.setCircuitLanguage(Constants.OPENQASM);
-                        } else if (implementation.getLanguage().equalsIgnoreCase("pyquil")) {
-                            result.setCircuitLanguage(Constants.QUIL);
-                        }
-
-                        // Check if generation is completed
-                        if (result.isComplete()) {
-                            generationComplete = ExecutionResultStatus.FINISHED;
-                            return result;
-                        }
-                    } else if (response.getStatusCode().is4xxClientError()) {
-                        LOG.error(
-                            String.format("Pytket Service rejected request (HTTP %d)", response.getStatusCodeValue()));
-                        generationComplete = ExecutionResultStatus.FAILED;
-                    } else if (response.getStatusCode().is5xxServerError()) {
-                        LOG.error(
-                            String.format("Internal Pytket Service error (HTTP %d)", response.getStatusCodeValue()));
-                        generationComplete = ExecutionResultStatus.FAILED;
-                    }
-
-                    // Wait for next poll
-                    try {
-                        Thread.sleep(pollInterval);
-                    } catch (InterruptedException e) {
-                        // pass
-                    }
-                } catch (RestClientException e) {
-                    LOG.error("Polling generation result from Pytket Service failed.");
-                    generationComplete = ExecutionResultStatus.FAILED;
-                }
-            }
+            circuitLocation = restTemplate.postForLocation(generateAPIEndpoint, request);
         } catch (RestClientException e) {
             LOG.error("Circuit generation with Pytket Service failed.");
             throw new RuntimeException(e);
         }
-        return null;
+
+        // poll the Pytket service frequently without blocking a thread between the polls
+        return pollingScheduler.poll(() -> {
+            ResponseEntity<CircuitInformationOfImplementation> response;
+            try {
+                response = restTemplate.exchange(circuitLocation, HttpMethod.GET, null,
+                    CircuitInformationOfImplementation.class);
+            } catch (RestClientException e) {
+                LOG.error("Polling generation result from Pytket Service failed.");
+                throw e;
+            }
+
+            // Check if the Pytket service was successful
+            if (response.getStatusCode().is2xxSuccessful()) {
+                LOG.debug("Generating circuit using Pytket Service.");
+                CircuitInformationOfImplementation result = response.getBody();
+                if (implementation.getLanguage().equalsIgnoreCase("qiskit")) {
+                    result.setCircuitLanguage(Constants.OPENQASM);
+                } else if (implementation.getLanguage().equalsIgnoreCase("pyquil")) {
+                    result.setCircuitLanguage(Constants.QUIL);
+                }
+
+                // Check if generation is completed
+                return result.isComplete() ? result : null;
+            } else if (response.getStatusCode().is4xxClientError()) {
+                String message =
+                    String.format("Pytket Service rejected request (HTTP %d)", response.getStatusCodeValue());
+                LOG.error(message);
+                throw new IllegalStateException(message);
+            } else if (response.getStatusCode().is5xxServerError()) {
+                String message =
+                    String.format("Internal Pytket Service error (HTTP %d)", response.getStatusCodeValue());
+                LOG.error(message);
+                throw new IllegalStateException(message);
+            }
+            return null;
+        }, pollInterval);
     }
 
     @Override
@@ -202,7 +212,6 @@ public class PyTketSdkConnector implements SdkConnector {
                                        QpuSelectionResultRepository qpuSelectionResultRepository) {
         try {
             // make the execution request
-            RestTemplate restTemplate = new RestTemplate();
             URI resultLocation = restTemplate.postForLocation(executeAPIEndpoint, request);
 
             // change the result status
@@ -210,61 +219,20 @@ public class PyTketSdkConnector implements SdkConnector {
             executionResult.setStatusCode("Pending for execution on PyTKet Service ...");
             resultRepository.save(executionResult);
 
-            // poll the PyTKet service frequently
-            while (executionResult.getStatus() != ExecutionResultStatus.FINISHED &&
-                executionResult.getStatus() != ExecutionResultStatus.FAILED) {
-                try {
-                    ExecutionRequestResult result =
-                        restTemplate.getForObject(resultLocation, ExecutionRequestResult.class);
-
-                    // Check if execution is completed
-                    if (result.isComplete()) {
-                        executionResult.setStatus(ExecutionResultStatus.FINISHED);
-                        executionResult.setStatusCode("Execution successfully completed.");
-                        executionResult.setResult(result.getResult().toString());
-                        executionResult.setShots(result.getShots());
-                        executionResult.setResultLocation(resultLocation);
-
-                        // histogram intersection
-                        //FIXME currently only for qpu-selection
-                        if (Objects.nonNull(qpuSelectionResultRepository)) {
-                            Optional<QpuSelectionResult> qpuSelectionResult =
-                                qpuSelectionResultRepository.findById(executionResult.getQpuSelectionResult().getId());
-                            if (qpuSelectionResult.isPresent()) {
-                                // get stored token for the execution
-                                QpuSelectionResult qResult = qpuSelectionResult.get();
-
-                                // check if target machine is of Rigetti or IBMQ, consider accordingly qvm simulator
-                                // or ibmq simulator
-                                String simulator;
-                                if (Objects.equals(qResult.getProvider(), Constants.RIGETTI)) {
-                                    simulator = "qvm";
-                                } else {
-                                    simulator = "simulator";
-                                }
-
-                                // check if current execution result is already of a simulator otherwise get all
-                                // qpu-selection-results of same job
-                                calculateHistogramIntersection(executionResult, resultRepository,
-                                    qpuSelectionResultRepository, result, qResult, simulator);
-                            }
-                        }
-                        resultRepository.save(executionResult);
-                    }
-
-                    // Wait for next poll
-                    try {
-                        Thread.sleep(pollInterval);
-                    } catch (InterruptedException e) {
-                        // pass
-                    }
-                } catch (RestClientException e) {
-                    LOG.error("Polling result from PyTKet Service failed.");
+            // poll the PyTKet service frequently without blocking a thread between the polls
+            pollingScheduler.poll(() -> {
+                ExecutionRequestResult result = restTemplate.getForObject(resultLocation, ExecutionRequestResult.class);
+
+                // Check if execution is completed
+                return result.isComplete() ? result : null;
+            }, pollInterval).whenComplete((result, e) -> jobExecutorService.submitCallback(JobQueue.EXECUTION_RESULT,
+                () -> processExecutionResult(result, e, resultLocation, executionResult, resultRepository,
+                    qpuSelectionResultRepository),
+                failure -> {
                     executionResult.setStatus(ExecutionResultStatus.FAILED);
-                    executionResult.setStatusCode("Polling result from PyTKet Service failed.");
+                    executionResult.setStatusCode("Processing result from PyTket Service failed.");
                     resultRepository.save(executionResult);
-                }
-            }
+                }));
         } catch (RestClientException e) {
             LOG.error("Connection to PyTKet Service failed.");
             executionResult.setStatus(ExecutionResultStatus.FAILED);
@@ -273,11 +241,60 @@ public class PyTketSdkConnector implements SdkConnector {
         }
     }
 
+    /**
+     * Process the result polled from the PyTket service on a job thread, as it accesses the repositories and
+     * waits for the histogram intersection
+     */
+    private void processExecutionResult(ExecutionRequestResult result, Throwable e, URI resultLocation,
+                                        ExecutionResult executionResult,
+                                        ExecutionResultRepository resultRepository,
+                                        QpuSelectionResultRepository qpuSelectionResultRepository) {
+        if (Objects.nonNull(e)) {
+            LOG.error("Polling result from PyTKet Service failed.");
+            executionResult.setStatus(ExecutionResultStatus.FAILED);
+            executionResult.setStatusCode("Polling result from PyTKet Service failed.");
+            resultRepository.save(executionResult);
+            return;
+        }
+
+        executionResult.setStatus(ExecutionResultStatus.FINISHED);
+        executionResult.setStatusCode("Execution successfully completed.");
+        executionResult.setCounts(result.getResult());
+        executionResult.setShots(result.getShots());
+        executionResult.setResultLocation(resultLocation);
+
+        // histogram intersection
+        //FIXME currently only for qpu-selection
+        if (Objects.nonNull(qpuSelectionResultRepository)) {
+            Optional<QpuSelectionResult> qpuSelectionResult =
+                qpuSelectionResultRepository.findById(executionResult.getQpuSelectionResult().getId());
+            if (qpuSelectionResult.isPresent()) {
+                // get stored token for the execution
+                QpuSelectionResult qResult = qpuSelectionResult.get();
+
+                // check if target machine is of Rigetti or IBMQ, consider accordingly qvm simulator
+                // or ibmq simulator
+                String simulator;
+                if (Objects.equals(qResult.getProvider(), Constants.RIGETTI)) {
+                    simulator = "qvm";
+                } else {
+                    simulator = "simulator";
+                }
+
+                // publish the counts if the execution ran on the simulator, otherwise calculate the
+                // intersection as soon as the counts of the simulator are available
+                histogramIntersectionService.calculateHistogramIntersection(executionResult, result, qResult,
+                    simulator, resultRepository, qpuSelectionResultRepository);
+            }
+        }
+        resultRepository.save(executionResult);
+    }
+
     @Override
     public CircuitInformation getCircuitProperties(Implementation implementation, String providerName, String qpuName,
                                                    Map<String, ParameterValue> parameters, String refreshToken) {
         LOG.debug("Analysing quantum algorithm implementation with PyTket Sdk connector plugin!");
-        String bearerToken = getBearerTokenFromRefreshToken(refreshToken)[0];
+        String bearerToken = planqkTokenService.getBearerToken(refreshToken);
         PyTketRequest request =
             new PyTketRequest(implementation.getFileLocation(), implementation.getLanguage(), qpuName, providerName,
                 parameters, bearerToken);
@@ -303,9 +320,6 @@ public class PyTketSdkConnector implements SdkConnector {
     }
 
     private CircuitInformation executeCircuitPropertiesRequest(PyTketRequest request) {
-        RestTemplate restTemplate = new RestTemplate();
-        restTemplate.setRequestFactory(new HttpComponentsClientHttpRequestFactory());
-
         try {
             // Transpile the given algorithm implementation using PyTket service
             ResponseEntity<CircuitInformation> response =
@@ -328,7 +342,6 @@ public class PyTketSdkConnector implements SdkConnector {
     }
 
     private OriginalCircuitInformation executeOriginalCircuitPropertiesRequest(PyTketRequest request) {
-        RestTemplate restTemplate = new RestTemplate();
         try {
             // Analyze the given original circuit using Pytket service
             ResponseEntity<OriginalCircuitInformation> response =
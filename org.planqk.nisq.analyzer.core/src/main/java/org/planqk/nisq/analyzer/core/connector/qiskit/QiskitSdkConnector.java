@@ -19,9 +19,6 @@
 
 package org.planqk.nisq.analyzer.core.connector.qiskit;
 
-import static org.planqk.nisq.analyzer.core.connector.ConnectorUtils.calculateHistogramIntersection;
-import static org.planqk.nisq.analyzer.core.web.Utils.getBearerTokenFromRefreshToken;
-
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
@@ -36,14 +33,19 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.io.FileUtils;
 import org.planqk.nisq.analyzer.core.Constants;
 import org.planqk.nisq.analyzer.core.connector.CircuitInformation;
 import org.planqk.nisq.analyzer.core.connector.CircuitInformationOfImplementation;
 import org.planqk.nisq.analyzer.core.connector.ExecutionRequestResult;
+import org.planqk.nisq.analyzer.core.connector.HistogramIntersectionService;
 import org.planqk.nisq.analyzer.core.connector.OriginalCircuitInformation;
 import org.planqk.nisq.analyzer.core.connector.SdkConnector;
+import org.planqk.nisq.analyzer.core.execution.JobExecutorService;
+import org.planqk.nisq.analyzer.core.execution.JobQueue;
+import org.planqk.nisq.analyzer.core.execution.PollingScheduler;
 import org.planqk.nisq.analyzer.core.model.DataType;
 import org.planqk.nisq.analyzer.core.model.ExecutionResult;
 import org.planqk.nisq.analyzer.core.model.ExecutionResultStatus;
@@ -51,6 +53,7 @@ import org.planqk.nisq.analyzer.core.model.Implementation;
 import org.planqk.nisq.analyzer.core.model.Parameter;
 import org.planqk.nisq.analyzer.core.model.ParameterValue;
 import org.planqk.nisq.analyzer.core.model.QpuSelectionResult;
+import org.planqk.nisq.analyzer.core.planqk.PlanqkTokenService;
 import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
 import org.planqk.nisq.analyzer.core.repository.QpuSelectionResultRepository;
 import org.slf4j.Logger;
@@ -70,6 +73,16 @@ public class QiskitSdkConnector implements SdkConnector {
 
     final private static Logger LOG = LoggerFactory.getLogger(QiskitSdkConnector.class);
 
+    private final PollingScheduler pollingScheduler;
+
+    private final HistogramIntersectionService histogramIntersectionService;
+
+    private final RestTemplate restTemplate;
+
+    private final PlanqkTokenService planqkTokenService;
+
+    private final JobExecutorService jobExecutorService;
+
     // API Endpoints
     private final URI generateAPIEndpoint;
 
@@ -84,7 +97,17 @@ public class QiskitSdkConnector implements SdkConnector {
 
     public QiskitSdkConnector(@Value("${org.planqk.nisq.analyzer.connector.qiskit.hostname}") String hostname,
                               @Value("${org.planqk.nisq.analyzer.connector.qiskit.port}") int port,
-                              @Value("${org.planqk.nisq.analyzer.connector.qiskit.version}") String version) {
+                              @Value("${org.planqk.nisq.analyzer.connector.qiskit.version}") String version,
+                              PollingScheduler pollingScheduler,
+                              HistogramIntersectionService histogramIntersectionService,
+                              RestTemplate restTemplate,
+                              PlanqkTokenService planqkTokenService,
+                              JobExecutorService jobExecutorService) {
+        this.pollingScheduler = pollingScheduler;
+        this.histogramIntersectionService = histogramIntersectionService;
+        this.restTemplate = restTemplate;
+        this.planqkTokenService = planqkTokenService;
+        this.jobExecutorService = jobExecutorService;
         // compile the API endpoints
         generateAPIEndpoint =
             URI.create(String.format("http://%s:%d/qiskit-service/api/%s/generate-circuit", hostname, port, version));
@@ -96,69 +119,57 @@ public class QiskitSdkConnector implements SdkConnector {
             URI.create(String.format("http://%s:%d/qiskit-service/api/%s/execute", hostname, port, version));
     }
 
-    public CircuitInformationOfImplementation getCircuitOfImplementation(Implementation implementation,
-                                                                         Map<String, ParameterValue> parameters,
-                                                                         String refreshToken) {
+    @Override
+    public CompletableFuture<CircuitInformationOfImplementation> generateCircuitOfImplementation(
+        Implementation implementation, Map<String, ParameterValue> parameters, String refreshToken) {
         LOG.debug(
             "Generating and analyzing quantum circuit of quantum algorithm implementation with Qiskit Sdk connector " +
                 "plugin!");
-        String bearerToken = getBearerTokenFromRefreshToken(refreshToken)[0];
+        String bearerToken = planqkTokenService.getBearerToken(refreshToken);
         QiskitRequest request =
             new QiskitRequest(implementation.getFileLocation(), implementation.getLanguage(), parameters, bearerToken);
 
-        RestTemplate restTemplate = new RestTemplate();
+        URI circuitLocation;
         try {
             // request to generate circuit
-            URI circuitLocation = restTemplate.postForLocation(generateAPIEndpoint, request);
-
-            ExecutionResultStatus generationComplete = ExecutionResultStatus.RUNNING;
-
-            // poll the Qiskit service frequently
-            while (generationComplete != ExecutionResultStatus.FAILED) {
-                try {
-                    ResponseEntity<CircuitInformationOfImplementation> response =
-                        restTemplate.exchange(circuitLocation, HttpMethod.GET, null,
-                            CircuitInformationOfImplementation.class);
-
-                    CircuitInformationOfImplementation result = null;
-
-                    // Check if the Qiskit service was successful
-                    if (response.getStatusCode().is2xxSuccessful()) {
-                        LOG.debug("Generating circuit using Qiskit Service.");
-                        result = response.getBody();
-                        result.setCircuitLanguage(Constants.OPENQASM);
-
-                        // Check if generation is completed
-                        if (result.isComplete()) {
-                            generationComplete = ExecutionResultStatus.FINISHED;
-                            return result;
-                        }
-                    } else if (response.getStatusCode().is4xxClientError()) {
-                        LOG.error(
-                            String.format("Qiskit Service rejected request (HTTP %d)", response.getStatusCodeValue()));
-                        generationComplete = ExecutionResultStatus.FAILED;
-                    } else if (response.getStatusCode().is5xxServerError()) {
-                        LOG.error(
-                            String.format("Internal Qiskit Service error (HTTP %d)", response.getStatusCodeValue()));
-                        generationComplete = ExecutionResultStatus.FAILED;
-                    }
-
-                    // Wait for next poll
-                    try {
-                        Thread.sleep(pollInterval);
-                    } catch (InterruptedException e) {
-                        // pass
-                    }
-                } catch (RestClientException e) {
-                    LOG.error("Polling generation result from Qiskit Service failed.");
-                    generationComplete = ExecutionResultStatus.FAILED;
-                }
-            }
+            circuitLocation = restTemplate.postForLocation(generateAPIEndpoint, request);
         } catch (RestClientException e) {
             LOG.error("Circuit generation with Qiskit Service failed.");
             throw new RuntimeException(e);
         }
-        return null;
+
+        // poll the Qiskit service frequently without blocking a thread between the polls
+        return pollingScheduler.poll(() -> {
+            ResponseEntity<CircuitInformationOfImplementation> response;
+            try {
+                response = restTemplate.exchange(circuitLocation, HttpMethod.GET, null,
+                    CircuitInformationOfImplementation.class);
+            } catch (RestClientException e) {
+                LOG.error("Polling generation result from Qiskit Service failed.");
+                throw e;
+            }
+
+            // Check if the Qiskit service was successful
+            if (response.getStatusCode().is2xxSuccessful()) {
+                LOG.debug("Generating circuit using Qiskit Service.");
+                CircuitInformationOfImplementation result = response.getBody();
+                result.setCircuitLanguage(Constants.OPENQASM);
+
+                // Check if generation is completed
+                return result.isComplete() ? result : null;
+            } else if (response.getStatusCode().is4xxClientError()) {
+                String message =
+                    String.format("Qiskit Service rejected request (HTTP %d)", response.getStatusCodeValue());
+                LOG.error(message);
+                throw new IllegalStateException(message);
+            } else if (response.getStatusCode().is5xxServerError()) {
+                String message =
+                    String.format("Internal Qiskit Service error (HTTP %d)", response.getStatusCodeValue());
+                LOG.error(message);
+                throw new IllegalStateException(message);
+            }
+            return null;
+        }, pollInterval);
     }
 
     @Override
@@ -177,7 +188,6 @@ public class QiskitSdkConnector implements SdkConnector {
     private void executeQuantumCircuit(QiskitRequest request, ExecutionResult executionResult,
                                        ExecutionResultRepository resultRepository,
                                        QpuSelectionResultRepository qpuSelectionResultRepository) {
-        RestTemplate restTemplate = new RestTemplate();
         try {
             // make the execution request
             URI resultLocation = restTemplate.postForLocation(executeAPIEndpoint, request);
@@ -187,57 +197,20 @@ public class QiskitSdkConnector implements SdkConnector {
             executionResult.setStatusCode("Pending for execution on Qiskit Service ...");
             resultRepository.save(executionResult);
 
-            // poll the Qiskit service frequently
-            while (executionResult.getStatus() != ExecutionResultStatus.FINISHED &&
-                executionResult.getStatus() != ExecutionResultStatus.FAILED) {
-                try {
-                    ExecutionRequestResult result =
-                        restTemplate.getForObject(resultLocation, ExecutionRequestResult.class);
-
-                    // Check if execution is completed
-                    if (result.isComplete()) {
-                        executionResult.setStatus(ExecutionResultStatus.FINISHED);
-                        executionResult.setStatusCode("Execution successfully completed.");
-                        executionResult.setResult(result.getResult().toString());
-                        executionResult.setShots(result.getShots());
-                        executionResult.setResultLocation(resultLocation);
-
-                        // histogram intersection
-                        //FIXME currently only for qpu-selection
-                        if (Objects.nonNull(qpuSelectionResultRepository)) {
-                            Optional<QpuSelectionResult> qpuSelectionResult =
-                                qpuSelectionResultRepository.findById(executionResult.getQpuSelectionResult().getId());
-                            if (qpuSelectionResult.isPresent()) {
-                                // get stored token for the execution
-                                QpuSelectionResult qResult = qpuSelectionResult.get();
-
-                                // as QiskitSdk Connector is invoked, the provider is IBM Q, thus, the
-                                // ibmq simulator is the one we need
-                                // for histogram intersection
-                                String simulator = "simulator";
-
-                                // check if current execution result is already of a simulator otherwise get all
-                                // qpu-selection-results of same job
-                                calculateHistogramIntersection(executionResult, resultRepository,
-                                    qpuSelectionResultRepository, result, qResult, simulator);
-                            }
-                        }
-                        resultRepository.save(executionResult);
-                    }
-
-                    // Wait for next poll
-                    try {
-                        Thread.sleep(pollInterval);
-                    } catch (InterruptedException e) {
-                        // pass
-                    }
-                } catch (RestClientException e) {
-                    LOG.error("Polling result from Qiskit Service failed.");
+            // poll the Qiskit service frequently without blocking a thread between the polls
+            pollingScheduler.poll(() -> {
+                ExecutionRequestResult result = restTemplate.getForObject(resultLocation, ExecutionRequestResult.class);
+
+                // Check if execution is completed
+                return result.isComplete() ? result : null;
+            }, pollInterval).whenComplete((result, e) -> jobExecutorService.submitCallback(JobQueue.EXECUTION_RESULT,
+                () -> processExecutionResult(result, e, resultLocation, executionResult, resultRepository,
+                    qpuSelectionResultRepository),
+                failure -> {
                     executionResult.setStatus(ExecutionResultStatus.FAILED);
-                    executionResult.setStatusCode("Polling result from Qiskit Service failed.");
+                    executionResult.setStatusCode("Processing result from Qiskit Service failed.");
                     resultRepository.save(executionResult);
-                }
-            }
+                }));
         } catch (RestClientException e) {
             LOG.error("Connection to Qiskit Service failed.");
             executionResult.setStatus(ExecutionResultStatus.FAILED);
@@ -246,8 +219,52 @@ public class QiskitSdkConnector implements SdkConnector {
         }
     }
 
+    /**
+     * Process the result polled from the Qiskit service on a job thread, as it accesses the repositories and
+     * waits for the histogram intersection
+     */
+    private void processExecutionResult(ExecutionRequestResult result, Throwable e, URI resultLocation,
+                                        ExecutionResult executionResult,
+                                        ExecutionResultRepository resultRepository,
+                                        QpuSelectionResultRepository qpuSelectionResultRepository) {
+        if (Objects.nonNull(e)) {
+            LOG.error("Polling result from Qiskit Service failed.");
+            executionResult.setStatus(ExecutionResultStatus.FAILED);
+            executionResult.setStatusCode("Polling result from Qiskit Service failed.");
+            resultRepository.save(executionResult);
+            return;
+        }
+
+        executionResult.setStatus(ExecutionResultStatus.FINISHED);
+        executionResult.setStatusCode("Execution successfully completed.");
+        executionResult.setCounts(result.getResult());
+        executionResult.setShots(result.getShots());
+        executionResult.setResultLocation(resultLocation);
+
+        // histogram intersection
+        //FIXME currently only for qpu-selection
+        if (Objects.nonNull(qpuSelectionResultRepository)) {
+            Optional<QpuSelectionResult> qpuSelectionResult =
+                qpuSelectionResultRepository.findById(executionResult.getQpuSelectionResult().getId());
+            if (qpuSelectionResult.isPresent()) {
+                // get stored token for the execution
+                QpuSelectionResult qResult = qpuSelectionResult.get();
+
+                // as QiskitSdk Connector is invoked, the provider is IBM Q, thus, the
+                // ibmq simulator is the one we need
+                // for histogram intersection
+                String simulator = "simulator";
+
+                // publish the counts if the execution ran on the simulator, otherwise calculate the
+                // intersection as soon as the counts of the simulator are available
+                histogramIntersectionService.calculateHistogramIntersection(executionResult, result, qResult,
+                    simulator, resultRepository, qpuSelectionResultRepository);
+            }
+        }
+        resultRepository.save(executionResult);
+    }
+
     private OriginalCircuitInformation executeOriginalCircuitPropertiesRequest(QiskitRequest request) {
-        RestTemplate restTemplate = new RestTemplate();
         try {
             // Analyze the given original circuit using Qiskit service
             ResponseEntity<OriginalCircuitInformation> response =
@@ -274,7 +291,7 @@ public class QiskitSdkConnector implements SdkConnector {
     public CircuitInformation getCircuitProperties(Implementation implementation, String providerName, String qpuName,
                                                    Map<String, ParameterValue> parameters, String refreshToken) {
         LOG.debug("Analysing quantum algorithm implementation with Qiskit Sdk connector plugin!");
-        String bearerToken = getBearerTokenFromRefreshToken(refreshToken)[0];
+        String bearerToken = planqkTokenService.getBearerToken(refreshToken);
         QiskitRequest request =
             new QiskitRequest(implementation.getFileLocation(), implementation.getLanguage(), qpuName, providerName,
                 parameters, bearerToken);
@@ -300,7 +317,6 @@ public class QiskitSdkConnector implements SdkConnector {
     }
 
     private CircuitInformation executeCircuitPropertiesRequest(QiskitRequest request) {
-        RestTemplate restTemplate = new RestTemplate();
         try {
             // Transpile the given algorithm implementation using Qiskit service
             ResponseEntity<CircuitInformation> response =
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.control;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.planqk.nisq.analyzer.core.model.CircuitBlob;
+import org.planqk.nisq.analyzer.core.repository.CircuitBlobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service storing the content of quantum circuits addressed by their hash, so that results containing the same circuit
+ * share a single stored copy
+ */
+@Service
+public class CircuitStorageService {
+
+    final private static Logger LOG = LoggerFactory.getLogger(CircuitStorageService.class);
+
+    private final CircuitBlobRepository circuitBlobRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public CircuitStorageService(CircuitBlobRepository circuitBlobRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.circuitBlobRepository = circuitBlobRepository;
+
+        // store new circuits independently of the transaction of the caller, as a concurrent insert of the same
+        // circuit would otherwise abort it
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Get the stored blob with the given circuit content, storing the circuit if it was not stored before
+     *
+     * @param circuit the content of the circuit
+     * @return the blob containing the circuit, or null if no circuit is given
+     */
+    public CircuitBlob store(String circuit) {
+        if (Objects.isNull(circuit)) {
+            return null;
+        }
+
+        String hash = hash(circuit);
+        Optional<CircuitBlob> storedBlob = circuitBlobRepository.findByHash(hash);
+        if (storedBlob.isPresent()) {
+            return storedBlob.get();
+        }
+
+        CircuitBlob blob = new CircuitBlob();
+        blob.setHash(hash);
+        blob.setCircuit(circuit);
+        try {
+            return transactionTemplate.execute(status -> circuitBlobRepository.saveAndFlush(blob));
+        } catch (DataIntegrityViolationException e) {
+            LOG.debug("Circuit with hash '{}' was stored concurrently.", hash);
+            return circuitBlobRepository.findByHash(hash).orElseThrow(() -> e);
+        }
+    }
+
+    private static String hash(String circuit) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(circuit.getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x", new BigInteger(1, digest));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
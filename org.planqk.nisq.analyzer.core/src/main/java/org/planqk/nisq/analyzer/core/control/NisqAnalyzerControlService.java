@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -37,18 +38,28 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
 import org.apache.commons.io.FileUtils;
 import org.planqk.nisq.analyzer.core.Constants;
 import org.planqk.nisq.analyzer.core.connector.CircuitInformation;
 import org.planqk.nisq.analyzer.core.connector.CircuitInformationOfImplementation;
+import org.planqk.nisq.analyzer.core.connector.GeneratedCircuitCacheService;
 import org.planqk.nisq.analyzer.core.connector.OriginalCircuitInformation;
 import org.planqk.nisq.analyzer.core.connector.SdkConnector;
+import org.planqk.nisq.analyzer.core.connector.TranspilationCacheService;
+import org.planqk.nisq.analyzer.core.execution.ConnectorExecutorService;
 import org.planqk.nisq.analyzer.core.model.AnalysisJob;
 import org.planqk.nisq.analyzer.core.model.AnalysisResult;
+import org.planqk.nisq.analyzer.core.model.CircuitBlob;
 import org.planqk.nisq.analyzer.core.model.CircuitResult;
 import org.planqk.nisq.analyzer.core.model.CompilationJob;
 import org.planqk.nisq.analyzer.core.model.CompilationResult;
@@ -82,7 +93,9 @@ import org.planqk.nisq.analyzer.core.translator.TranslatorService;
 import org.planqk.nisq.analyzer.core.web.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import lombok.RequiredArgsConstructor;
 
@@ -125,6 +138,19 @@ public class NisqAnalyzerControlService {
 
     final private McdaJobRepository mcdaJobRepository;
 
+    final private ConnectorExecutorService connectorExecutorService;
+
+    final private TranspilationCacheService transpilationCacheService;
+
+    final private GeneratedCircuitCacheService generatedCircuitCacheService;
+
+    final private CircuitStorageService circuitStorageService;
+
+    final private EntityManager entityManager;
+
+    @Value("${org.planqk.nisq.analyzer.transpilation.timeout:600000}")
+    private long transpilationTimeout;
+
     public OriginalCircuitResult analyzeOriginalCircuit(String circuitName, File circuitFile, String circuitLanguage)
         throws UnsatisfiedLinkError {
 
@@ -153,7 +179,7 @@ public class NisqAnalyzerControlService {
                     originalCircuitInformation.getCircuitNumberOfSingleQubitGates(),
                     originalCircuitInformation.getCircuitNumberOfMultiQubitGates(),
                     originalCircuitInformation.getCircuitTotalNumberOfOperations(),
-                    originalCircuitInformation.getCircuitNumberOfMeasurementOperations(), null, circuitLanguage);
+                    originalCircuitInformation.getCircuitNumberOfMeasurementOperations(), null, circuitLanguage, null);
 
             return originalCircuitResultRepository.save(originalCircuitResult);
         }
@@ -183,7 +209,7 @@ public class NisqAnalyzerControlService {
         // create a object to store the execution results
         ExecutionResult executionResult = executionResultRepository.save(
             new ExecutionResult(ExecutionResultStatus.INITIALIZED, "Passing execution to executor plugin.", null,
-                result, null, null, 0, 0, null, null));
+                result, null, null, null, 0, 0, null, null));
 
         // execute implementation
         new Thread(() -> selectedSdkConnector.executeTranspiledQuantumCircuit(result.getTranspiledCircuit(),
@@ -232,7 +258,7 @@ public class NisqAnalyzerControlService {
         // create a object to store the execution results
         ExecutionResult executionResult = executionResultRepository.save(
             new ExecutionResult(ExecutionResultStatus.INITIALIZED, "Passing execution to executor plugin.", null, null,
-                result, null, 0, 0, null, null));
+                result, null, null, 0, 0, null, null));
 
         // execute implementation
         new Thread(() -> selectedSdkConnector.executeTranspiledQuantumCircuit(result.getTranspiledCircuit(),
@@ -267,18 +293,7 @@ public class NisqAnalyzerControlService {
         caseInsensitiveTokens.putAll(tokens);
 
         // look up if there is prior data for pre-selection based on prediction of precise execution results available
-        boolean priorDataAvailable = false;
-        if (preciseResultsPreference) {
-            List<ExecutionResult> executionResultList = executionResultRepository.findAll();
-            for (ExecutionResult executionResult : executionResultList) {
-                // ignore simulator results that are equal to 1 and non-calculated values
-                if (executionResult.getHistogramIntersectionValue() > 0 &&
-                    executionResult.getHistogramIntersectionValue() < 1) {
-                    priorDataAvailable = true;
-                    break;
-                }
-            }
-        }
+        boolean priorDataAvailable = preciseResultsPreference && executionResultRepository.existsPriorData();
 
         // check all implementation if they can handle the given set of input parameters
         List<Implementation> implementations = implementationRepository.findByImplementedAlgorithm(algorithm);
@@ -309,7 +324,8 @@ public class NisqAnalyzerControlService {
 
             // generate circuit of implementation based on input parameters and analyze its properties
             CircuitInformationOfImplementation circuitInformationOfImplementation =
-                selectedSdkConnector.getCircuitOfImplementation(implementation, execInputParameters, refreshToken);
+                generatedCircuitCacheService.getCircuitOfImplementation(selectedSdkConnector, implementation,
+                    execInputParameters, refreshToken);
 
             // if something unexpected happened
             if (Objects.isNull(circuitInformationOfImplementation)) {
@@ -326,9 +342,9 @@ public class NisqAnalyzerControlService {
                 circuitInformationOfImplementation.getCircuitNumberOfSingleQubitGates(),
                 circuitInformationOfImplementation.getCircuitNumberOfMultiQubitGates(),
                 circuitInformationOfImplementation.getCircuitTotalNumberOfOperations(),
-                circuitInformationOfImplementation.getCircuitNumberOfMeasurementOperations(),
-                circuitInformationOfImplementation.getGeneratedCircuit(),
-                circuitInformationOfImplementation.getCircuitLanguage());
+                circuitInformationOfImplementation.getCircuitNumberOfMeasurementOperations(), null,
+                circuitInformationOfImplementation.getCircuitLanguage(),
+                circuitStorageService.store(circuitInformationOfImplementation.getGeneratedCircuit()));
 
             originalCircuitResultRepository.save(originalCircuitResult);
 
@@ -452,26 +468,25 @@ public class NisqAnalyzerControlService {
                 allQpuSelectionResultsOfOneAnalysisJob.size()).clear();
         }
 
-        List<QpuSelectionResult> finalAllQpuSelectionResultsOfOneAnalysisJob1 = allQpuSelectionResultsOfOneAnalysisJob;
+        Set<UUID> rankedQpuSelectionResultIds =
+            allQpuSelectionResultsOfOneAnalysisJob.stream().map(QpuSelectionResult::getId).collect(Collectors.toSet());
         analysisResults.forEach(analysisResult -> {
             // delete compilation candidates that will not be considered
             List<QpuSelectionResult> remainingQpuSelectionResultList = new ArrayList<>();
-            List<QpuSelectionResult> qpuSelectionResultsToBeRemoved = new ArrayList<>();
+            Set<UUID> qpuSelectionResultIdsToBeRemoved = new HashSet<>();
 
             QpuSelectionJob qpuSelectionJob =
                 qpuSelectionJobRepository.findById(analysisResult.getQpuSelectionJobId()).get();
             qpuSelectionJob.getJobResults().forEach(qpuSelectionResult -> {
-                if (!finalAllQpuSelectionResultsOfOneAnalysisJob1.contains(qpuSelectionResult)) {
-                    qpuSelectionResultsToBeRemoved.add(qpuSelectionResult);
-                    qpuSelectionResult.setQpuSelectionJobId(null);
-                    qpuSelectionResultRepository.save(qpuSelectionResult);
+                if (!rankedQpuSelectionResultIds.contains(qpuSelectionResult.getId())) {
+                    qpuSelectionResultIdsToBeRemoved.add(qpuSelectionResult.getId());
                 } else {
                     remainingQpuSelectionResultList.add(qpuSelectionResult);
                 }
             });
             qpuSelectionJob.setJobResults(remainingQpuSelectionResultList);
             qpuSelectionJobRepository.save(qpuSelectionJob);
-            qpuSelectionResultRepository.deleteAll(qpuSelectionResultsToBeRemoved);
+            deleteQpuSelectionResults(qpuSelectionResultIdsToBeRemoved);
 
             // translate and compile all QpuSelectionResults
             if (!qpuSelectionJob.getJobResults().isEmpty()) {
@@ -503,18 +518,23 @@ public class NisqAnalyzerControlService {
 
         //Prioritization of compiled circuits
         if (preciseResultsPreference) {
-            // create MCDA job to learn weights for prioritization
-            McdaWeightLearningJob mcdaWeightLearningJob = new McdaWeightLearningJob();
-            mcdaWeightLearningJob.setTime(OffsetDateTime.now());
-            mcdaWeightLearningJob.setMcdaMethod(mcdaMethodName);
-            mcdaWeightLearningJob.setState(ExecutionResultStatus.INITIALIZED.toString());
-            mcdaWeightLearningJob.setWeightLearningMethod(mcdaWeightLearningMethod);
-            mcdaWeightLearningJob.setReady(false);
-
-            mcdaWeightLearningJob = mcdaWeightLearningJobRepository.save(mcdaWeightLearningJob);
-
-            LOG.debug("Learn weights for prioritization.");
-            prioritizationService.learnWeights(mcdaWeightLearningJob);
+            if (prioritizationService.applyMemoizedWeights(mcdaMethodName, mcdaWeightLearningMethod)) {
+                LOG.debug("No new execution results since the last weight learning, reusing the learned weights.");
+            } else {
+                // create MCDA job to learn weights for prioritization
+                McdaWeightLearningJob mcdaWeightLearningJob = new McdaWeightLearningJob();
+                mcdaWeightLearningJob.setTime(OffsetDateTime.now());
+                mcdaWeightLearningJob.setMcdaMethod(mcdaMethodName);
+                mcdaWeightLearningJob.setState(ExecutionResultStatus.INITIALIZED.toString());
+                mcdaWeightLearningJob.setWeightLearningMethod(mcdaWeightLearningMethod);
+                mcdaWeightLearningJob.setReady(false);
+
+                mcdaWeightLearningJob = mcdaWeightLearningJobRepository.save(mcdaWeightLearningJob);
+
+                // wait for the learned weights as they are required for the prioritization
+                LOG.debug("Learn weights for prioritization.");
+                prioritizationService.learnWeights(mcdaWeightLearningJob);
+            }
         }
 
         Map<String, Float> bordaCountWeights = new HashMap<>();
@@ -547,7 +567,6 @@ public class NisqAnalyzerControlService {
 
         LOG.debug("Prioritize results of Analysis Job.");
         prioritizationService.executeMcdaMethod(mcdaJob);
-        LOG.debug("Prioritization of results of Analysis Job is finished.");
     }
 
     public void performSelection(AnalysisJob job, UUID algorithm, Map<String, String> inputParameters,
@@ -665,17 +684,7 @@ public class NisqAnalyzerControlService {
         } else if (preciseResultsPreference) {
             // look up if there is prior data for pre-selection based on prediction of precise execution results
             // available
-            boolean priorDataAvailable = false;
-            List<ExecutionResult> executionResultList = executionResultRepository.findAll();
-            for (ExecutionResult executionResult : executionResultList) {
-                // ignore simulator results that are equal to 1 and non-calculated values
-                if (executionResult.getHistogramIntersectionValue() > 0 &&
-                    executionResult.getHistogramIntersectionValue() < 1) {
-                    priorDataAvailable = true;
-                    break;
-                }
-            }
-            if (priorDataAvailable) {
+            if (executionResultRepository.existsPriorData()) {
                 List<String> qpuSelectionResultIdList =
                     prioritizationService.executePredictionForCompilerAnQpuPreSelection(originalCircuitResult, job,
                         queueImportanceRatio, predictionAlgorithm, metaOptimizer, shortWaitingTimesPreference);
@@ -715,26 +724,19 @@ public class NisqAnalyzerControlService {
         }
 
         // delete compilation candidates that will not be considered
-        qpuSelectionResultRepository.findAllByQpuSelectionJobId(job.getId()).forEach(qpuSelectionResult -> {
-            AtomicBoolean resultIsContained = new AtomicBoolean(false);
-            job.getJobResults().forEach(qpuSelectionResult1 -> {
-                if (qpuSelectionResult.getId().equals(qpuSelectionResult1.getId())) {
-                    resultIsContained.set(true);
-                }
-            });
-            if (!resultIsContained.get()) {
-                qpuSelectionResultRepository.delete(qpuSelectionResult);
-            }
-        });
-
-        // overwrite old, non-updated qpuSelectionResults in the job, after prediction
-        List<QpuSelectionResult> remainingQpuSelectionResultList = new ArrayList<>();
-        job.getJobResults().forEach(qpuSelectionResultOld -> {
-            Optional<QpuSelectionResult> qpuSelectionResultOptional =
-                qpuSelectionResultRepository.findById(qpuSelectionResultOld.getId());
-            qpuSelectionResultOptional.ifPresent(remainingQpuSelectionResultList::add);
-        });
-        job.setJobResults(remainingQpuSelectionResultList);
+        List<UUID> remainingQpuSelectionResultIds =
+            job.getJobResults().stream().map(QpuSelectionResult::getId).collect(Collectors.toList());
+        Set<UUID> qpuSelectionResultIdsToBeRemoved =
+            new HashSet<>(qpuSelectionResultRepository.findIdsByQpuSelectionJobId(job.getId()));
+        qpuSelectionResultIdsToBeRemoved.removeAll(remainingQpuSelectionResultIds);
+        deleteQpuSelectionResults(qpuSelectionResultIdsToBeRemoved);
+
+        // overwrite old, non-updated qpuSelectionResults in the job, after prediction, keeping their ranking
+        Map<UUID, QpuSelectionResult> updatedQpuSelectionResults =
+            qpuSelectionResultRepository.findAllById(remainingQpuSelectionResultIds).stream()
+                .collect(Collectors.toMap(QpuSelectionResult::getId, qpuSelectionResult -> qpuSelectionResult));
+        job.setJobResults(remainingQpuSelectionResultIds.stream().map(updatedQpuSelectionResults::get)
+            .filter(Objects::nonNull).collect(Collectors.toList()));
 
         // perform compiler selection for the given QPU and circuit
         translationAndTranspilationOfQpuSelectionResults(job, caseInsensitiveTokens, circuitLanguage, circuitCode);
@@ -784,6 +786,7 @@ public class NisqAnalyzerControlService {
         } catch (IOException e) {
             LOG.warn("Unable to read initial circuit as string to store it for later analysis!");
         }
+        CircuitBlob initialCircuitBlob = null;
 
         // retrieve list of compilers that should be used for the comparison
         List<String> compilersToUse;
@@ -865,9 +868,23 @@ public class NisqAnalyzerControlService {
                 params.put(Constants.AWS_ACCESS_SECRET_PARAMETER,
                     new ParameterValue(DataType.Unknown, tokens.get("awsSecretKey")));
             }
-            CircuitInformation circuitInformation =
-                connector.getCircuitProperties(circuitToCompile, circuitToCompileLanguage, providerName, qpu.getName(),
-                    params);
+            CircuitInformation circuitInformation;
+            try {
+                circuitInformation =
+                    transpilationCacheService.getCircuitProperties(connector, compilerName, circuitToCompile,
+                        circuitToCompileLanguage, providerName, qpu, params);
+            } finally {
+                // the translated circuit is a copy owned by this compiler selection
+                if (circuitToCompile != circuitCode) {
+                    FileUtils.deleteQuietly(circuitToCompile);
+                }
+            }
+
+            // the deadline of the QPU selection passed during the transpilation, discard the results without storing
+            if (Thread.currentThread().isInterrupted()) {
+                LOG.debug("Compiler selection for QPU '{}' was cancelled, discarding the results.", qpuName);
+                break;
+            }
 
             if (Objects.isNull(circuitInformation) || Objects.nonNull(circuitInformation.getError())) {
                 if (Objects.nonNull(circuitInformation)) {
@@ -888,8 +905,12 @@ public class NisqAnalyzerControlService {
                 compilationResult.setCircuitName(circuitName);
                 compilationResult.setTranspiledLanguage(circuitInformation.getTranspiledLanguage());
                 compilationResult.setTime(OffsetDateTime.now());
-                compilationResult.setInitialCircuit(initialCircuitAsString);
-                compilationResult.setTranspiledCircuit(circuitInformation.getTranspiledCircuit());
+                if (Objects.isNull(initialCircuitBlob)) {
+                    initialCircuitBlob = circuitStorageService.store(initialCircuitAsString);
+                }
+                compilationResult.setInitialCircuitBlob(initialCircuitBlob);
+                compilationResult.setTranspiledCircuitBlob(
+                    circuitStorageService.store(circuitInformation.getTranspiledCircuit()));
                 compilationResult.setQpu(qpuName);
                 compilationResult.setProvider(providerName);
                 compilationResult.setCompiler(compilerName);
@@ -1024,6 +1045,9 @@ public class NisqAnalyzerControlService {
                 compilersToUse.size());
         }
 
+        // collect all combinations in memory to store them in one batch
+        List<QpuSelectionResult> qpuSelectionResults = new ArrayList<>();
+
         // iterate over all providers listed in QProv for the QPU selection
         for (Provider provider : qProvService.getProviders()) {
 
@@ -1074,7 +1098,7 @@ public class NisqAnalyzerControlService {
                         qpuSelectionResult.setUserId(job.getUserId());
                         qpuSelectionResult.setOriginalCircuitResultId(originalCircuitResult.getId());
 
-                        qpuSelectionResult = qpuSelectionResultRepository.save(qpuSelectionResult);
+                        qpuSelectionResults.add(qpuSelectionResult);
                         job.getJobResults().add(qpuSelectionResult);
 
                         if (qpuSelectionResult.getQpu().contains("qasm_simulator")) {
@@ -1088,16 +1112,47 @@ public class NisqAnalyzerControlService {
             job.getJobResults().stream().findFirst().filter(CircuitResult::isSimulator);
         if (!simulatorResult.isPresent()) {
             job.getJobResults().add(simulatorQpuSelectionResult);
-            qpuSelectionResultRepository.save(simulatorQpuSelectionResult);
+            qpuSelectionResults.add(simulatorQpuSelectionResult);
         }
+        qpuSelectionResultRepository.saveAll(qpuSelectionResults);
         return simulatorQpuSelectionResult;
     }
 
+    /**
+     * Delete the QPU selection results with the given ids, which must not be contained in the results of a job
+     * anymore. If the caller runs in a transaction, e.g., performQpuSelectionForCircuit, the deleted results are
+     * evicted from its persistence context. Otherwise, each repository call uses its own persistence context and
+     * nothing has to be evicted.
+     *
+     * @param qpuSelectionResultIds the ids of the QPU selection results to delete
+     */
+    private void deleteQpuSelectionResults(Set<UUID> qpuSelectionResultIds) {
+        if (!qpuSelectionResultIds.isEmpty()) {
+            int deleted = qpuSelectionResultRepository.deleteAllByIdIn(qpuSelectionResultIds);
+            LOG.debug("Deleted {} QPU selection results that will not be considered.", deleted);
+
+            // evict only the deleted results from the persistence context, the job of the caller has to stay managed
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                return;
+            }
+            for (UUID qpuSelectionResultId : qpuSelectionResultIds) {
+                QpuSelectionResult deletedResult =
+                    entityManager.getReference(QpuSelectionResult.class, qpuSelectionResultId);
+                if (entityManager.contains(deletedResult)) {
+                    entityManager.detach(deletedResult);
+                }
+            }
+        }
+    }
+
     private void translationAndTranspilationOfQpuSelectionResults(QpuSelectionJob job,
                                                                   TreeMap<String, Map<String, String>> caseInsensitiveTokens,
                                                                   String circuitLanguage, File circuitCode) {
-        // perform compiler selection for the given QPU and circuit
-        job.getJobResults().forEach(qpuSelectionResult -> {
+        // perform compiler selection for all QPU and compiler combinations concurrently, limited per connector
+        BlockingQueue<Map.Entry<QpuSelectionResult, List<CompilationResult>>> completedTranspilations =
+            new LinkedBlockingQueue<>();
+        List<CompletableFuture<List<CompilationResult>>> transpilations = new ArrayList<>();
+        for (QpuSelectionResult qpuSelectionResult : job.getJobResults()) {
             Map<String, String> tokensOfProvider = caseInsensitiveTokens.get(qpuSelectionResult.getProvider());
             if (Objects.isNull(tokensOfProvider)) {
                 LOG.debug("No suited access token for this provider available. Skipping!");
@@ -1106,42 +1161,97 @@ public class NisqAnalyzerControlService {
             List<String> compilerNames = new ArrayList<>();
             compilerNames.add(qpuSelectionResult.getCompiler());
 
-            List<CompilationResult> compilationResults =
-                selectCompiler(qpuSelectionResult.getProvider(), qpuSelectionResult.getQpu(), circuitLanguage,
-                    circuitCode, qpuSelectionResult.getCircuitName(), compilerNames, tokensOfProvider);
-            LOG.debug("Retrieved {} compilation results!", compilationResults.size());
-
-            if (!compilationResults.isEmpty()) {
-                CompilationResult result = compilationResults.get(0);
-                // add compilation result to the database
-                qpuSelectionResult.setTranspiledCircuit(result.getTranspiledCircuit());
-                qpuSelectionResult.setTranspiledLanguage(result.getTranspiledLanguage());
-                qpuSelectionResult.setAnalyzedDepth(result.getAnalyzedDepth());
-                qpuSelectionResult.setAnalyzedWidth(result.getAnalyzedWidth());
-                qpuSelectionResult.setAnalyzedTotalNumberOfOperations(result.getAnalyzedTotalNumberOfOperations());
-                qpuSelectionResult.setAnalyzedNumberOfSingleQubitGates(result.getAnalyzedNumberOfSingleQubitGates());
-                qpuSelectionResult.setAnalyzedNumberOfMeasurementOperations(
-                    result.getAnalyzedNumberOfMeasurementOperations());
-                qpuSelectionResult.setAnalyzedNumberOfMultiQubitGates(result.getAnalyzedNumberOfMultiQubitGates());
-                qpuSelectionResult.setAnalyzedMultiQubitGateDepth(result.getAnalyzedMultiQubitGateDepth());
-
-                qpuSelectionResultRepository.save(qpuSelectionResult);
+            String connectorName = connectorList.stream()
+                .filter(connector -> connector.supportedSdks().contains(qpuSelectionResult.getCompiler().toLowerCase()))
+                .map(SdkConnector::getName).findFirst().orElse(qpuSelectionResult.getCompiler());
+            CompletableFuture<List<CompilationResult>> transpilation =
+                connectorExecutorService.submit(connectorName,
+                    () -> selectCompiler(qpuSelectionResult.getProvider(), qpuSelectionResult.getQpu(),
+                        circuitLanguage, circuitCode, qpuSelectionResult.getCircuitName(), compilerNames,
+                        tokensOfProvider));
+            transpilation.whenComplete((compilationResults, e) -> {
+                if (Objects.nonNull(e) && !(e instanceof CancellationException)) {
+                    LOG.error("Compilation for QPU '{}' with compiler '{}' failed: {}", qpuSelectionResult.getQpu(),
+                        qpuSelectionResult.getCompiler(), e.getMessage());
+                }
+                completedTranspilations.add(new AbstractMap.SimpleImmutableEntry<>(qpuSelectionResult,
+                    Objects.nonNull(compilationResults) ? compilationResults : new ArrayList<>()));
+            });
+            transpilations.add(transpilation);
+        }
+
+        // store the compilation results as soon as they arrive until the deadline of the job is reached
+        long deadline = System.currentTimeMillis() + transpilationTimeout;
+        int pendingTranspilations = transpilations.size();
+        try {
+            while (pendingTranspilations > 0) {
+                Map.Entry<QpuSelectionResult, List<CompilationResult>> completedTranspilation =
+                    completedTranspilations.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+                if (Objects.isNull(completedTranspilation)) {
+                    LOG.warn("Transpilation for job with ID {} exceeded deadline of {} ms. Skipping {} of {} results!",
+                        job.getId(), transpilationTimeout, pendingTranspilations, transpilations.size());
+                    break;
+                }
+                pendingTranspilations--;
+                storeCompilationResult(completedTranspilation.getKey(), completedTranspilation.getValue());
             }
-        });
+        } catch (InterruptedException e) {
+            LOG.error("Waiting for transpilation results of job with ID {} was interrupted!", job.getId());
+            Thread.currentThread().interrupt();
+        }
+
+        // abort transpilations that are still pending, their results are removed as not compilable. Cancelling
+        // interrupts the transpilation threads, which skip storing circuits and cache entries afterwards, but requests
+        // already sent to a connector are only abandoned once they return, so the deadline bounds the waiting time of
+        // the job rather than the load on the connectors
+        transpilations.forEach(transpilation -> transpilation.cancel(true));
 
         //delete qpuSelectionResults that are not executable because they were not compilable as too many qubits are
         // required
-        qpuSelectionResultRepository.findAllByQpuSelectionJobId(job.getId()).forEach(qpuSelectionResult -> {
-            if (qpuSelectionResult.getAnalyzedWidth() == 0 && qpuSelectionResult.getAnalyzedDepth() == 0) {
-                job.getJobResults().remove(qpuSelectionResult);
-                qpuSelectionJobRepository.save(job);
-                qpuSelectionResultRepository.delete(qpuSelectionResult);
-            }
-        });
+        Set<UUID> notCompilableQpuSelectionResultIds =
+            qpuSelectionResultRepository.findAllByQpuSelectionJobId(job.getId()).stream()
+                .filter(qpuSelectionResult -> qpuSelectionResult.getAnalyzedWidth() == 0 &&
+                    qpuSelectionResult.getAnalyzedDepth() == 0)
+                .map(QpuSelectionResult::getId).collect(Collectors.toSet());
+        if (!notCompilableQpuSelectionResultIds.isEmpty()) {
+            job.getJobResults().removeIf(
+                qpuSelectionResult -> notCompilableQpuSelectionResultIds.contains(qpuSelectionResult.getId()));
+            qpuSelectionJobRepository.save(job);
+            deleteQpuSelectionResults(notCompilableQpuSelectionResultIds);
+        }
 
         // store updated result object
         LOG.debug("Results: " + job.getJobResults().size());
         job.setReady(true);
         qpuSelectionJobRepository.save(job);
     }
+
+    /**
+     * Add the analysis details of the first of the given compilation results to the given QPU selection result and
+     * store it
+     *
+     * @param qpuSelectionResult the QPU selection result the circuit was compiled for
+     * @param compilationResults the compilation results retrieved for the QPU and compiler of the QPU selection result
+     */
+    private void storeCompilationResult(QpuSelectionResult qpuSelectionResult,
+                                        List<CompilationResult> compilationResults) {
+        LOG.debug("Retrieved {} compilation results!", compilationResults.size());
+        if (compilationResults.isEmpty()) {
+            return;
+        }
+
+        CompilationResult result = compilationResults.get(0);
+        // add compilation result to the database
+        qpuSelectionResult.setTranspiledCircuitBlob(result.getTranspiledCircuitBlob());
+        qpuSelectionResult.setTranspiledLanguage(result.getTranspiledLanguage());
+        qpuSelectionResult.setAnalyzedDepth(result.getAnalyzedDepth());
+        qpuSelectionResult.setAnalyzedWidth(result.getAnalyzedWidth());
+        qpuSelectionResult.setAnalyzedTotalNumberOfOperations(result.getAnalyzedTotalNumberOfOperations());
+        qpuSelectionResult.setAnalyzedNumberOfSingleQubitGates(result.getAnalyzedNumberOfSingleQubitGates());
+        qpuSelectionResult.setAnalyzedNumberOfMeasurementOperations(result.getAnalyzedNumberOfMeasurementOperations());
+        qpuSelectionResult.setAnalyzedNumberOfMultiQubitGates(result.getAnalyzedNumberOfMultiQubitGates());
+        qpuSelectionResult.setAnalyzedMultiQubitGateDepth(result.getAnalyzedMultiQubitGateDepth());
+
+        qpuSelectionResultRepository.save(qpuSelectionResult);
+    }
 }
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.execution;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Service executing requests to the SDK connectors concurrently while limiting the number of parallel requests per
+ * connector
+ */
+@Service
+public class ConnectorExecutorService {
+
+    final private static Logger LOG = LoggerFactory.getLogger(ConnectorExecutorService.class);
+
+    private static final String PROPERTY_PREFIX = "org.planqk.nisq.analyzer.connector.";
+
+    private final Map<String, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+
+    private final Environment environment;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int defaultMaxConcurrency;
+
+    public ConnectorExecutorService(Environment environment, MeterRegistry meterRegistry,
+                                    @Value("${org.planqk.nisq.analyzer.connector.maxConcurrency:4}")
+                                        int defaultMaxConcurrency) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.defaultMaxConcurrency = defaultMaxConcurrency;
+    }
+
+    /**
+     * Execute the given task asynchronously using the executor of the given connector. Cancelling the returned future
+     * interrupts the thread executing the task, which has to check its interrupt status to stop early.
+     *
+     * @param connectorName the name of the connector the task sends its requests to
+     * @param task          the task to execute
+     * @param <T>           the type of the task result
+     * @return the future that is completed with the result of the task
+     */
+    public <T> CompletableFuture<T> submit(String connectorName, Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> execution = executors.computeIfAbsent(connectorName, this::createExecutor).submit(() -> {
+            try {
+                result.complete(task.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((value, e) -> {
+            if (result.isCancelled()) {
+                execution.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private ThreadPoolExecutor createExecutor(String connectorName) {
+        int maxConcurrency = environment.getProperty(PROPERTY_PREFIX + connectorName + ".maxConcurrency",
+            Integer.class, defaultMaxConcurrency);
+        LOG.debug("Limiting concurrent requests to connector '{}' to {}.", connectorName, maxConcurrency);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor =
+            new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, connectorName + "-connector-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("nisq.analyzer.connector.queued", executor, e -> e.getQueue().size())
+            .description("Number of connector requests waiting for execution").tag("connector", connectorName)
+            .register(meterRegistry);
+        Gauge.builder("nisq.analyzer.connector.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Number of connector requests currently executed").tag("connector", connectorName)
+            .register(meterRegistry);
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ThreadPoolExecutor::shutdownNow);
+    }
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.execution;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Service executing the long-running jobs of the NISQ Analyzer on bounded thread pools, one per {@link JobQueue}, and
+ * recording the queue depth, number of active jobs, and latencies of each pool
+ */
+@Service
+public class JobExecutorService {
+
+    final private static Logger LOG = LoggerFactory.getLogger(JobExecutorService.class);
+
+    private static final String PROPERTY_PREFIX = "org.planqk.nisq.analyzer.jobs.";
+
+    private final Map<JobQueue, ThreadPoolExecutor> executors = new EnumMap<>(JobQueue.class);
+
+    private final Map<JobQueue, Timer> waitTimers = new EnumMap<>(JobQueue.class);
+
+    private final Map<JobQueue, Timer> executionTimers = new EnumMap<>(JobQueue.class);
+
+    public JobExecutorService(Environment environment, MeterRegistry meterRegistry,
+                              @Value("${org.planqk.nisq.analyzer.jobs.poolSize:4}") int defaultPoolSize,
+                              @Value("${org.planqk.nisq.analyzer.jobs.queueCapacity:50}") int defaultQueueCapacity) {
+        for (JobQueue jobQueue : JobQueue.values()) {
+            int poolSize = environment.getProperty(PROPERTY_PREFIX + jobQueue.getPropertyName() + ".poolSize",
+                Integer.class, defaultPoolSize);
+            int queueCapacity = environment.getProperty(PROPERTY_PREFIX + jobQueue.getPropertyName() + ".queueCapacity",
+                Integer.class, defaultQueueCapacity);
+            LOG.debug("Creating executor for {} jobs with {} threads and a queue capacity of {}.",
+                jobQueue.getPropertyName(), poolSize, queueCapacity);
+
+            ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), new JobThreadFactory(jobQueue),
+                    new ThreadPoolExecutor.AbortPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            executors.put(jobQueue, executor);
+
+            Gauge.builder("nisq.analyzer.jobs.queued", executor, e -> e.getQueue().size())
+                .description("Number of jobs waiting for execution").tag("queue", jobQueue.getPropertyName())
+                .register(meterRegistry);
+            Gauge.builder("nisq.analyzer.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Number of jobs currently executed").tag("queue", jobQueue.getPropertyName())
+                .register(meterRegistry);
+            waitTimers.put(jobQueue, Timer.builder("nisq.analyzer.jobs.wait")
+                .description("Time jobs spent in the queue before execution").tag("queue", jobQueue.getPropertyName())
+                .register(meterRegistry));
+            executionTimers.put(jobQueue, Timer.builder("nisq.analyzer.jobs.execution")
+                .description("Execution time of the jobs").tag("queue", jobQueue.getPropertyName())
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Submit the given job to the executor of the given queue
+     *
+     * @param jobQueue       the queue to submit the job to
+     * @param job            the job to execute asynchronously
+     * @param failureHandler the handler marking the job as failed if it throws an exception, so that it does not
+     *                       remain running
+     * @throws RejectedExecutionException if the queue is full and the job can not be accepted
+     */
+    public void submit(JobQueue jobQueue, Runnable job, Consumer<Exception> failureHandler)
+        throws RejectedExecutionException {
+        final long submissionTime = System.nanoTime();
+        final Timer waitTimer = waitTimers.get(jobQueue);
+        final Timer executionTimer = executionTimers.get(jobQueue);
+
+        try {
+            executors.get(jobQueue).execute(() -> {
+                long startTime = System.nanoTime();
+                waitTimer.record(startTime - submissionTime, TimeUnit.NANOSECONDS);
+                try {
+                    run(jobQueue, job, failureHandler);
+                } finally {
+                    executionTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Queue for {} jobs is full, rejecting job!", jobQueue.getPropertyName());
+            throw e;
+        }
+    }
+
+    /**
+     * Submit the given callback of an asynchronous task, e.g., processing the result polled from a service, to the
+     * executor of the given queue, so that it does not block the threads completing the tasks. If the queue is full,
+     * the callback is executed by the calling thread instead of being rejected.
+     *
+     * @param jobQueue       the queue to submit the callback to
+     * @param callback       the callback to execute
+     * @param failureHandler the handler marking the processed entity as failed if the callback throws an exception
+     */
+    public void submitCallback(JobQueue jobQueue, Runnable callback, Consumer<Exception> failureHandler) {
+        try {
+            submit(jobQueue, callback, failureHandler);
+        } catch (RejectedExecutionException e) {
+            run(jobQueue, callback, failureHandler);
+        }
+    }
+
+    private static void run(JobQueue jobQueue, Runnable job, Consumer<Exception> failureHandler) {
+        try {
+            job.run();
+        } catch (Exception e) {
+            LOG.error("Execution of {} job failed: {}", jobQueue.getPropertyName(), e.getMessage(), e);
+            try {
+                failureHandler.accept(e);
+            } catch (Exception handlerException) {
+                LOG.error("Unable to mark failed {} job as failed: {}", jobQueue.getPropertyName(),
+                    handlerException.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ThreadPoolExecutor::shutdownNow);
+    }
+
+    /**
+     * Thread factory naming the threads after the queue they belong to
+     */
+    private static class JobThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        private final JobQueue jobQueue;
+
+        JobThreadFactory(JobQueue jobQueue) {
+            this.jobQueue = jobQueue;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, jobQueue.getPropertyName() + "-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.execution;
+
+/**
+ * Enum containing the queues used to execute the asynchronous jobs of the NISQ Analyzer, each backed by its own bounded
+ * thread pool
+ */
+public enum JobQueue {
+    ANALYSIS("analysis"),
+    QPU_SELECTION("qpu-selection"),
+    COMPILATION("compilation"),
+    MCDA("mcda"),
+    WEIGHT_LEARNING("weight-learning"),
+    SENSITIVITY_ANALYSIS("sensitivity-analysis"),
+    EXECUTION_RESULT("execution-result");
+
+    private final String propertyName;
+
+    JobQueue(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    /**
+     * Get the name used for the configuration properties and metric tags of this queue
+     *
+     * @return the property name of the queue
+     */
+    public String getPropertyName() {
+        return propertyName;
+    }
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.execution;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Shared scheduler to poll remote services for the results of long-running tasks without blocking a thread between
+ * two polls
+ */
+@Service
+public class PollingScheduler {
+
+    final private static Logger LOG = LoggerFactory.getLogger(PollingScheduler.class);
+
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private final AtomicInteger pendingPolls = new AtomicInteger();
+
+    public PollingScheduler(MeterRegistry meterRegistry,
+                            @Value("${org.planqk.nisq.analyzer.polling.threads:4}") int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        scheduler = new ScheduledThreadPoolExecutor(threads, runnable -> {
+            Thread thread = new Thread(runnable, "polling-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+
+        Gauge.builder("nisq.analyzer.polling.pending", pendingPolls, AtomicInteger::get)
+            .description("Number of remote tasks currently polled for their results").register(meterRegistry);
+    }
+
+    /**
+     * Invoke the given poll function frequently until it returns a result
+     *
+     * @param pollFunction the function polling the remote service, returning null as long as the result is not
+     *                     available and throwing an exception if polling has to be aborted
+     * @param pollInterval the time to wait between two polls in milliseconds
+     * @param <T>          the type of the polled result
+     * @return the future that is completed with the result of the poll function, or exceptionally if polling failed
+     */
+    public <T> CompletableFuture<T> poll(Callable<T> pollFunction, long pollInterval) {
+        return poll(pollFunction, pollInterval, pollInterval, 0);
+    }
+
+    /**
+     * Invoke the given poll function until it returns a result, doubling the time between two polls after each poll
+     * up to the given maximum interval
+     *
+     * @param pollFunction    the function polling the remote service, returning null as long as the result is not
+     *                        available and throwing an exception if polling has to be aborted
+     * @param initialInterval the time to wait before the second poll in milliseconds
+     * @param maxInterval     the maximum time to wait between two polls in milliseconds
+     * @param timeout         the time in milliseconds after which polling is aborted with a {@link TimeoutException},
+     *                        or 0 to poll without a deadline
+     * @param <T>             the type of the polled result
+     * @return the future that is completed with the result of the poll function, or exceptionally if polling failed
+     */
+    public <T> CompletableFuture<T> poll(Callable<T> pollFunction, long initialInterval, long maxInterval,
+                                         long timeout) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        pendingPolls.incrementAndGet();
+        future.whenComplete((result, e) -> pendingPolls.decrementAndGet());
+        if (timeout > 0) {
+            ScheduledFuture<?> deadline = scheduler.schedule(() -> future.completeExceptionally(
+                new TimeoutException("No result available after " + timeout + " ms")), timeout, TimeUnit.MILLISECONDS);
+            future.whenComplete((result, e) -> deadline.cancel(false));
+        }
+        scheduler.execute(() -> runPoll(pollFunction, initialInterval, maxInterval, future));
+        return future;
+    }
+
+    private <T> void runPoll(Callable<T> pollFunction, long pollInterval, long maxInterval,
+                             CompletableFuture<T> future) {
+        // polling was aborted by the caller or the deadline passed
+        if (future.isDone()) {
+            return;
+        }
+
+        try {
+            T result = pollFunction.call();
+            if (Objects.nonNull(result)) {
+                future.complete(result);
+                return;
+            }
+
+            // result not yet available, schedule next poll
+            long nextInterval = Math.min(pollInterval * 2, maxInterval);
+            scheduler.schedule(() -> runPoll(pollFunction, nextInterval, maxInterval, future), pollInterval,
+                TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            LOG.debug("Polling aborted with exception: {}", e.getMessage());
+            future.completeExceptionally(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -23,7 +23,9 @@ import java.util.Map;
 import java.util.UUID;
 import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -38,6 +40,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = @Index(columnList = "qpuSelectionJobId"))
 public class AnalysisResult extends HasId {
 
     private UUID implementedAlgorithm;
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.model;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Content of a quantum circuit, stored once per distinct content and referenced by all results containing the
+ * circuit. Keeping the circuits out of the result tables allows to load the results without their circuits, and
+ * the circuits are stored compressed by the {@link CircuitConverter}.
+ */
+@Setter
+@Getter
+@Entity
+@NoArgsConstructor
+public class CircuitBlob extends HasId {
+
+    @Column(unique = true, nullable = false)
+    private String hash;
+
+    @Convert(converter = CircuitConverter.class)
+    @Column(columnDefinition = "text")
+    private String circuit;
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Converter storing the text of quantum circuits compressed with Deflate in a text column. Each stored value starts
+ * with a control character followed by a character identifying the codec it was written with, so that circuits for
+ * which compression does not pay off are stored as plain text and further codecs can be added without migrating
+ * existing rows. Values without the marker were stored before the converter was introduced and are read as plain text.
+ */
+@Converter
+public class CircuitConverter implements AttributeConverter<String, String> {
+
+    // control character that does not occur at the start of QASM or Quil circuits
+    static final char MARKER = '\u0001';
+
+    static final char PLAIN_CODEC = 'P';
+
+    static final char DEFLATE_CODEC = 'D';
+
+    // circuits smaller than this are not worth the compression overhead
+    static final int MIN_COMPRESSION_SIZE = 256;
+
+    @Override
+    public String convertToDatabaseColumn(String circuit) {
+        if (Objects.isNull(circuit)) {
+            return null;
+        }
+
+        if (circuit.length() >= MIN_COMPRESSION_SIZE) {
+            String compressed = Base64.getEncoder().encodeToString(deflate(circuit.getBytes(StandardCharsets.UTF_8)));
+            if (compressed.length() < circuit.length()) {
+                return new StringBuilder(compressed.length() + 2).append(MARKER).append(DEFLATE_CODEC)
+                    .append(compressed).toString();
+            }
+        }
+        return new StringBuilder(circuit.length() + 2).append(MARKER).append(PLAIN_CODEC).append(circuit).toString();
+    }
+
+    @Override
+    public String convertToEntityAttribute(String data) {
+        if (Objects.isNull(data) || data.isEmpty() || data.charAt(0) != MARKER) {
+            return data;
+        }
+        if (data.length() < 2) {
+            throw new IllegalArgumentException("Missing circuit codec");
+        }
+
+        char codec = data.charAt(1);
+        if (codec == PLAIN_CODEC) {
+            return data.substring(2);
+        } else if (codec == DEFLATE_CODEC) {
+            return new String(inflate(Base64.getDecoder().decode(data.substring(2))), StandardCharsets.UTF_8);
+        }
+        throw new IllegalArgumentException("Unknown circuit codec: " + codec);
+    }
+
+    private static byte[] deflate(byte[] text) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(text.length / 4 + 16);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater)) {
+            deflaterOut.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to compress circuit", e);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Compressed circuit is truncated");
+                }
+                out.write(buffer, 0, inflated);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Unable to decompress circuit", e);
+        } finally {
+            inflater.end();
+        }
+        return out.toByteArray();
+    }
+}
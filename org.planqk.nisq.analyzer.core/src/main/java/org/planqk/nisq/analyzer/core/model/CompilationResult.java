@@ -19,13 +19,19 @@
 
 package org.planqk.nisq.analyzer.core.model;
 
+import java.util.Objects;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.Lob;
+import javax.persistence.ManyToOne;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * Object to represent the result of a compilation for a certain qpu and circuit
@@ -37,11 +43,51 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class CompilationResult extends CircuitResult {
 
+    /**
+     * Circuit stored inline by previous versions, new results reference it in {@link #initialCircuitBlob}
+     */
     @Lob
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private String initialCircuit;
 
+    /**
+     * Circuit stored inline by previous versions, new results reference it in {@link #transpiledCircuitBlob}
+     */
     @Lob
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private String transpiledCircuit;
 
     private String transpiledLanguage;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private CircuitBlob initialCircuitBlob;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private CircuitBlob transpiledCircuitBlob;
+
+    /**
+     * Get the circuit before the compilation, which is only loaded when it is requested
+     *
+     * @return the content of the initial circuit
+     */
+    public String getInitialCircuit() {
+        return Objects.nonNull(initialCircuitBlob) ? initialCircuitBlob.getCircuit() : initialCircuit;
+    }
+
+    /**
+     * Get the compiled circuit, which is only loaded when it is requested
+     *
+     * @return the content of the transpiled circuit
+     */
+    public String getTranspiledCircuit() {
+        return Objects.nonNull(transpiledCircuitBlob) ? transpiledCircuitBlob.getCircuit() : transpiledCircuit;
+    }
 }
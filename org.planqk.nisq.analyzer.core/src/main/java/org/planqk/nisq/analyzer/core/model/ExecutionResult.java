@@ -20,9 +20,15 @@
 package org.planqk.nisq.analyzer.core.model;
 
 import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -35,6 +41,7 @@ import lombok.Setter;
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(indexes = {@Index(columnList = "qpuSelectionResult_id"), @Index(columnList = "histogramIntersectionValue")})
 public class ExecutionResult extends HasId {
 
     @Getter
@@ -60,11 +67,18 @@ public class ExecutionResult extends HasId {
     @ManyToOne
     private QpuSelectionResult qpuSelectionResult;
 
+    /**
+     * Measurement counts stored as text by previous versions, new executions store their counts in {@link #counts}
+     */
     @Getter
     @Setter
     @Column(columnDefinition = "text")
     private String result;
 
+    @Setter
+    @Convert(converter = HistogramConverter.class)
+    private Map<String, Integer> counts;
+
     @Getter
     @Setter
     private int shots;
@@ -81,4 +95,25 @@ public class ExecutionResult extends HasId {
     @Getter
     @Setter
     private URI resultLocation;
+
+    /**
+     * Get the measurement counts of the execution, falling back to the counts stored as text by previous versions
+     *
+     * @return the counts for each measurement result, or null if the execution is not finished
+     */
+    public Map<String, Integer> getCounts() {
+        if (Objects.nonNull(counts) || Objects.isNull(result)) {
+            return counts;
+        }
+
+        Map<String, Integer> legacyCounts = new HashMap<>();
+        String rawData = result.replaceAll("[\\{\\}\\s+]", "");
+        if (!rawData.isEmpty()) {
+            for (String instance : rawData.split(",")) {
+                String[] resultsData = instance.split("=");
+                legacyCounts.put(resultsData[0].trim(), Integer.parseInt(resultsData[1].trim()));
+            }
+        }
+        return legacyCounts;
+    }
 }
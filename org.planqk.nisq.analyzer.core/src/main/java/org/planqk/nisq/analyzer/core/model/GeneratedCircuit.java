@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.model;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.ManyToOne;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Circuit generated from a version of an implementation for a certain set of input parameters, together with its
+ * analyzed properties, to avoid generating the same circuit again for subsequent analyses
+ */
+@Setter
+@Getter
+@Entity
+@NoArgsConstructor
+public class GeneratedCircuit extends HasId {
+
+    @Column(unique = true)
+    private String generationKey;
+
+    private UUID implementationId;
+
+    private OffsetDateTime time;
+
+    private int originalWidth;
+
+    private int originalDepth;
+
+    private int originalMultiQubitGateDepth;
+
+    private int originalNumberOfSingleQubitGates;
+
+    private int originalNumberOfMultiQubitGates;
+
+    private int originalTotalNumberOfOperations;
+
+    private int originalNumberOfMeasurementOperations;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private CircuitBlob circuitBlob;
+
+    private String circuitLanguage;
+
+    private String correlationId;
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Converter storing the measurement counts of an execution in a compact binary form. Histograms whose outcomes are
+ * bitstrings of equal length store each outcome packed into bits, all other histograms store the outcomes as UTF-8
+ * strings. Lengths and counts are encoded as variable-length integers.
+ */
+@Converter
+public class HistogramConverter implements AttributeConverter<Map<String, Integer>, byte[]> {
+
+    private static final byte BITSTRING_FORMAT = 1;
+
+    private static final byte GENERIC_FORMAT = 2;
+
+    @Override
+    public byte[] convertToDatabaseColumn(Map<String, Integer> counts) {
+        if (Objects.isNull(counts)) {
+            return null;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int bitLength = getBitLength(counts);
+        if (bitLength >= 0) {
+            out.write(BITSTRING_FORMAT);
+            writeVarInt(out, bitLength);
+            writeVarInt(out, counts.size());
+            byte[] packedOutcome = new byte[(bitLength + 7) / 8];
+            for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                Arrays.fill(packedOutcome, (byte) 0);
+                for (int i = 0; i < bitLength; i++) {
+                    if (count.getKey().charAt(i) == '1') {
+                        packedOutcome[i / 8] |= 1 << (7 - i % 8);
+                    }
+                }
+                out.write(packedOutcome, 0, packedOutcome.length);
+                writeVarInt(out, count.getValue());
+            }
+        } else {
+            out.write(GENERIC_FORMAT);
+            writeVarInt(out, counts.size());
+            for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                byte[] outcome = count.getKey().getBytes(StandardCharsets.UTF_8);
+                writeVarInt(out, outcome.length);
+                out.write(outcome, 0, outcome.length);
+                writeVarInt(out, count.getValue());
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Map<String, Integer> convertToEntityAttribute(byte[] data) {
+        if (Objects.isNull(data)) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte format = buffer.get();
+        if (format == BITSTRING_FORMAT) {
+            int bitLength = readVarInt(buffer);
+            int size = readVarInt(buffer);
+            Map<String, Integer> counts = new HashMap<>(size * 4 / 3 + 1);
+            byte[] packedOutcome = new byte[(bitLength + 7) / 8];
+            char[] outcome = new char[bitLength];
+            for (int entry = 0; entry < size; entry++) {
+                buffer.get(packedOutcome);
+                for (int i = 0; i < bitLength; i++) {
+                    outcome[i] = (packedOutcome[i / 8] & (1 << (7 - i % 8))) != 0 ? '1' : '0';
+                }
+                counts.put(new String(outcome), readVarInt(buffer));
+            }
+            return counts;
+        } else if (format == GENERIC_FORMAT) {
+            int size = readVarInt(buffer);
+            Map<String, Integer> counts = new HashMap<>(size * 4 / 3 + 1);
+            for (int entry = 0; entry < size; entry++) {
+                byte[] outcome = new byte[readVarInt(buffer)];
+                buffer.get(outcome);
+                counts.put(new String(outcome, StandardCharsets.UTF_8), readVarInt(buffer));
+            }
+            return counts;
+        }
+        throw new IllegalArgumentException("Unknown histogram format: " + format);
+    }
+
+    /**
+     * Get the common length of all outcomes if they are bitstrings of equal length
+     *
+     * @param counts the counts to check
+     * @return the length of the outcomes, or -1 if they can not be stored as packed bitstrings
+     */
+    private static int getBitLength(Map<String, Integer> counts) {
+        int bitLength = -1;
+        for (String outcome : counts.keySet()) {
+            if (bitLength == -1) {
+                bitLength = outcome.length();
+            } else if (outcome.length() != bitLength) {
+                return -1;
+            }
+            for (int i = 0; i < outcome.length(); i++) {
+                if (outcome.charAt(i) != '0' && outcome.charAt(i) != '1') {
+                    return -1;
+                }
+            }
+        }
+        return Math.max(bitLength, 0);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = buffer.get();
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+}
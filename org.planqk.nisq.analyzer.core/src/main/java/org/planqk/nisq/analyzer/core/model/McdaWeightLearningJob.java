@@ -19,6 +19,8 @@
 
 package org.planqk.nisq.analyzer.core.model;
 
+import java.util.Map;
+import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
 
 import lombok.AllArgsConstructor;
@@ -41,4 +43,9 @@ public class McdaWeightLearningJob extends Job {
     private String weightLearningMethod;
 
     private String state;
+
+    private String datasetVersion;
+
+    @ElementCollection
+    private Map<String, Float> learnedWeights;
 }
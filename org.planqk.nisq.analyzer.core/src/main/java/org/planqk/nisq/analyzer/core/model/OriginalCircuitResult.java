@@ -19,9 +19,13 @@
 
 package org.planqk.nisq.analyzer.core.model;
 
+import java.util.Objects;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.Lob;
+import javax.persistence.ManyToOne;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -50,8 +54,24 @@ public class OriginalCircuitResult extends HasId {
 
     private int originalNumberOfMeasurementOperations;
 
+    /**
+     * Circuit stored inline by previous versions, new results reference it in {@link #circuitBlob}
+     */
     @Lob
+    @Getter(AccessLevel.NONE)
     private String circuit;
 
     private String circuitLanguage;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private CircuitBlob circuitBlob;
+
+    /**
+     * Get the original circuit, which is only loaded when it is requested
+     *
+     * @return the content of the circuit, or null if no circuit was stored
+     */
+    public String getCircuit() {
+        return Objects.nonNull(circuitBlob) ? circuitBlob.getCircuit() : circuit;
+    }
 }
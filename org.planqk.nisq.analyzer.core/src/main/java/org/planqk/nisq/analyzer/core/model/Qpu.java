@@ -80,4 +80,8 @@ public class Qpu extends HasId {
     @Getter
     @Setter
     private int queueSize;
+
+    @Getter
+    @Setter
+    private String lastCalibrated;
 }
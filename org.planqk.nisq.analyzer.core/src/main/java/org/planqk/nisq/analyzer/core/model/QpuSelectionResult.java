@@ -19,14 +19,22 @@
 
 package org.planqk.nisq.analyzer.core.model;
 
+import java.util.Objects;
 import java.util.UUID;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Index;
 import javax.persistence.Lob;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * Object to represent the result of a QPU selection job for a certain quantum circuit
@@ -36,13 +44,25 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {@Index(columnList = "qpuSelectionJobId"), @Index(columnList = "userId")})
 public class QpuSelectionResult extends CircuitResult {
 
     private int queueSize;
 
+    /**
+     * Circuit stored inline by previous versions, new results reference it in {@link #transpiledCircuitBlob}
+     */
     @Lob
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private String transpiledCircuit;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private CircuitBlob transpiledCircuitBlob;
+
     private String transpiledLanguage;
 
     private UUID qpuSelectionJobId;
@@ -52,4 +72,13 @@ public class QpuSelectionResult extends CircuitResult {
     private String userId;
 
     private Float predictedHistogramIntersectionValue;
+
+    /**
+     * Get the transpiled circuit, which is only loaded when it is requested
+     *
+     * @return the content of the transpiled circuit, or null if the circuit was not transpiled yet
+     */
+    public String getTranspiledCircuit() {
+        return Objects.nonNull(transpiledCircuitBlob) ? transpiledCircuitBlob.getCircuit() : transpiledCircuit;
+    }
 }
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.model;
+
+import java.util.UUID;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Executed compiled circuit of a QPU selection job, materialized as soon as its execution finishes with a valid
+ * histogram intersection. Samples are used to learn the weights of the MCDA methods, and, if the original circuit was
+ * analyzed, as training data for the prediction of histogram intersections.
+ */
+@Setter
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(indexes = @Index(columnList = "qpuSelectionJobId"))
+public class TrainingSample extends HasId {
+
+    private UUID qpuSelectionJobId;
+
+    @Column(unique = true)
+    private UUID qpuSelectionResultId;
+
+    /**
+     * Id of the analyzed original circuit, null if the original metrics are not available
+     */
+    private UUID originalCircuitResultId;
+
+    private int originalWidth;
+
+    private int originalDepth;
+
+    private int originalMultiQubitGateDepth;
+
+    private int originalNumberOfSingleQubitGates;
+
+    private int originalNumberOfMultiQubitGates;
+
+    private int originalTotalNumberOfOperations;
+
+    private int originalNumberOfMeasurementOperations;
+
+    private int analyzedWidth;
+
+    private int analyzedDepth;
+
+    private int analyzedMultiQubitGateDepth;
+
+    private int analyzedTotalNumberOfOperations;
+
+    private int analyzedNumberOfSingleQubitGates;
+
+    private int analyzedNumberOfMultiQubitGates;
+
+    private int analyzedNumberOfMeasurementOperations;
+
+    private float t1;
+
+    private float t2;
+
+    private float avgReadoutError;
+
+    private float avgSingleQubitGateError;
+
+    private float avgMultiQubitGateError;
+
+    private float avgSingleQubitGateTime;
+
+    private float avgMultiQubitGateTime;
+
+    private String qpu;
+
+    private String compiler;
+
+    private float histogramIntersection;
+}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Index;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Cached properties of a circuit transpiled by a compiler for a QPU, valid as long as the QPU is not recalibrated
+ */
+@Setter
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(indexes = @Index(columnList = "provider, qpu"))
+public class TranspilationCacheEntry extends HasId {
+
+    @Column(unique = true)
+    private String cacheKey;
+
+    private String provider;
+
+    private String qpu;
+
+    private String compiler;
+
+    private String calibrationVersion;
+
+    private int circuitDepth;
+
+    private int circuitWidth;
+
+    private int circuitTotalNumberOfOperations;
+
+    private int circuitNumberOfSingleQubitGates;
+
+    private int circuitNumberOfMultiQubitGates;
+
+    private int circuitNumberOfMeasurementOperations;
+
+    private int circuitMultiQubitGateDepth;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private CircuitBlob transpiledCircuitBlob;
+
+    private String transpiledLanguage;
+}
@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.planqk;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Service exchanging refresh tokens of the PlanQK platform for bearer tokens. Bearer tokens are cached until shortly
+ * before they expire, concurrent exchanges of the same refresh token are coalesced into a single request, and rotated
+ * refresh tokens returned by the platform are used for subsequent exchanges.
+ */
+@Service
+public class PlanqkTokenService {
+
+    final private static Logger LOG = LoggerFactory.getLogger(PlanqkTokenService.class);
+
+    private static final String DEFAULT_TOKEN_URL =
+        "https://login.planqk.de/realms/planqk/protocol/openid-connect/token";
+
+    private final Map<String, Token> tokens = new ConcurrentHashMap<>();
+
+    private final Map<String, CompletableFuture<Token>> pendingExchanges = new ConcurrentHashMap<>();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final RestTemplate restTemplate;
+
+    private final String tokenUrl;
+
+    private final long expiryMargin;
+
+    private final int maxSize;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    public PlanqkTokenService(RestTemplate restTemplate, MeterRegistry meterRegistry,
+                              @Value("${org.planqk.nisq.analyzer.planqk.tokenUrl:" + DEFAULT_TOKEN_URL + "}")
+                                  String tokenUrl,
+                              @Value("${org.planqk.nisq.analyzer.planqk.token.expiryMargin:30000}") long expiryMargin,
+                              @Value("${org.planqk.nisq.analyzer.planqk.token.maxSize:1000}") int maxSize) {
+        this.restTemplate = restTemplate;
+        this.tokenUrl = tokenUrl;
+        this.expiryMargin = expiryMargin;
+        this.maxSize = maxSize;
+
+        hits = Counter.builder("nisq.analyzer.cache.requests").description("Number of requests to the cache")
+            .tag("cache", "planqk-tokens").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("nisq.analyzer.cache.requests").description("Number of requests to the cache")
+            .tag("cache", "planqk-tokens").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Get a bearer token for the given refresh token from the PlanQK platform
+     *
+     * @param refreshToken valid refresh token from the PlanQK platform
+     * @return the bearer token, or an empty string if no refresh token is given or the exchange failed
+     */
+    public String getBearerToken(String refreshToken) {
+        if (Objects.isNull(refreshToken) || refreshToken.isEmpty()) {
+            LOG.info("No refresh token provided, cannot get bearer token.");
+            return "";
+        }
+
+        String key = hash(refreshToken);
+        Token token = tokens.get(key);
+        if (Objects.nonNull(token) && token.isValid()) {
+            hits.increment();
+            return token.accessToken;
+        }
+
+        misses.increment();
+        CompletableFuture<Token> exchange = new CompletableFuture<>();
+        CompletableFuture<Token> pendingExchange = pendingExchanges.putIfAbsent(key, exchange);
+        if (Objects.nonNull(pendingExchange)) {
+            return getAccessToken(pendingExchange.join());
+        }
+
+        try {
+            // another exchange may have finished between the lookup and registering this one
+            Token current = tokens.get(key);
+            Token exchanged = Objects.nonNull(current) && current.isValid() ? current : exchange(refreshToken, current);
+            if (Objects.nonNull(exchanged)) {
+                store(key, exchanged);
+            } else {
+                tokens.remove(key);
+            }
+            exchange.complete(exchanged);
+            return getAccessToken(exchanged);
+        } catch (RuntimeException e) {
+            exchange.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingExchanges.remove(key, exchange);
+        }
+    }
+
+    private Token exchange(String refreshToken, Token expiredToken) {
+        // the platform may rotate refresh tokens, so prefer the latest one received for the given refresh token
+        if (Objects.nonNull(expiredToken) && !expiredToken.refreshToken.equals(refreshToken)) {
+            Token token = requestToken(expiredToken.refreshToken);
+            if (Objects.nonNull(token)) {
+                return token;
+            }
+            LOG.debug("Rotated refresh token was rejected, retrying with the original refresh token.");
+        }
+        return requestToken(refreshToken);
+    }
+
+    private Token requestToken(String refreshToken) {
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+            MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
+            map.add("grant_type", "refresh_token");
+            map.add("client_id", "planqk-login");
+            map.add("refresh_token", refreshToken);
+
+            ResponseEntity<String> response =
+                restTemplate.postForEntity(tokenUrl, new HttpEntity<>(map, headers), String.class);
+            JsonNode json = mapper.readTree(response.getBody());
+
+            if (json.has("error")) {
+                LOG.error("Could not get new tokens. Received error message: {}",
+                    json.at("/error_description").asText());
+                return null;
+            }
+
+            // keep using the given refresh token if the platform does not rotate it
+            String newRefreshToken =
+                json.hasNonNull("refresh_token") ? json.get("refresh_token").asText() : refreshToken;
+            long expiresAt = System.currentTimeMillis() + json.at("/expires_in").asLong() * 1000 - expiryMargin;
+            return new Token(json.at("/access_token").asText(), newRefreshToken, expiresAt);
+        } catch (Exception e) {
+            LOG.error("Could not get new tokens: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(String key, Token token) {
+        tokens.put(key, token);
+
+        // drop expired tokens first and then the ones expiring next if the cache exceeds its size
+        if (tokens.size() > maxSize) {
+            tokens.values().removeIf(t -> !t.isValid());
+        }
+        while (tokens.size() > maxSize) {
+            tokens.entrySet().stream().min(Comparator.comparingLong(e -> e.getValue().expiresAt))
+                .ifPresent(next -> tokens.remove(next.getKey(), next.getValue()));
+        }
+    }
+
+    private static String getAccessToken(Token token) {
+        return Objects.nonNull(token) ? token.accessToken : "";
+    }
+
+    /**
+     * Hash the refresh token to not keep the credentials of the users as keys of the cache
+     */
+    private static String hash(String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static class Token {
+
+        private final String accessToken;
+
+        private final String refreshToken;
+
+        private final long expiresAt;
+
+        Token(String accessToken, String refreshToken, long expiresAt) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isValid() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+    }
+}
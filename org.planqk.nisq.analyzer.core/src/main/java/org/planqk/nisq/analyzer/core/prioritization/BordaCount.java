@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.prioritization;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Weighted Borda count to aggregate several rankings of the same alternatives into one ranking
+ */
+public final class BordaCount {
+
+    private BordaCount() {
+    }
+
+    /**
+     * Aggregate the given rankings by awarding each alternative n - position points per ranking, multiplied with the
+     * weight of the ranking
+     *
+     * @param rankings the rankings to aggregate, each containing the IDs of all alternatives from best to worst
+     * @param weights  the weights of the rankings, rankings without weight are ignored
+     * @return the aggregated ranking from best to worst, ties are ordered as in the first ranking
+     */
+    public static List<String> aggregate(Map<String, List<String>> rankings, Map<String, Float> weights) {
+        Map<String, Double> points = new HashMap<>();
+        List<String> alternatives = new ArrayList<>();
+        rankings.forEach((name, ranking) -> {
+            if (alternatives.isEmpty()) {
+                alternatives.addAll(ranking);
+            }
+            double weight = weights.getOrDefault(name, 0.0f);
+            for (int position = 0; position < ranking.size(); position++) {
+                points.merge(ranking.get(position), weight * (ranking.size() - position), Double::sum);
+            }
+        });
+
+        alternatives.sort(Comparator.comparingDouble((String id) -> points.getOrDefault(id, 0.0)).reversed());
+        return alternatives;
+    }
+}
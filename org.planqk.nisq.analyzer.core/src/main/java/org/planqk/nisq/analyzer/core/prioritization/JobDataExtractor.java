@@ -21,6 +21,7 @@ package org.planqk.nisq.analyzer.core.prioritization;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -34,7 +35,8 @@ import org.planqk.nisq.analyzer.core.model.JobType;
 import org.planqk.nisq.analyzer.core.model.McdaJob;
 import org.planqk.nisq.analyzer.core.model.QpuSelectionJob;
 import org.planqk.nisq.analyzer.core.model.QpuSelectionResult;
-import org.planqk.nisq.analyzer.core.qprov.QProvService;
+import org.planqk.nisq.analyzer.core.qprov.QpuQueueSize;
+import org.planqk.nisq.analyzer.core.qprov.QueueSizeService;
 import org.planqk.nisq.analyzer.core.repository.AnalysisJobRepository;
 import org.planqk.nisq.analyzer.core.repository.CompilationJobRepository;
 import org.planqk.nisq.analyzer.core.repository.McdaJobRepository;
@@ -76,7 +78,7 @@ public class JobDataExtractor {
 
     private final XmcdaRepository xmcdaRepository;
 
-    private final QProvService qProvService;
+    private final QueueSizeService queueSizeService;
 
     private final QpuSelectionResultRepository qpuSelectionResultRepository;
 
@@ -161,10 +163,11 @@ public class JobDataExtractor {
         Alternatives alternatives = new Alternatives();
         PerformanceTable performances = new PerformanceTable();
         LOG.debug("Analysis job contains {} results for the ranking!", circuitResults.size());
+        Map<String, QpuQueueSize> queueSizes = queueSizeService.getQueueSizes(circuitResults);
 
         for (CircuitResult result : circuitResults) {
 
-            int backendQueueSize = qProvService.getQueueSizeOfQpu(result.getQpu(), result.getProvider());
+            int backendQueueSize = QueueSizeService.getQueueSize(queueSizes, result);
 
             // add alternative representing the analysis result
             String name = result.getQpu() + "-" + result.getCompiler() + "-" + result.getCircuitName();
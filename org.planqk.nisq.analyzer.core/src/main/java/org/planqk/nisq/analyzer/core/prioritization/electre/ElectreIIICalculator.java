@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.prioritization.electre;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Calculation of ELECTRE III rankings equivalent to the chain of discordance, concordance, outranking, cut relation,
+ * and distillation web services
+ */
+public final class ElectreIIICalculator {
+
+    private ElectreIIICalculator() {
+    }
+
+    /**
+     * Calculate the credibility of the outranking relation between all pairs of alternatives
+     *
+     * @param performances the performances of the alternatives (rows) on the criteria (columns)
+     * @param weights      the weights of the criteria
+     * @param isCost       for each criterion, true if lower performances are better
+     * @param indifference the indifference threshold of each criterion
+     * @param preference   the preference threshold of each criterion
+     * @param veto         the veto threshold of each criterion, or NaN if the criterion has no veto threshold
+     * @return the matrix containing the credibility that alternative a (row) outranks alternative b (column)
+     */
+    public static double[][] calculateCredibility(double[][] performances, double[] weights, boolean[] isCost,
+                                                  double[] indifference, double[] preference, double[] veto) {
+        int alternatives = performances.length;
+        int criteria = weights.length;
+        double weightSum = 0;
+        for (double weight : weights) {
+            weightSum += weight;
+        }
+
+        double[][] credibility = new double[alternatives][alternatives];
+        double[] discordances = new double[criteria];
+        for (int a = 0; a < alternatives; a++) {
+            for (int b = 0; b < alternatives; b++) {
+                if (a == b) {
+                    credibility[a][b] = 1;
+                    continue;
+                }
+
+                // global concordance and partial discordances of the assertion "a outranks b"
+                double concordance = 0;
+                for (int j = 0; j < criteria; j++) {
+                    double advantageOfB = isCost[j] ? performances[a][j] - performances[b][j] :
+                        performances[b][j] - performances[a][j];
+                    concordance += weights[j] * getPartialConcordance(advantageOfB, indifference[j], preference[j]);
+                    discordances[j] = getPartialDiscordance(advantageOfB, preference[j], veto[j]);
+                }
+                concordance = weightSum > 0 ? concordance / weightSum : 0;
+
+                // weaken the concordance by all discordances exceeding it
+                double value = concordance;
+                for (double discordance : discordances) {
+                    if (discordance > concordance) {
+                        value *= (1 - discordance) / (1 - concordance);
+                    }
+                }
+                credibility[a][b] = value;
+            }
+        }
+        return credibility;
+    }
+
+    /**
+     * Cut the given credibility matrix to obtain a crisp outranking relation
+     *
+     * @param credibility the credibility of the outranking relation between all pairs of alternatives
+     * @param threshold   the minimal credibility for an outranking
+     * @return the matrix containing true if alternative a (row) outranks alternative b (column)
+     */
+    public static boolean[][] cut(double[][] credibility, double threshold) {
+        boolean[][] outranking = new boolean[credibility.length][credibility.length];
+        for (int a = 0; a < credibility.length; a++) {
+            for (int b = 0; b < credibility.length; b++) {
+                outranking[a][b] = credibility[a][b] >= threshold;
+            }
+        }
+        return outranking;
+    }
+
+    /**
+     * Rank the alternatives by the intersection of the descending and ascending distillation of the given outranking
+     * relation
+     *
+     * @param outranking the crisp outranking relation between all pairs of alternatives
+     * @return the matrix containing true if alternative a (row) is preferred to alternative b (column)
+     */
+    public static boolean[][] distill(boolean[][] outranking) {
+        int alternatives = outranking.length;
+        int[] descendingRanks = distill(outranking, true);
+        int[] ascendingRanks = distill(outranking, false);
+
+        boolean[][] preferred = new boolean[alternatives][alternatives];
+        for (int a = 0; a < alternatives; a++) {
+            for (int b = 0; b < alternatives; b++) {
+                preferred[a][b] = descendingRanks[a] <= descendingRanks[b] && ascendingRanks[a] <= ascendingRanks[b] &&
+                    (descendingRanks[a] < descendingRanks[b] || ascendingRanks[a] < ascendingRanks[b]);
+            }
+        }
+        return preferred;
+    }
+
+    /**
+     * Get the position of each alternative in the ranking, i.e., one plus the number of alternatives preferred to it
+     *
+     * @param preferred the matrix containing true if alternative a (row) is preferred to alternative b (column)
+     * @return the position of each alternative, starting with 1 for the best
+     */
+    public static int[] getPositions(boolean[][] preferred) {
+        int[] positions = new int[preferred.length];
+        for (int b = 0; b < preferred.length; b++) {
+            positions[b] = 1;
+            for (int a = 0; a < preferred.length; a++) {
+                if (preferred[a][b]) {
+                    positions[b]++;
+                }
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Distill the alternatives by repeatedly extracting those with the best (descending) or worst (ascending)
+     * qualification among the remaining alternatives
+     *
+     * @return the rank of each alternative, starting with 0 for the best
+     */
+    private static int[] distill(boolean[][] outranking, boolean descending) {
+        int alternatives = outranking.length;
+        int[] ranks = new int[alternatives];
+        List<Integer> remaining = new ArrayList<>();
+        for (int a = 0; a < alternatives; a++) {
+            remaining.add(a);
+        }
+
+        int classes = 0;
+        while (!remaining.isEmpty()) {
+            int[] qualifications = new int[alternatives];
+            for (int a : remaining) {
+                for (int b : remaining) {
+                    if (outranking[a][b] && !outranking[b][a]) {
+                        qualifications[a]++;
+                        qualifications[b]--;
+                    }
+                }
+            }
+
+            int extremum = qualifications[remaining.get(0)];
+            for (int a : remaining) {
+                extremum = descending ? Math.max(extremum, qualifications[a]) : Math.min(extremum, qualifications[a]);
+            }
+            List<Integer> distillate = new ArrayList<>();
+            for (int a : remaining) {
+                if (qualifications[a] == extremum) {
+                    distillate.add(a);
+                    ranks[a] = classes;
+                }
+            }
+            remaining.removeAll(distillate);
+            classes++;
+        }
+
+        // ascending distillation extracts the worst alternatives first
+        if (!descending) {
+            for (int a = 0; a < alternatives; a++) {
+                ranks[a] = classes - 1 - ranks[a];
+            }
+        }
+        return ranks;
+    }
+
+    private static double getPartialConcordance(double advantageOfB, double indifference, double preference) {
+        if (advantageOfB <= indifference) {
+            return 1;
+        }
+        if (advantageOfB >= preference) {
+            return 0;
+        }
+        return (preference - advantageOfB) / (preference - indifference);
+    }
+
+    private static double getPartialDiscordance(double advantageOfB, double preference, double veto) {
+        if (Double.isNaN(veto) || advantageOfB <= preference) {
+            return 0;
+        }
+        if (advantageOfB >= veto) {
+            return 1;
+        }
+        return (advantageOfB - preference) / (veto - preference);
+    }
+}
@@ -48,10 +48,18 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.xmcda.v2.Alternative;
+import org.xmcda.v2.AlternativeOnCriteriaPerformances;
 import org.xmcda.v2.Alternatives;
 import org.xmcda.v2.AlternativesComparisons;
+import org.xmcda.v2.Criteria;
+import org.xmcda.v2.CriteriaValues;
+import org.xmcda.v2.Criterion;
+import org.xmcda.v2.Function;
 import org.xmcda.v2.MethodParameters;
 import org.xmcda.v2.ObjectFactory;
+import org.xmcda.v2.PerformanceTable;
+import org.xmcda.v2.Scale;
+import org.xmcda.v2.Thresholds;
 import org.xmcda.v2.XMCDA;
 
 import lombok.RequiredArgsConstructor;
@@ -78,6 +86,9 @@ public class ElectreIIIMethod implements McdaMethod {
     @Value("${org.planqk.nisq.analyzer.mcda.url}")
     private String baseURL;
 
+    @Value("${org.planqk.nisq.analyzer.prioritization.mcda.local:true}")
+    private boolean localMcdaRanking;
+
     @Override
     public String getName() {
         return "electre-III";
@@ -102,6 +113,11 @@ public class ElectreIIIMethod implements McdaMethod {
             return;
         }
 
+        if (localMcdaRanking) {
+            rankLocally(mcdaJob, mcdaInformation);
+            return;
+        }
+
         try {
             // invoke the discordance service for Electre III
             LOG.debug("Invoking discordance service for Electre III!");
@@ -213,6 +229,138 @@ public class ElectreIIIMethod implements McdaMethod {
         }
     }
 
+    /**
+     * Rank the alternatives in-process with the same steps and parameters as the chain of Electre III web services
+     *
+     * @param mcdaJob         the job to add the ranked results to
+     * @param mcdaInformation the criteria, weights, alternatives, and performances to rank
+     */
+    private void rankLocally(McdaJob mcdaJob, McdaInformation mcdaInformation) {
+        Criteria criteria = getRootElement(mcdaInformation.getCriteria(), Criteria.class);
+        CriteriaValues weights = getRootElement(mcdaInformation.getWeights(), CriteriaValues.class);
+        PerformanceTable performanceTable = getRootElement(mcdaInformation.getPerformances(), PerformanceTable.class);
+        List<UUID> alternativeIDs = getAlternativeIDs(mcdaInformation.getAlternatives());
+        if (Objects.isNull(criteria) || Objects.isNull(weights) || Objects.isNull(performanceTable) ||
+                Objects.isNull(alternativeIDs)) {
+            setJobToFailed(mcdaJob, "Unable to retrieve criteria, weights, and performances for Electre III!");
+            return;
+        }
+
+        // retrieve preference direction and thresholds of the criteria
+        List<Criterion> criterionList = criteria.getCriterion();
+        Map<String, Integer> criterionIndices = new HashMap<>();
+        boolean[] isCost = new boolean[criterionList.size()];
+        double[] indifference = new double[criterionList.size()];
+        double[] preference = new double[criterionList.size()];
+        double[] veto = new double[criterionList.size()];
+        for (int j = 0; j < criterionList.size(); j++) {
+            Criterion criterion = criterionList.get(j);
+            criterionIndices.put(criterion.getId(), j);
+            veto[j] = Double.NaN;
+            for (Object object : criterion.getActiveOrScaleOrCriterionFunction()) {
+                if (object instanceof Scale && Objects.nonNull(((Scale) object).getQuantitative())) {
+                    isCost[j] = ((Scale) object).getQuantitative().getPreferenceDirection().value()
+                            .equalsIgnoreCase("min");
+                } else if (object instanceof Thresholds) {
+                    for (Function threshold : ((Thresholds) object).getThreshold()) {
+                        if (Objects.isNull(threshold.getConstant()) || Objects.isNull(threshold.getMcdaConcept())) {
+                            continue;
+                        }
+                        double value = getNumber(threshold.getConstant().getInteger(),
+                                threshold.getConstant().getReal());
+                        switch (threshold.getMcdaConcept().toLowerCase()) {
+                            case "indifference":
+                                indifference[j] = value;
+                                break;
+                            case "preference":
+                                preference[j] = value;
+                                break;
+                            case "veto":
+                                veto[j] = value;
+                                break;
+                            default:
+                                LOG.warn("Ignoring unknown threshold {} of criterion {}!",
+                                        threshold.getMcdaConcept(), criterion.getName());
+                        }
+                    }
+                }
+            }
+            preference[j] = Math.max(preference[j], indifference[j]);
+        }
+
+        double[] weightValues = new double[criterionList.size()];
+        for (org.xmcda.v2.CriterionValue criterionValue : weights.getCriterionValue()) {
+            Integer index = criterionIndices.get(criterionValue.getCriterionID());
+            if (Objects.nonNull(index) && !criterionValue.getValueOrValues().isEmpty() &&
+                    criterionValue.getValueOrValues().get(0) instanceof org.xmcda.v2.Value) {
+                org.xmcda.v2.Value value = (org.xmcda.v2.Value) criterionValue.getValueOrValues().get(0);
+                weightValues[index] = getNumber(value.getInteger(), value.getReal());
+            }
+        }
+
+        Map<String, Integer> alternativeIndices = new HashMap<>();
+        for (int i = 0; i < alternativeIDs.size(); i++) {
+            alternativeIndices.put(alternativeIDs.get(i).toString(), i);
+        }
+        double[][] performances = new double[alternativeIDs.size()][criterionList.size()];
+        for (AlternativeOnCriteriaPerformances alternativePerformances :
+                performanceTable.getAlternativePerformances()) {
+            Integer i = alternativeIndices.get(alternativePerformances.getAlternativeID());
+            if (Objects.isNull(i)) {
+                continue;
+            }
+            for (AlternativeOnCriteriaPerformances.Performance performance : alternativePerformances.getPerformance()) {
+                Integer j = criterionIndices.get(performance.getCriterionID());
+                if (Objects.nonNull(j)) {
+                    performances[i][j] =
+                            getNumber(performance.getValue().getInteger(), performance.getValue().getReal());
+                }
+            }
+        }
+
+        // cut the credibility matrix classically at 0.5 and rank by the intersection of both distillations
+        int[] positions = ElectreIIICalculator.getPositions(ElectreIIICalculator.distill(ElectreIIICalculator.cut(
+                ElectreIIICalculator.calculateCredibility(performances, weightValues, isCost, indifference, preference,
+                        veto), 0.5)));
+
+        List<McdaResult> results = new ArrayList<>();
+        for (int b = 0; b < alternativeIDs.size(); b++) {
+            LOG.debug("Alternative with ID {} has position {}!", alternativeIDs.get(b), positions[b]);
+
+            McdaResult mcdaResult = new McdaResult();
+            mcdaResult.setResultId(alternativeIDs.get(b));
+            mcdaResult.setPosition(positions[b]);
+            mcdaResult.setScore(0);
+            results.add(mcdaResultRepository.save(mcdaResult));
+        }
+
+        mcdaJob.setRankedResults(results);
+        mcdaJob.setState(ExecutionResultStatus.FINISHED.toString());
+        mcdaJob.setReady(true);
+        mcdaJobRepository.save(mcdaJob);
+    }
+
+    private <T> T getRootElement(XMCDA xmcda, Class<T> type) {
+        if (xmcda.getProjectReferenceOrMethodMessagesOrMethodParameters().size() != 1) {
+            LOG.error("XMCDA document must contain exactly one root element of type {}!", type.getSimpleName());
+            return null;
+        }
+
+        Object rootElement = xmcda.getProjectReferenceOrMethodMessagesOrMethodParameters().get(0).getValue();
+        if (!type.isInstance(rootElement)) {
+            LOG.error("XMCDA document must contain exactly one root element of type {}!", type.getSimpleName());
+            return null;
+        }
+        return type.cast(rootElement);
+    }
+
+    private double getNumber(Integer integerValue, Double realValue) {
+        if (Objects.nonNull(integerValue)) {
+            return integerValue;
+        }
+        return Objects.nonNull(realValue) ? realValue : 0;
+    }
+
     private List<UUID> getAlternativeIDs(XMCDA xmcda) {
         if (xmcda.getProjectReferenceOrMethodMessagesOrMethodParameters().size() != 1) {
             LOG.error("XMCDA document must contain exactly one root element of type Alternatives!");
@@ -289,12 +437,40 @@ public class ElectreIIIMethod implements McdaMethod {
             return null;
         }
 
-        // map storing better alternatives for each possible alternative
-        Map<UUID, List<UUID>> rankingWrapperMap = new HashMap<>();
-        alternativeIDs.forEach(alternativeID -> rankingWrapperMap.put(alternativeID, new ArrayList<>()));
+        // calculate position depending on the number of better and worse elements
+        List<McdaResult> mcdaResults = new ArrayList<>();
+        for (Map.Entry<UUID, Integer> position : getPositions(alternativesComparisons, alternativeIDs).entrySet()) {
+            LOG.debug("Alternative with ID {} has position {}!", position.getKey(), position.getValue());
+
+            McdaResult mcdaResult = new McdaResult();
+            mcdaResult.setResultId(position.getKey());
+            mcdaResult.setPosition(position.getValue());
+            mcdaResult.setScore(0);
+            mcdaResult = mcdaResultRepository.save(mcdaResult);
+            mcdaResults.add(mcdaResult);
+        }
+
+        return mcdaResults;
+    }
+
+    /**
+     * Get the position of each alternative in the given intersection distillation matrix, i.e., one plus the number of
+     * alternatives that are better suited
+     *
+     * @param intersectionDistillationMatrix the matrix containing the pairs of better (initial) and worse (terminal)
+     *                                       alternatives
+     * @param alternativeIDs                 all the IDs of possible alternatives related to this job
+     * @return the position of each alternative
+     */
+    static Map<UUID, Integer> getPositions(AlternativesComparisons intersectionDistillationMatrix,
+                                           List<UUID> alternativeIDs) {
+
+        // map storing the number of better alternatives for each possible alternative
+        Map<UUID, Integer> positions = new HashMap<>();
+        alternativeIDs.forEach(alternativeID -> positions.put(alternativeID, 1));
 
         // iterate through each entry and store the information in the map
-        List<AlternativesComparisons.Pairs.Pair> resultPairs = alternativesComparisons.getPairs().getPair();
+        List<AlternativesComparisons.Pairs.Pair> resultPairs = intersectionDistillationMatrix.getPairs().getPair();
         LOG.debug("Result matrix contains {} entries for {} overall alternatives!", resultPairs.size(), alternativeIDs.size());
         for (AlternativesComparisons.Pairs.Pair pair : resultPairs) {
 
@@ -305,29 +481,11 @@ public class ElectreIIIMethod implements McdaMethod {
                 continue;
             }
 
-            // retrieve the helper objects for the source element of the matrix entry
-            List<UUID> sourceWrapper = rankingWrapperMap.get(sourceID);
-
             // add information that the target element is better suited than the source element
-            sourceWrapper.add(targetID);
+            positions.put(sourceID, positions.get(sourceID) + 1);
             LOG.debug("{} better suited than {}!", targetID, sourceID);
         }
-
-        // calculate position depending on the number of better and worse elements
-        List<McdaResult> mcdaResults = new ArrayList<>();
-        for (Map.Entry<UUID, List<UUID>> rankingWrapper : rankingWrapperMap.entrySet()) {
-            int position = rankingWrapper.getValue().size() + 1;
-            LOG.debug("Alternative with ID {} has position {}!", rankingWrapper.getKey(), position);
-
-            McdaResult mcdaResult = new McdaResult();
-            mcdaResult.setResultId(rankingWrapper.getKey());
-            mcdaResult.setPosition(position);
-            mcdaResult.setScore(0);
-            mcdaResult = mcdaResultRepository.save(mcdaResult);
-            mcdaResults.add(mcdaResult);
-        }
-
-        return mcdaResults;
+        return positions;
     }
 
     /**
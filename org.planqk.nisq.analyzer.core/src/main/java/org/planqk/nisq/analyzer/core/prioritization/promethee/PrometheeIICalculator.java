@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.prioritization.promethee;
+
+/**
+ * Calculation of the PROMETHEE II net outranking flows of alternatives using the usual preference function
+ */
+public final class PrometheeIICalculator {
+
+    private PrometheeIICalculator() {
+    }
+
+    /**
+     * Calculate the net outranking flow of each alternative
+     *
+     * @param performances the performances of the alternatives (rows) on the criteria (columns)
+     * @param weights      the weights of the criteria
+     * @param isCost       for each criterion, true if lower performances are better
+     * @return the net flows of the alternatives between -1 and 1, higher flows are better
+     */
+    public static double[] calculateScores(double[][] performances, double[] weights, boolean[] isCost) {
+        int alternatives = performances.length;
+        int criteria = weights.length;
+        double[] scores = new double[alternatives];
+        if (alternatives < 2) {
+            return scores;
+        }
+
+        double weightSum = 0;
+        for (double weight : weights) {
+            weightSum += weight;
+        }
+        if (weightSum <= 0) {
+            return scores;
+        }
+
+        for (int a = 0; a < alternatives; a++) {
+            for (int b = a + 1; b < alternatives; b++) {
+                // aggregated preference of a over b and of b over a
+                double preferenceAB = 0;
+                double preferenceBA = 0;
+                for (int j = 0; j < criteria; j++) {
+                    double difference = isCost[j] ? performances[b][j] - performances[a][j] :
+                        performances[a][j] - performances[b][j];
+                    if (difference > 0) {
+                        preferenceAB += weights[j];
+                    } else if (difference < 0) {
+                        preferenceBA += weights[j];
+                    }
+                }
+                double netPreference = (preferenceAB - preferenceBA) / weightSum;
+                scores[a] += netPreference;
+                scores[b] -= netPreference;
+            }
+        }
+
+        for (int a = 0; a < alternatives; a++) {
+            scores[a] /= alternatives - 1;
+        }
+        return scores;
+    }
+}
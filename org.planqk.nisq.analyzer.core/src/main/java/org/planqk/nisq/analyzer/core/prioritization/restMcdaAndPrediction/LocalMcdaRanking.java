@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.prioritization.restMcdaAndPrediction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.planqk.nisq.analyzer.core.prioritization.BordaCount;
+import org.planqk.nisq.analyzer.core.prioritization.promethee.PrometheeIICalculator;
+import org.planqk.nisq.analyzer.core.prioritization.topsis.TopsisCalculator;
+
+/**
+ * In-process counterpart of the rank endpoint of the prioritization service, ranking the alternatives of a {@link
+ * McdaRankRestRequest} with TOPSIS or PROMETHEE II and optionally aggregating the result with further metrics using
+ * the Borda count
+ */
+public final class LocalMcdaRanking {
+
+    /**
+     * Name of the MCDA ranking within the Borda count weights
+     */
+    private static final String MCDA_RANKING = "result_precision";
+
+    private LocalMcdaRanking() {
+    }
+
+    /**
+     * Check if the given MCDA method can be executed locally
+     *
+     * @param mcdaMethod the name of the MCDA method as sent to the prioritization service
+     * @return true if the method is supported, false otherwise
+     */
+    public static boolean supports(String mcdaMethod) {
+        return "topsis".equals(mcdaMethod) || "promethee_ii".equals(mcdaMethod);
+    }
+
+    /**
+     * Rank the alternatives of the given request
+     *
+     * @param request the request containing the alternatives, weights, and the MCDA method to use
+     * @return the scores and rankings of the alternatives
+     */
+    public static RankResultResponse rank(McdaRankRestRequest request) {
+        List<McdaCriteriaPerformances> alternatives = request.getCircuits().stream()
+            .flatMap(circuit -> circuit.getCompiledCircuits().stream()).collect(Collectors.toList());
+        List<String> metrics = new ArrayList<>(request.getMetricWeights().keySet());
+
+        double[][] performances = getPerformances(alternatives, metrics);
+        double[] weights = new double[metrics.size()];
+        boolean[] isCost = new boolean[metrics.size()];
+        for (int j = 0; j < metrics.size(); j++) {
+            McdaCriterionWeight criterionWeight = request.getMetricWeights().get(metrics.get(j));
+            weights[j] = criterionWeight.getWeight();
+            isCost[j] = criterionWeight.isCost();
+        }
+
+        double[] scores = "topsis".equals(request.getMcdaMethod()) ?
+            TopsisCalculator.calculateScores(performances, weights, isCost) :
+            PrometheeIICalculator.calculateScores(performances, weights, isCost);
+
+        Map<String, Float> scoresById = new HashMap<>();
+        for (int i = 0; i < alternatives.size(); i++) {
+            scoresById.put(alternatives.get(i).getId(), (float) scores[i]);
+        }
+        ArrayList<String> ranking = IntStream.range(0, alternatives.size()).boxed()
+            .sorted(Comparator.comparingDouble((Integer i) -> scores[i]).reversed())
+            .map(i -> alternatives.get(i).getId()).collect(Collectors.toCollection(ArrayList::new));
+
+        RankResultResponse response = new RankResultResponse();
+        response.setScores(scoresById);
+        response.setRanking(ranking);
+
+        if (request.getBordaCountMetrics() != null && !request.getBordaCountMetrics().isEmpty()) {
+            // rank the alternatives by each additional metric and aggregate all rankings
+            Map<String, List<String>> rankings = new LinkedHashMap<>();
+            rankings.put(MCDA_RANKING, ranking);
+            request.getBordaCountMetrics().forEach((metric, criterionWeight) -> {
+                double[] metricPerformances = getPerformances(alternatives, metric);
+                Comparator<Integer> comparator = Comparator.comparingDouble(i -> metricPerformances[i]);
+                rankings.put(metric, IntStream.range(0, alternatives.size()).boxed()
+                    .sorted(criterionWeight.isCost() ? comparator : comparator.reversed())
+                    .map(i -> alternatives.get(i).getId()).collect(Collectors.toList()));
+            });
+            response.setBordaCountRanking(
+                new ArrayList<>(BordaCount.aggregate(rankings, request.getBordaCountWeights())));
+        }
+        return response;
+    }
+
+    private static double[][] getPerformances(List<McdaCriteriaPerformances> alternatives, List<String> metrics) {
+        double[][] performances = new double[alternatives.size()][metrics.size()];
+        for (int j = 0; j < metrics.size(); j++) {
+            double[] metricPerformances = getPerformances(alternatives, metrics.get(j));
+            for (int i = 0; i < alternatives.size(); i++) {
+                performances[i][j] = metricPerformances[i];
+            }
+        }
+        return performances;
+    }
+
+    private static double[] getPerformances(List<McdaCriteriaPerformances> alternatives, String metric) {
+        double[] performances = new double[alternatives.size()];
+        for (int i = 0; i < alternatives.size(); i++) {
+            performances[i] = getPerformance(alternatives.get(i), metric);
+        }
+        return performances;
+    }
+
+    private static double getPerformance(McdaCriteriaPerformances alternative, String metric) {
+        switch (metric) {
+            case "histogram-intersection":
+                return alternative.getHistogramIntersection();
+            case "width":
+                return alternative.getAnalyzedWidth();
+            case "depth":
+                return alternative.getAnalyzedDepth();
+            case "multi-qubit-gate-depth":
+                return alternative.getAnalyzedMultiQubitGateDepth();
+            case "total-number-of-operations":
+                return alternative.getAnalyzedTotalNumberOfOperations();
+            case "number-of-single-qubit-gates":
+                return alternative.getAnalyzedNumberOfSingleQubitGates();
+            case "number-of-multi-qubit-gates":
+                return alternative.getAnalyzedNumberOfMultiQubitGates();
+            case "number-of-measurement-operations":
+                return alternative.getAnalyzedNumberOfMeasurementOperations();
+            case "avg-single-qubit-gate-error":
+                return alternative.getAvgSingleQubitGateError();
+            case "avg-multi-qubit-gate-error":
+                return alternative.getAvgMultiQubitGateError();
+            case "avg-single-qubit-gate-time":
+                return alternative.getAvgSingleQubitGateTime();
+            case "avg-multi-qubit-gate-time":
+                return alternative.getAvgMultiQubitGateTime();
+            case "avg-readout-error":
+                return alternative.getAvgReadoutError();
+            case "avg-t1":
+                return alternative.getT1();
+            case "avg-t2":
+                return alternative.getT2();
+            case "queue-size":
+                return alternative.getQueueSize();
+            default:
+                throw new IllegalArgumentException("Unsupported metric for local ranking: " + metric);
+        }
+    }
+}
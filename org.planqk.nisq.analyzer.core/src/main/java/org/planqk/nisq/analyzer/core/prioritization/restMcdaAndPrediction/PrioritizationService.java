@@ -19,8 +19,8 @@
 
 package org.planqk.nisq.analyzer.core.prioritization.restMcdaAndPrediction;
 
-import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -28,13 +28,14 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import javax.transaction.Transactional;
 
 import org.planqk.nisq.analyzer.core.model.AnalysisJob;
 import org.planqk.nisq.analyzer.core.model.CircuitResult;
 import org.planqk.nisq.analyzer.core.model.CompilationJob;
-import org.planqk.nisq.analyzer.core.model.ExecutionResult;
 import org.planqk.nisq.analyzer.core.model.ExecutionResultStatus;
 import org.planqk.nisq.analyzer.core.model.JobType;
 import org.planqk.nisq.analyzer.core.model.McdaJob;
@@ -51,25 +52,22 @@ import org.planqk.nisq.analyzer.core.prioritization.restMcdaAndPrediction.preSel
 import org.planqk.nisq.analyzer.core.prioritization.restMcdaAndPrediction.preSelectionModel.PreSelectionPredictionRequest;
 import org.planqk.nisq.analyzer.core.prioritization.restMcdaAndPrediction.preSelectionModel.PredictionResultResponse;
 import org.planqk.nisq.analyzer.core.prioritization.restMcdaAndPrediction.preSelectionModel.TrainingData;
-import org.planqk.nisq.analyzer.core.qprov.QProvService;
+import org.planqk.nisq.analyzer.core.qprov.QpuQueueSize;
+import org.planqk.nisq.analyzer.core.qprov.QueueSizeService;
 import org.planqk.nisq.analyzer.core.repository.AnalysisJobRepository;
 import org.planqk.nisq.analyzer.core.repository.CompilationJobRepository;
-import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
 import org.planqk.nisq.analyzer.core.repository.McdaJobRepository;
 import org.planqk.nisq.analyzer.core.repository.McdaResultRepository;
 import org.planqk.nisq.analyzer.core.repository.McdaSensitivityAnalysisJobRepository;
 import org.planqk.nisq.analyzer.core.repository.McdaWeightLearningJobRepository;
-import org.planqk.nisq.analyzer.core.repository.OriginalCircuitResultRepository;
 import org.planqk.nisq.analyzer.core.repository.QpuSelectionJobRepository;
 import org.planqk.nisq.analyzer.core.repository.QpuSelectionResultRepository;
 import org.planqk.nisq.analyzer.core.repository.xmcda.XmcdaRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.RequestEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 import org.xmcda.v2.CriteriaValues;
 import org.xmcda.v2.Criterion;
 import org.xmcda.v2.PerformanceTable;
@@ -96,10 +94,6 @@ public class PrioritizationService {
 
     private final CompilationJobRepository compilationJobRepository;
 
-    private final ExecutionResultRepository executionResultRepository;
-
-    private final OriginalCircuitResultRepository originalCircuitResultRepository;
-
     private final McdaWeightLearningJobRepository mcdaWeightLearningJobRepository;
 
     private final McdaSensitivityAnalysisJobRepository mcdaSensitivityAnalysisJobRepository;
@@ -108,16 +102,17 @@ public class PrioritizationService {
 
     private final XmcdaRepository xmcdaRepository;
 
-    private final QProvService qProvService;
+    private final QueueSizeService queueSizeService;
+
+    private final TrainingSampleService trainingSampleService;
 
-    @org.springframework.beans.factory.annotation.Value("${org.planqk.nisq.analyzer.prioritization.hostname}")
-    private String hostname;
+    private final PrioritizationServiceClient prioritizationServiceClient;
 
-    @org.springframework.beans.factory.annotation.Value("${org.planqk.nisq.analyzer.prioritization.port}")
-    private int port;
+    // weights learned for each pair of MCDA and weight learning method on the latest dataset version
+    private final Map<String, LearnedWeights> learnedWeightsCache = new ConcurrentHashMap<>();
 
-    @org.springframework.beans.factory.annotation.Value("${org.planqk.nisq.analyzer.prioritization.version}")
-    private String version;
+    @org.springframework.beans.factory.annotation.Value("${org.planqk.nisq.analyzer.prioritization.mcda.local:true}")
+    private boolean localMcdaRanking;
 
     @Transactional
     public List<String> executePredictionForCompilerAnQpuPreSelection(OriginalCircuitResult originalCircuitResult,
@@ -131,75 +126,8 @@ public class PrioritizationService {
         preSelectionPredictionRequest.setMetaRegressor(metaOptimizer);
         preSelectionPredictionRequest.setQueueSizeImportance(queueImportanceRatio);
 
-        // collect training data
-        List<TrainingData> trainingDataList = new ArrayList<>();
-
-        qpuSelectionJobRepository.findAll().forEach(priorQpuSelectionJob -> {
-            TrainingData trainingData = new TrainingData();
-            trainingData.setId(priorQpuSelectionJob.getId().toString());
-
-            List<OriginalCircuitAndQpuMetrics> originalCircuitAndQpuMetricsList = new ArrayList<>();
-
-            priorQpuSelectionJob.getJobResults().forEach(qpuSelectionResult -> {
-                if (qpuSelectionResult.getOriginalCircuitResultId() != null) {
-                    List<ExecutionResult> executionResultList =
-                        executionResultRepository.findByQpuSelectionResult(qpuSelectionResult);
-                    Optional<ExecutionResult> executionResultOptional = executionResultList.stream().filter(
-                        exeResult -> exeResult.getShots() > 0 && exeResult.getHistogramIntersectionValue() > 0 &&
-                            exeResult.getHistogramIntersectionValue() < 1 &&
-                            exeResult.getStatus().equals(ExecutionResultStatus.FINISHED)).findFirst();
-                    if (executionResultOptional.isPresent() && !qpuSelectionResult.getQpu()
-                        .contains("simulator")) {  // TODO: add a better check if the result is from a simulator
-                        Optional<OriginalCircuitResult> originalCircuitResultOptional =
-                            originalCircuitResultRepository.findById(qpuSelectionResult.getOriginalCircuitResultId());
-                        if (originalCircuitResultOptional.isPresent()) {
-                            OriginalCircuitResult originalCircuitResultTrainingDataPoint =
-                                originalCircuitResultOptional.get();
-                            ExecutionResult executionResult = executionResultOptional.get();
-                            OriginalCircuitAndQpuMetrics originalCircuitAndQpuMetricsPriorCircuit =
-                                new OriginalCircuitAndQpuMetrics();
-                            originalCircuitAndQpuMetricsPriorCircuit.setId(qpuSelectionResult.getId().toString());
-                            originalCircuitAndQpuMetricsPriorCircuit.setOriginalDepth(
-                                originalCircuitResultTrainingDataPoint.getOriginalDepth());
-                            originalCircuitAndQpuMetricsPriorCircuit.setOriginalWidth(
-                                originalCircuitResultTrainingDataPoint.getOriginalWidth());
-                            originalCircuitAndQpuMetricsPriorCircuit.setOriginalMultiQubitGateDepth(
-                                originalCircuitResultTrainingDataPoint.getOriginalMultiQubitGateDepth());
-                            originalCircuitAndQpuMetricsPriorCircuit.setOriginalNumberOfMeasurementOperations(
-                                originalCircuitResultTrainingDataPoint.getOriginalNumberOfMeasurementOperations());
-                            originalCircuitAndQpuMetricsPriorCircuit.setOriginalNumberOfMultiQubitGates(
-                                originalCircuitResultTrainingDataPoint.getOriginalNumberOfMultiQubitGates());
-                            originalCircuitAndQpuMetricsPriorCircuit.setOriginalNumberOfSingleQubitGates(
-                                originalCircuitResultTrainingDataPoint.getOriginalNumberOfSingleQubitGates());
-                            originalCircuitAndQpuMetricsPriorCircuit.setOriginalTotalNumberOfOperations(
-                                originalCircuitResultTrainingDataPoint.getOriginalTotalNumberOfOperations());
-                            originalCircuitAndQpuMetricsPriorCircuit.setT1(qpuSelectionResult.getT1());
-                            originalCircuitAndQpuMetricsPriorCircuit.setT2(qpuSelectionResult.getT2());
-                            originalCircuitAndQpuMetricsPriorCircuit.setAvgSingleQubitGateError(
-                                qpuSelectionResult.getAvgSingleQubitGateError());
-                            originalCircuitAndQpuMetricsPriorCircuit.setAvgMultiQubitGateError(
-                                qpuSelectionResult.getAvgMultiQubitGateError());
-                            originalCircuitAndQpuMetricsPriorCircuit.setAvgSingleQubitGateTime(
-                                qpuSelectionResult.getAvgSingleQubitGateTime());
-                            originalCircuitAndQpuMetricsPriorCircuit.setAvgMultiQubitGateTime(
-                                qpuSelectionResult.getAvgMultiQubitGateTime());
-                            originalCircuitAndQpuMetricsPriorCircuit.setAvgReadoutError(
-                                qpuSelectionResult.getAvgReadoutError());
-                            originalCircuitAndQpuMetricsPriorCircuit.setQpu(qpuSelectionResult.getQpu());
-                            originalCircuitAndQpuMetricsPriorCircuit.setCompiler(qpuSelectionResult.getCompiler());
-                            originalCircuitAndQpuMetricsPriorCircuit.setHistogramIntersection(
-                                (float) executionResult.getHistogramIntersectionValue());
-
-                            originalCircuitAndQpuMetricsList.add(originalCircuitAndQpuMetricsPriorCircuit);
-                        }
-                    }
-                }
-            });
-            if (originalCircuitAndQpuMetricsList.size() > 0) {
-                trainingData.setOriginalCircuitAndQpuMetrics(originalCircuitAndQpuMetricsList);
-                trainingDataList.add(trainingData);
-            }
-        });
+        // collect training data materialized from the prior QPU selection jobs
+        List<TrainingData> trainingDataList = trainingSampleService.getTrainingData();
 
         preSelectionPredictionRequest.setTrainingData(trainingDataList);
 
@@ -250,68 +178,39 @@ public class PrioritizationService {
 
         List<String> qpuSelectionResultIdList = new ArrayList<>();
 
-        // send request
-        RestTemplate restTemplate = new RestTemplate();
+        // send request and wait for the prediction, which is required to select the compiled circuits
         try {
-            URI resultLocationRedirect = restTemplate.postForLocation(
-                URI.create(String.format("http://%s:%d/plugins/es-optimizer@%s/prediction", hostname, port, version)),
-                preSelectionPredictionRequest);
-
-            if (resultLocationRedirect != null) {
-                PrioritizationServiceResultLocationResponse prioritizationServiceResultLocationResponse =
-                    restTemplate.getForObject(resultLocationRedirect,
-                        PrioritizationServiceResultLocationResponse.class);
-
-                while (!prioritizationServiceResultLocationResponse.getLog().equalsIgnoreCase("finished")) {
-                    // Wait for next poll
-                    try {
-                        if (prioritizationServiceResultLocationResponse.getStatus().equalsIgnoreCase("FAILURE")) {
-                            break;
-                        }
-                        Thread.sleep(5000);
-                    } catch (InterruptedException e) {
-                        // pass
-                    }
-                    prioritizationServiceResultLocationResponse = restTemplate.getForObject(resultLocationRedirect,
-                        PrioritizationServiceResultLocationResponse.class);
-                }
-
-                try {
-                    if (prioritizationServiceResultLocationResponse.getStatus().equalsIgnoreCase("success")) {
-                        PredictionResultResponse predictionResultResponse = restTemplate.getForObject(
-                            URI.create(prioritizationServiceResultLocationResponse.getOutputs().get(0).getHref()),
-                            PredictionResultResponse.class);
-
-                        if (predictionResultResponse != null) {
-                            //store predicted histogram intersection values
-                            predictionResultResponse.getPredictedHistogramIntersections().forEach((id, value) -> {
-                                Optional<QpuSelectionResult> qpuSelectionResultOptional =
-                                    qpuSelectionResultRepository.findById(UUID.fromString(id));
-                                if (qpuSelectionResultOptional.isPresent()) {
-                                    QpuSelectionResult qpuSelectionResult = qpuSelectionResultOptional.get();
-                                    qpuSelectionResult.setPredictedHistogramIntersectionValue(value);
-                                    qpuSelectionResult = qpuSelectionResultRepository.save(qpuSelectionResult);
-
-                                    qpuSelectionResultIdList.add(qpuSelectionResult.getId().toString());
-                                }
-                            });
-                            if (shortWaitingTimesPreference && queueImportanceRatio > 0) {
-                                qpuSelectionResultIdList.sort(
-                                    Comparator.comparingInt(predictionResultResponse.getBordaCountRanking()::indexOf));
-                                return qpuSelectionResultIdList;
-                            } else {
-                                qpuSelectionResultIdList.sort(
-                                    Comparator.comparingInt(predictionResultResponse.getRanking()::indexOf));
-                                return qpuSelectionResultIdList;
-                            }
-                        }
+            PrioritizationServiceResultLocationResponse response =
+                prioritizationServiceClient.execute("prediction", preSelectionPredictionRequest).join();
+            PredictionResultResponse predictionResultResponse =
+                prioritizationServiceClient.getOutput(response, 0, PredictionResultResponse.class);
+
+            if (predictionResultResponse != null) {
+                //store predicted histogram intersection values
+                predictionResultResponse.getPredictedHistogramIntersections().forEach((id, value) -> {
+                    Optional<QpuSelectionResult> qpuSelectionResultOptional =
+                        qpuSelectionResultRepository.findById(UUID.fromString(id));
+                    if (qpuSelectionResultOptional.isPresent()) {
+                        QpuSelectionResult qpuSelectionResult = qpuSelectionResultOptional.get();
+                        qpuSelectionResult.setPredictedHistogramIntersectionValue(value);
+                        qpuSelectionResult = qpuSelectionResultRepository.save(qpuSelectionResult);
+
+                        qpuSelectionResultIdList.add(qpuSelectionResult.getId().toString());
                     }
-                } catch (RestClientException e) {
-                    LOG.error("Cannot get prediction from Prioritization Service.");
+                });
+                if (shortWaitingTimesPreference && queueImportanceRatio > 0) {
+                    qpuSelectionResultIdList.sort(
+                        Comparator.comparingInt(predictionResultResponse.getBordaCountRanking()::indexOf));
+                    return qpuSelectionResultIdList;
+                } else {
+                    qpuSelectionResultIdList.sort(
+                        Comparator.comparingInt(predictionResultResponse.getRanking()::indexOf));
+                    return qpuSelectionResultIdList;
                 }
             }
-        } catch (RestClientException e) {
-            LOG.error("Connection to Prioritization Service failed.");
+        } catch (CompletionException | RestClientException e) {
+            LOG.error("Cannot get prediction from Prioritization Service: {}",
+                PrioritizationServiceClient.getErrorMessage(e));
         }
         return null;
     }
@@ -388,72 +287,64 @@ public class PrioritizationService {
             new McdaRankRestRequest(mcdaMethodName, metricWeights, bordaCountMetrics, mcdaJob.getBordaCountWeights(),
                 circuits);
 
-        RestTemplate restTemplate = new RestTemplate();
-        try {
-            URI resultLocationRedirect = restTemplate.postForLocation(
-                URI.create(String.format("http://%s:%d/plugins/es-optimizer@%s/rank", hostname, port, version)),
-                request);
-
-            if (resultLocationRedirect != null) {
-                PrioritizationServiceResultLocationResponse prioritizationServiceResultLocationResponse =
-                    restTemplate.getForObject(resultLocationRedirect,
-                        PrioritizationServiceResultLocationResponse.class);
-
-                while (!prioritizationServiceResultLocationResponse.getLog().equalsIgnoreCase("finished")) {
-                    // Wait for next poll
-                    try {
-                        Thread.sleep(5000);
-                    } catch (InterruptedException e) {
-                        // pass
-                    }
-                    prioritizationServiceResultLocationResponse = restTemplate.getForObject(resultLocationRedirect,
-                        PrioritizationServiceResultLocationResponse.class);
-                }
+        // rank in-process if possible to avoid the round trips to the prioritization service
+        if (localMcdaRanking && LocalMcdaRanking.supports(mcdaMethodName)) {
+            LOG.debug("Ranking {} alternatives locally with {}", criteriaPerformancesList.size(), mcdaMethodName);
+            try {
+                storeRankResult(mcdaJob, LocalMcdaRanking.rank(request));
+            } catch (RuntimeException e) {
+                setJobToFailed(mcdaJob, "Local ranking with " + mcdaMethodName + " failed: " + e.getMessage());
+            }
+            return;
+        }
 
-                try {
-                    if (prioritizationServiceResultLocationResponse.getStatus().equalsIgnoreCase("success")) {
-                        RankResultResponse rankResultResponse = restTemplate.getForObject(
-                            URI.create(prioritizationServiceResultLocationResponse.getOutputs().get(0).getHref()),
-                            RankResultResponse.class);
-
-                        List<McdaResult> mcdaResultList = new ArrayList<>();
-                        if (mcdaJob.isUseBordaCount()) {
-                            rankResultResponse.getScores().forEach((id, score) -> {
-                                McdaResult result = new McdaResult(UUID.fromString(id),
-                                    rankResultResponse.getBordaCountRanking().indexOf(id) + 1, (double) score);
-                                result = mcdaResultRepository.save(result);
-                                mcdaResultList.add(result);
-                            });
-                        } else {
-                            rankResultResponse.getScores().forEach((id, score) -> {
-                                McdaResult result =
-                                    new McdaResult(UUID.fromString(id), rankResultResponse.getRanking().indexOf(id) + 1,
-                                        (double) score);
-                                result = mcdaResultRepository.save(result);
-                                mcdaResultList.add(result);
-                            });
-                        }
-                        mcdaJob.setRankedResults(mcdaResultList);
-                        mcdaJob.setState(ExecutionResultStatus.FINISHED.toString());
-                        mcdaJob.setReady(true);
-                        mcdaJobRepository.save(mcdaJob);
-                    }
-                } catch (RestClientException e) {
-                    setJobToFailed(mcdaJob, "Cannot get ranking result from Prioritization Service.");
-                }
+        // the task is polled on the shared scheduler while the calling job thread waits, so that the output is
+        // retrieved and stored on the job thread instead of the polling threads
+        try {
+            PrioritizationServiceResultLocationResponse response =
+                prioritizationServiceClient.execute("rank", request).join();
+            RankResultResponse rankResultResponse =
+                prioritizationServiceClient.getOutput(response, 0, RankResultResponse.class);
+            if (Objects.isNull(rankResultResponse)) {
+                setJobToFailed(mcdaJob, "Prioritization Service returned no ranking.");
+                return;
             }
-        } catch (RestClientException e) {
-            setJobToFailed(mcdaJob, "Connection to Prioritization Service failed.");
+            storeRankResult(mcdaJob, rankResultResponse);
+        } catch (RuntimeException e) {
+            setJobToFailed(mcdaJob,
+                "Ranking by Prioritization Service failed: " + PrioritizationServiceClient.getErrorMessage(e));
         }
     }
 
+    /**
+     * Apply the weights that were learned for the given MCDA and weight learning method on the current weight learning
+     * dataset, if available
+     *
+     * @param mcdaMethod           the MCDA method to apply the weights for
+     * @param weightLearningMethod the method used to learn the weights
+     * @return true if the weights were applied, false if weight learning is required as new execution results
+     * arrived or no weights were learned so far
+     */
+    public boolean applyMemoizedWeights(String mcdaMethod, String weightLearningMethod) {
+        Optional<Map<String, Float>> learnedWeights = getLearnedWeights(mcdaMethod, weightLearningMethod,
+            trainingSampleService.getWeightLearningDataset().getVersion());
+        learnedWeights.ifPresent(weights -> updateCriterionValues(mcdaMethod, weightLearningMethod, weights));
+        return learnedWeights.isPresent();
+    }
+
+    /**
+     * Learn the weights of the MCDA method of the given job based on the executed compiled circuits of prior QPU
+     * selection jobs, and update the job as soon as the weights are learned. Returns after the learned weights were
+     * applied or the job failed.
+     *
+     * @param mcdaWeightLearningJob the job to learn the weights for
+     */
     @Transactional
     public void learnWeights(McdaWeightLearningJob mcdaWeightLearningJob) {
         LOG.debug("Starting {} MCDA method and {} learning method to learn weights",
             mcdaWeightLearningJob.getMcdaMethod(), mcdaWeightLearningJob.getWeightLearningMethod());
         mcdaWeightLearningJob.setState(ExecutionResultStatus.RUNNING.toString());
         mcdaWeightLearningJobRepository.save(mcdaWeightLearningJob);
-        List<McdaCompiledCircuitJob> circuits = new ArrayList<>();
 
         //Fixme: also enable weight learning for Impl-QPU-Selection (Analysis)Results and Compiler-Comparison
         // (Compilation)Results.
@@ -461,59 +352,20 @@ public class PrioritizationService {
         //       unify different result models!
 
         // collect all QpuSelectionJobs with executed Results
-        qpuSelectionJobRepository.findAll().forEach(qpuSelectionJob -> {
-            McdaCompiledCircuitJob mcdaCompiledCircuitJob = new McdaCompiledCircuitJob();
-            if (qpuSelectionJob.isReady() && qpuSelectionJob.getJobResults().size() > 0) {
-                mcdaCompiledCircuitJob.setId(qpuSelectionJob.getId());
-                List<McdaCriteriaPerformances> compiledCircuits = new ArrayList<>();
-                qpuSelectionJob.getJobResults().forEach(qpuSelectionResult -> {
-                    List<ExecutionResult> executionResultList =
-                        executionResultRepository.findByQpuSelectionResult(qpuSelectionResult);
-                    Optional<ExecutionResult> executionResultOptional = executionResultList.stream().filter(
-                        exeResult -> exeResult.getShots() > 0 && exeResult.getHistogramIntersectionValue() > 0 &&
-                            exeResult.getStatus().equals(ExecutionResultStatus.FINISHED)).findFirst();
-                    if (executionResultOptional.isPresent() && !qpuSelectionResult.getQpu()
-                        .contains("simulator")) {  // TODO: add a better check if the result is from a simulator
-                        ExecutionResult executionResult = executionResultOptional.get();
-                        McdaCriteriaPerformances mcdaCriteriaPerformances = new McdaCriteriaPerformances();
-                        mcdaCriteriaPerformances.setId(qpuSelectionResult.getId().toString());
-                        mcdaCriteriaPerformances.setHistogramIntersection(
-                            (float) executionResult.getHistogramIntersectionValue());
-                        mcdaCriteriaPerformances.setAnalyzedWidth(qpuSelectionResult.getAnalyzedWidth());
-                        mcdaCriteriaPerformances.setAnalyzedDepth(qpuSelectionResult.getAnalyzedDepth());
-                        mcdaCriteriaPerformances.setAnalyzedMultiQubitGateDepth(
-                            qpuSelectionResult.getAnalyzedMultiQubitGateDepth());
-                        mcdaCriteriaPerformances.setAnalyzedTotalNumberOfOperations(
-                            qpuSelectionResult.getAnalyzedTotalNumberOfOperations());
-                        mcdaCriteriaPerformances.setAnalyzedNumberOfSingleQubitGates(
-                            qpuSelectionResult.getAnalyzedNumberOfSingleQubitGates());
-                        mcdaCriteriaPerformances.setAnalyzedNumberOfMultiQubitGates(
-                            qpuSelectionResult.getAnalyzedNumberOfMultiQubitGates());
-                        mcdaCriteriaPerformances.setAnalyzedNumberOfMeasurementOperations(
-                            qpuSelectionResult.getAnalyzedNumberOfMeasurementOperations());
-                        mcdaCriteriaPerformances.setAvgSingleQubitGateError(
-                            qpuSelectionResult.getAvgSingleQubitGateError());
-                        mcdaCriteriaPerformances.setAvgMultiQubitGateError(
-                            qpuSelectionResult.getAvgMultiQubitGateError());
-                        mcdaCriteriaPerformances.setAvgSingleQubitGateTime(
-                            qpuSelectionResult.getAvgSingleQubitGateTime());
-                        mcdaCriteriaPerformances.setAvgMultiQubitGateTime(
-                            qpuSelectionResult.getAvgMultiQubitGateTime());
-                        mcdaCriteriaPerformances.setAvgReadoutError(qpuSelectionResult.getAvgReadoutError());
-                        mcdaCriteriaPerformances.setT1(qpuSelectionResult.getT1());
-                        mcdaCriteriaPerformances.setT2(qpuSelectionResult.getT2());
-
-                        compiledCircuits.add(mcdaCriteriaPerformances);
-                    }
-                });
-
-                if (compiledCircuits.size() >
-                    1) {  // a minimum of 2 compiled circuits are required, otherwise ranking doesn't work
-                    mcdaCompiledCircuitJob.setCompiledCircuits(compiledCircuits);
-                    circuits.add(mcdaCompiledCircuitJob);
-                }
-            }
-        });
+        WeightLearningDataset dataset = trainingSampleService.getWeightLearningDataset();
+        List<McdaCompiledCircuitJob> circuits = dataset.getCircuits();
+        mcdaWeightLearningJob.setDatasetVersion(dataset.getVersion());
+
+        // reuse the weights learned on the same dataset instead of learning them again
+        Optional<Map<String, Float>> memoizedWeights =
+            getLearnedWeights(mcdaWeightLearningJob.getMcdaMethod(), mcdaWeightLearningJob.getWeightLearningMethod(),
+                dataset.getVersion());
+        if (memoizedWeights.isPresent()) {
+            LOG.debug("Dataset {} is unchanged since the last weight learning, reusing the learned weights",
+                dataset.getVersion());
+            applyLearnedWeights(mcdaWeightLearningJob, new HashMap<>(memoizedWeights.get()));
+            return;
+        }
 
         CriteriaValues criteriaValues = new CriteriaValues();
         Map<String, McdaCriterionWeight> metricWeights = new HashMap<>();
@@ -552,78 +404,29 @@ public class PrioritizationService {
         LOG.debug("Using {} jobs to learn weights", circuits.size());
         mcdaWeightLearningRequest.setMetricWeights(metricWeights);
 
-        RestTemplate restTemplate = new RestTemplate();
+        ParameterizedTypeReference<HashMap<String, WeightLearningResponse>> responseType =
+            new ParameterizedTypeReference<HashMap<String, WeightLearningResponse>>() {
+            };
         try {
-            URI resultLocationRedirect = restTemplate.postForLocation(URI.create(
-                    String.format("http://%s:%d/plugins/es-optimizer@%s/learn-ranking", hostname, port, version)),
-                mcdaWeightLearningRequest);
-
-            if (resultLocationRedirect != null) {
-                PrioritizationServiceResultLocationResponse prioritizationServiceResultLocationResponse =
-                    restTemplate.getForObject(resultLocationRedirect,
-                        PrioritizationServiceResultLocationResponse.class);
-
-                while (!prioritizationServiceResultLocationResponse.getLog().equalsIgnoreCase("finished") &&
-                    !prioritizationServiceResultLocationResponse.getStatus().equalsIgnoreCase("failure")) {
-                    // Wait for next poll
-                    try {
-                        Thread.sleep(10000);
-                    } catch (InterruptedException e) {
-                        // pass
-                    }
-                    prioritizationServiceResultLocationResponse = restTemplate.getForObject(resultLocationRedirect,
-                        PrioritizationServiceResultLocationResponse.class);
-                }
-
-                try {
-                    if (prioritizationServiceResultLocationResponse.getStatus().equalsIgnoreCase("success")) {
-                        ParameterizedTypeReference<HashMap<String, WeightLearningResponse>> responseType =
-                            new ParameterizedTypeReference<HashMap<String, WeightLearningResponse>>() {
-                            };
-
-                        RequestEntity<Void> request = RequestEntity.get(
-                                URI.create(prioritizationServiceResultLocationResponse.getOutputs().get(0).getHref()))
-                            .build();
-
-                        Map<String, WeightLearningResponse> learnedWeightsResponse =
-                            restTemplate.exchange(request, responseType).getBody();
-
-                        learnedWeightsResponse.forEach((String criterion, WeightLearningResponse weight) -> {
-                            // find existing entity that should be updated
-                            Optional<Criterion> mcdaCriterionOptional = xmcdaRepository.findByCriterionName(criterion);
-
-                            Criterion mcdaCrition = mcdaCriterionOptional.get();
-
-                            Optional<CriterionValue> mcdaCriterionValueOptional =
-                                xmcdaRepository.findByCriterionIdAndMethod(mcdaCrition.getId(),
-                                    mcdaWeightLearningJob.getMcdaMethod());
-
-                            CriterionValue criterionValue = mcdaCriterionValueOptional.get();
-                            Value value = (Value) criterionValue.getValueOrValues().get(0);
-                            LOG.debug("Previous weight of {} ({}) for {}: {}", criterion, mcdaCrition.getId(),
-                                mcdaWeightLearningJob.getMcdaMethod(), value.getReal());
-                            value.setReal((double) weight.getNormalizedWeight());
-                            LOG.debug("Updated weight of {} ({}) for {} using {}: {}", criterion, mcdaCrition.getId(),
-                                mcdaWeightLearningJob.getMcdaMethod(), mcdaWeightLearningJob.getWeightLearningMethod(),
-                                value.getReal());
-                            xmcdaRepository.updateCriterionValue(criterionValue);
-                        });
-
-                        mcdaWeightLearningJob.setState(ExecutionResultStatus.FINISHED.toString());
-                        mcdaWeightLearningJob.setReady(true);
-                        mcdaWeightLearningJobRepository.save(mcdaWeightLearningJob);
-                    } else {
-                        mcdaWeightLearningJob.setState(ExecutionResultStatus.FAILED.toString());
-                        mcdaWeightLearningJob.setReady(true);
-                        mcdaWeightLearningJobRepository.save(mcdaWeightLearningJob);
-                    }
-                } catch (RestClientException e) {
-                    setWeightLearningJobToFailed(mcdaWeightLearningJob,
-                        "Cannot get weight learning result from Prioritization Service.");
-                }
+            PrioritizationServiceResultLocationResponse response =
+                prioritizationServiceClient.execute("learn-ranking", mcdaWeightLearningRequest).join();
+            HashMap<String, WeightLearningResponse> learnedWeightsResponse =
+                prioritizationServiceClient.getOutput(response, 0, responseType);
+            if (Objects.isNull(learnedWeightsResponse)) {
+                setWeightLearningJobToFailed(mcdaWeightLearningJob, "Prioritization Service returned no weights.");
+                return;
             }
-        } catch (RestClientException e) {
-            setWeightLearningJobToFailed(mcdaWeightLearningJob, "Connection to Prioritization Service failed.");
+
+            Map<String, Float> learnedWeights = new HashMap<>();
+            learnedWeightsResponse.forEach((String criterion, WeightLearningResponse weight) ->
+                learnedWeights.put(criterion, weight.getNormalizedWeight()));
+            applyLearnedWeights(mcdaWeightLearningJob, learnedWeights);
+            learnedWeightsCache.put(getLearnedWeightsKey(mcdaWeightLearningJob.getMcdaMethod(),
+                    mcdaWeightLearningJob.getWeightLearningMethod()),
+                new LearnedWeights(dataset.getVersion(), Collections.unmodifiableMap(learnedWeights)));
+        } catch (RuntimeException e) {
+            setWeightLearningJobToFailed(mcdaWeightLearningJob, "Weight learning by Prioritization Service " +
+                "failed: " + PrioritizationServiceClient.getErrorMessage(e));
         }
     }
 
@@ -756,83 +559,134 @@ public class PrioritizationService {
         request.setBordaCountWeights(mcdaSensitivityAnalysisJob.getBordaCountWeights());
         request.setCircuits(circuits);
 
-        RestTemplate restTemplate = new RestTemplate();
+        List<McdaCriteriaPerformances> compiledCircuitsCopy = compiledCircuits;
         try {
-            URI resultLocationRedirect = restTemplate.postForLocation(URI.create(
-                    String.format("http://%s:%d/plugins/es-optimizer@%s/rank-sensitivity", hostname, port, version)),
-                request);
-
-            if (resultLocationRedirect != null) {
-                PrioritizationServiceResultLocationResponse prioritizationServiceResultLocationResponse =
-                    restTemplate.getForObject(resultLocationRedirect,
-                        PrioritizationServiceResultLocationResponse.class);
-
-                while (!prioritizationServiceResultLocationResponse.getLog().equalsIgnoreCase("finished")) {
-                    // Wait for next poll
-                    try {
-                        Thread.sleep(10000);
-                    } catch (InterruptedException e) {
-                        // pass
-                    }
-                    prioritizationServiceResultLocationResponse = restTemplate.getForObject(resultLocationRedirect,
-                        PrioritizationServiceResultLocationResponse.class);
-                }
-
-                try {
-                    if (prioritizationServiceResultLocationResponse.getStatus().equalsIgnoreCase("success")) {
-                        //get location where html plot is stored
-                        String plotFileLocation =
-                            prioritizationServiceResultLocationResponse.getOutputs().get(1).getHref();
-                        //FIXME
-                        plotFileLocation = plotFileLocation.replaceFirst("qhana-plugin-runner:8080", "localhost:5005");
-                        mcdaSensitivityAnalysisJob.setPlotFileLocation(plotFileLocation);
-
-                        //get location where sensitivity analysis result is stored
-                        SensitivityAnalysisResultResponse sensitivityAnalysisResultResponse = restTemplate.getForObject(
-                            URI.create(prioritizationServiceResultLocationResponse.getOutputs().get(0).getHref()),
-                            SensitivityAnalysisResultResponse.class);
-
-                        List<McdaResult> mcdaResultList = new ArrayList<>();
-
-                        List<McdaCriteriaPerformances> compiledCircuitsCopy = compiledCircuits;
-                        if (mcdaSensitivityAnalysisJob.isUseBordaCount()) {
-                            compiledCircuits.forEach(circuit -> {
-                                McdaResult result = new McdaResult(UUID.fromString(circuit.getId()),
-                                    sensitivityAnalysisResultResponse.getOriginalBordaCountRanking()
-                                        .get(compiledCircuitsCopy.indexOf(circuit)) + 1,
-                                    sensitivityAnalysisResultResponse.getOriginalScores()
-                                        .get(compiledCircuitsCopy.indexOf(circuit)));
-                                result = mcdaResultRepository.save(result);
-                                mcdaResultList.add(result);
-                            });
-                        } else {
-                            compiledCircuits.forEach(circuit -> {
-                                McdaResult result = new McdaResult(UUID.fromString(circuit.getId()),
-                                    sensitivityAnalysisResultResponse.getOriginalRanking()
-                                        .get(compiledCircuitsCopy.indexOf(circuit)) + 1,
-                                    sensitivityAnalysisResultResponse.getOriginalScores()
-                                        .get(compiledCircuitsCopy.indexOf(circuit)));
-                                result = mcdaResultRepository.save(result);
-                                mcdaResultList.add(result);
-                            });
-                        }
-
-                        mcdaSensitivityAnalysisJob.setOriginalRanking(mcdaResultList);
-                        mcdaSensitivityAnalysisJob.setState(ExecutionResultStatus.FINISHED.toString());
-                        mcdaSensitivityAnalysisJob.setReady(true);
-                        mcdaSensitivityAnalysisJobRepository.save(mcdaSensitivityAnalysisJob);
-                    }
-                } catch (RestClientException e) {
-                    setSensitivityAnalysisJobToFailed(mcdaSensitivityAnalysisJob,
-                        "Cannot get sensitivity analysis result from Prioritization Service.");
-                }
+            PrioritizationServiceResultLocationResponse response =
+                prioritizationServiceClient.execute("rank-sensitivity", request).join();
+            //get location where html plot is stored
+            String plotFileLocation = response.getOutputs().get(1).getHref();
+            //FIXME
+            plotFileLocation = plotFileLocation.replaceFirst("qhana-plugin-runner:8080", "localhost:5005");
+            mcdaSensitivityAnalysisJob.setPlotFileLocation(plotFileLocation);
+
+            //get location where sensitivity analysis result is stored
+            SensitivityAnalysisResultResponse sensitivityAnalysisResultResponse =
+                prioritizationServiceClient.getOutput(response, 0, SensitivityAnalysisResultResponse.class);
+
+            List<McdaResult> mcdaResultList = new ArrayList<>();
+
+            if (mcdaSensitivityAnalysisJob.isUseBordaCount()) {
+                compiledCircuitsCopy.forEach(circuit -> {
+                    McdaResult result = new McdaResult(UUID.fromString(circuit.getId()),
+                        sensitivityAnalysisResultResponse.getOriginalBordaCountRanking()
+                            .get(compiledCircuitsCopy.indexOf(circuit)) + 1,
+                        sensitivityAnalysisResultResponse.getOriginalScores()
+                            .get(compiledCircuitsCopy.indexOf(circuit)));
+                    result = mcdaResultRepository.save(result);
+                    mcdaResultList.add(result);
+                });
+            } else {
+                compiledCircuitsCopy.forEach(circuit -> {
+                    McdaResult result = new McdaResult(UUID.fromString(circuit.getId()),
+                        sensitivityAnalysisResultResponse.getOriginalRanking()
+                            .get(compiledCircuitsCopy.indexOf(circuit)) + 1,
+                        sensitivityAnalysisResultResponse.getOriginalScores()
+                            .get(compiledCircuitsCopy.indexOf(circuit)));
+                    result = mcdaResultRepository.save(result);
+                    mcdaResultList.add(result);
+                });
             }
-        } catch (RestClientException e) {
+
+            mcdaSensitivityAnalysisJob.setOriginalRanking(mcdaResultList);
+            mcdaSensitivityAnalysisJob.setState(ExecutionResultStatus.FINISHED.toString());
+            mcdaSensitivityAnalysisJob.setReady(true);
+            mcdaSensitivityAnalysisJobRepository.save(mcdaSensitivityAnalysisJob);
+        } catch (RuntimeException e) {
             setSensitivityAnalysisJobToFailed(mcdaSensitivityAnalysisJob,
-                "Connection to Prioritization Service failed.");
+                "Sensitivity analysis by Prioritization Service failed: " +
+                    PrioritizationServiceClient.getErrorMessage(e));
         }
     }
 
+    private void storeRankResult(McdaJob mcdaJob, RankResultResponse rankResultResponse) {
+        List<McdaResult> mcdaResultList = new ArrayList<>();
+        if (mcdaJob.isUseBordaCount()) {
+            rankResultResponse.getScores().forEach((id, score) -> {
+                McdaResult result = new McdaResult(UUID.fromString(id),
+                    rankResultResponse.getBordaCountRanking().indexOf(id) + 1, (double) score);
+                result = mcdaResultRepository.save(result);
+                mcdaResultList.add(result);
+            });
+        } else {
+            rankResultResponse.getScores().forEach((id, score) -> {
+                McdaResult result =
+                    new McdaResult(UUID.fromString(id), rankResultResponse.getRanking().indexOf(id) + 1,
+                        (double) score);
+                result = mcdaResultRepository.save(result);
+                mcdaResultList.add(result);
+            });
+        }
+        mcdaJob.setRankedResults(mcdaResultList);
+        mcdaJob.setState(ExecutionResultStatus.FINISHED.toString());
+        mcdaJob.setReady(true);
+        mcdaJobRepository.save(mcdaJob);
+    }
+
+    private Optional<Map<String, Float>> getLearnedWeights(String mcdaMethod, String weightLearningMethod,
+                                                          String datasetVersion) {
+        String key = getLearnedWeightsKey(mcdaMethod, weightLearningMethod);
+        LearnedWeights learnedWeights = learnedWeightsCache.get(key);
+        if (Objects.nonNull(learnedWeights) && learnedWeights.datasetVersion.equals(datasetVersion)) {
+            return Optional.of(learnedWeights.weights);
+        }
+
+        // fall back to the weights stored by a previous weight learning job, e.g., after a restart
+        Optional<Map<String, Float>> storedWeights = mcdaWeightLearningJobRepository
+            .findByMcdaMethodAndWeightLearningMethodAndDatasetVersionAndStateOrderByTimeDesc(mcdaMethod,
+                weightLearningMethod, datasetVersion, ExecutionResultStatus.FINISHED.toString()).stream()
+            .map(McdaWeightLearningJob::getLearnedWeights)
+            .filter(weights -> Objects.nonNull(weights) && !weights.isEmpty()).findFirst()
+            .map(weights -> Collections.unmodifiableMap(new HashMap<>(weights)));
+        storedWeights.ifPresent(weights -> learnedWeightsCache.put(key, new LearnedWeights(datasetVersion, weights)));
+        return storedWeights;
+    }
+
+    private static String getLearnedWeightsKey(String mcdaMethod, String weightLearningMethod) {
+        return mcdaMethod + "/" + weightLearningMethod;
+    }
+
+    private void applyLearnedWeights(McdaWeightLearningJob mcdaWeightLearningJob, Map<String, Float> learnedWeights) {
+        updateCriterionValues(mcdaWeightLearningJob.getMcdaMethod(), mcdaWeightLearningJob.getWeightLearningMethod(),
+            learnedWeights);
+
+        mcdaWeightLearningJob.setLearnedWeights(learnedWeights);
+        mcdaWeightLearningJob.setState(ExecutionResultStatus.FINISHED.toString());
+        mcdaWeightLearningJob.setReady(true);
+        mcdaWeightLearningJobRepository.save(mcdaWeightLearningJob);
+    }
+
+    private void updateCriterionValues(String mcdaMethod, String weightLearningMethod,
+                                       Map<String, Float> learnedWeights) {
+        learnedWeights.forEach((criterion, weight) -> {
+            // find existing entity that should be updated
+            Optional<Criterion> mcdaCriterionOptional = xmcdaRepository.findByCriterionName(criterion);
+
+            Criterion mcdaCrition = mcdaCriterionOptional.get();
+
+            Optional<CriterionValue> mcdaCriterionValueOptional =
+                xmcdaRepository.findByCriterionIdAndMethod(mcdaCrition.getId(), mcdaMethod);
+
+            CriterionValue criterionValue = mcdaCriterionValueOptional.get();
+            Value value = (Value) criterionValue.getValueOrValues().get(0);
+            LOG.debug("Previous weight of {} ({}) for {}: {}", criterion, mcdaCrition.getId(), mcdaMethod,
+                value.getReal());
+            value.setReal((double) weight);
+            LOG.debug("Updated weight of {} ({}) for {} using {}: {}", criterion, mcdaCrition.getId(), mcdaMethod,
+                weightLearningMethod, value.getReal());
+            xmcdaRepository.updateCriterionValue(criterionValue);
+        });
+    }
+
     private void setJobToFailed(McdaJob mcdaJob, String errorMessage) {
         LOG.error(errorMessage);
         mcdaJob.setState(ExecutionResultStatus.FAILED.toString());
@@ -857,9 +711,10 @@ public class PrioritizationService {
 
     private List<McdaCriteriaPerformances> getCircuitResults(List<CircuitResult> results) {
         List<McdaCriteriaPerformances> mcdaCriteriaPerformancesList = new ArrayList<>();
+        Map<String, QpuQueueSize> queueSizes = queueSizeService.getQueueSizes(results);
 
         results.forEach(result -> {
-            int backendQueueSize = qProvService.getQueueSizeOfQpu(result.getQpu(), result.getProvider());
+            int backendQueueSize = QueueSizeService.getQueueSize(queueSizes, result);
 
             McdaCriteriaPerformances mcdaCriteriaPerformances = new McdaCriteriaPerformances();
             mcdaCriteriaPerformances.setId(result.getId().toString());
@@ -885,4 +740,19 @@ public class PrioritizationService {
         });
         return mcdaCriteriaPerformancesList;
     }
+
+    /**
+     * Weights learned for a MCDA method on a certain version of the weight learning dataset
+     */
+    private static class LearnedWeights {
+
+        private final String datasetVersion;
+
+        private final Map<String, Float> weights;
+
+        LearnedWeights(String datasetVersion, Map<String, Float> weights) {
+            this.datasetVersion = datasetVersion;
+            this.weights = weights;
+        }
+    }
 }
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.prioritization.restMcdaAndPrediction;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.planqk.nisq.analyzer.core.execution.PollingScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.RequestEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Asynchronous client for the es-optimizer plugin of the prioritization service. Tasks are started on the plugin and
+ * their state is polled on the shared {@link PollingScheduler}, starting with short intervals that are doubled after
+ * each poll, until the task finished or the deadline passed.
+ */
+@Service
+public class PrioritizationServiceClient {
+
+    final private static Logger LOG = LoggerFactory.getLogger(PrioritizationServiceClient.class);
+
+    private final RestTemplate restTemplate;
+
+    private final PollingScheduler pollingScheduler;
+
+    private final String pluginUrl;
+
+    private final long initialPollInterval;
+
+    private final long maxPollInterval;
+
+    private final long timeout;
+
+    public PrioritizationServiceClient(PollingScheduler pollingScheduler, RestTemplate restTemplate,
+                                       @Value("${org.planqk.nisq.analyzer.prioritization.hostname}") String hostname,
+                                       @Value("${org.planqk.nisq.analyzer.prioritization.port}") int port,
+                                       @Value("${org.planqk.nisq.analyzer.prioritization.version}") String version,
+                                       @Value("${org.planqk.nisq.analyzer.prioritization.pollInterval.initial:200}")
+                                           long initialPollInterval,
+                                       @Value("${org.planqk.nisq.analyzer.prioritization.pollInterval.max:10000}")
+                                           long maxPollInterval,
+                                       @Value("${org.planqk.nisq.analyzer.prioritization.timeout:1800000}")
+                                           long timeout) {
+        this.pollingScheduler = pollingScheduler;
+        this.restTemplate = restTemplate;
+        this.pluginUrl = String.format("http://%s:%d/plugins/es-optimizer@%s/", hostname, port, version);
+        this.initialPollInterval = initialPollInterval;
+        this.maxPollInterval = maxPollInterval;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Start a task on the given endpoint of the es-optimizer plugin and poll its state until it finished
+     *
+     * @param endpoint the endpoint of the plugin, e.g., rank or learn-ranking
+     * @param request  the request to send to the endpoint
+     * @return the future that is completed with the state of the successfully finished task, or exceptionally if the
+     * task could not be started, failed, or did not finish before the deadline
+     */
+    public CompletableFuture<PrioritizationServiceResultLocationResponse> execute(String endpoint, Object request) {
+        URI resultLocation;
+        try {
+            resultLocation = restTemplate.postForLocation(URI.create(pluginUrl + endpoint), request);
+        } catch (RestClientException e) {
+            return failedFuture(e);
+        }
+        if (Objects.isNull(resultLocation)) {
+            return failedFuture(new RestClientException("Prioritization Service returned no result location."));
+        }
+
+        LOG.debug("Polling {} task of Prioritization Service at {}", endpoint, resultLocation);
+        return pollingScheduler.poll(() -> {
+            PrioritizationServiceResultLocationResponse response =
+                restTemplate.getForObject(resultLocation, PrioritizationServiceResultLocationResponse.class);
+            if (Objects.isNull(response)) {
+                return null;
+            }
+            if ("failure".equalsIgnoreCase(response.getStatus())) {
+                throw new RestClientException("Task of Prioritization Service failed: " + response.getLog());
+            }
+            return "finished".equalsIgnoreCase(response.getLog()) ? response : null;
+        }, initialPollInterval, maxPollInterval, timeout).thenApply(response -> {
+            if (!"success".equalsIgnoreCase(response.getStatus())) {
+                throw new RestClientException("Task of Prioritization Service finished with status " +
+                    response.getStatus());
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Retrieve an output of a finished task
+     *
+     * @param response the state of the finished task
+     * @param index    the index of the output to retrieve
+     * @param type     the type of the output
+     * @param <T>      the type of the output
+     * @return the retrieved output
+     */
+    public <T> T getOutput(PrioritizationServiceResultLocationResponse response, int index, Class<T> type) {
+        return restTemplate.getForObject(URI.create(response.getOutputs().get(index).getHref()), type);
+    }
+
+    /**
+     * Retrieve an output of a finished task with a generic type
+     *
+     * @param response the state of the finished task
+     * @param index    the index of the output to retrieve
+     * @param type     the type reference of the output
+     * @param <T>      the type of the output
+     * @return the retrieved output
+     */
+    public <T> T getOutput(PrioritizationServiceResultLocationResponse response, int index,
+                           ParameterizedTypeReference<T> type) {
+        RequestEntity<Void> request = RequestEntity.get(URI.create(response.getOutputs().get(index).getHref())).build();
+        return restTemplate.exchange(request, type).getBody();
+    }
+
+    /**
+     * Get the message of the error a task failed with
+     *
+     * @param e the exception a future of this client was completed with
+     * @return the message of the underlying error
+     */
+    public static String getErrorMessage(Throwable e) {
+        Throwable cause = e instanceof CompletionException && Objects.nonNull(e.getCause()) ? e.getCause() : e;
+        return cause.getMessage();
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(Throwable e) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+}
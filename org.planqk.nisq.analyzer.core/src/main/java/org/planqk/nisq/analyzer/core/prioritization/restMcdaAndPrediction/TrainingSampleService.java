@@ -0,0 +1,293 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.prioritization.restMcdaAndPrediction;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+import org.planqk.nisq.analyzer.core.model.ExecutionResult;
+import org.planqk.nisq.analyzer.core.model.ExecutionResultStatus;
+import org.planqk.nisq.analyzer.core.model.OriginalCircuitResult;
+import org.planqk.nisq.analyzer.core.model.QpuSelectionResult;
+import org.planqk.nisq.analyzer.core.model.TrainingSample;
+import org.planqk.nisq.analyzer.core.prioritization.restMcdaAndPrediction.preSelectionModel.OriginalCircuitAndQpuMetrics;
+import org.planqk.nisq.analyzer.core.prioritization.restMcdaAndPrediction.preSelectionModel.TrainingData;
+import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
+import org.planqk.nisq.analyzer.core.repository.OriginalCircuitResultRepository;
+import org.planqk.nisq.analyzer.core.repository.QpuSelectionJobRepository;
+import org.planqk.nisq.analyzer.core.repository.TrainingSampleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Service maintaining the executed compiled circuits of prior QPU selection jobs. A sample is appended whenever the
+ * execution of a QPU selection result finishes with a valid histogram intersection, so that the training data for the
+ * prediction of histogram intersections and the dataset to learn the weights of the MCDA methods are retrieved with a
+ * single query instead of traversing the complete job history. The weight learning dataset is versioned by a checksum
+ * of its samples, so that weight learning can be skipped if the dataset did not change.
+ */
+@Service
+@RequiredArgsConstructor
+public class TrainingSampleService {
+
+    final private static Logger LOG = LoggerFactory.getLogger(TrainingSampleService.class);
+
+    private final TrainingSampleRepository trainingSampleRepository;
+
+    private final OriginalCircuitResultRepository originalCircuitResultRepository;
+
+    private final QpuSelectionJobRepository qpuSelectionJobRepository;
+
+    private final ExecutionResultRepository executionResultRepository;
+
+    // number of added samples, used to detect snapshots that became outdated while being loaded
+    private long modifications;
+
+    // snapshot of the weight learning dataset, reset whenever a new sample is added
+    private volatile WeightLearningDataset weightLearningDataset;
+
+    /**
+     * Store a sample for the given execution if it finished with a valid histogram intersection
+     *
+     * @param executionResult    the finished execution result
+     * @param qpuSelectionResult the QPU selection result that was executed
+     */
+    public void addExecutionResult(ExecutionResult executionResult, QpuSelectionResult qpuSelectionResult) {
+        if (!isSample(executionResult, qpuSelectionResult) ||
+            trainingSampleRepository.existsByQpuSelectionResultId(qpuSelectionResult.getId())) {
+            return;
+        }
+
+        // the original circuit is only required as training data for the prediction service
+        OriginalCircuitResult originalCircuitResult =
+            Optional.ofNullable(qpuSelectionResult.getOriginalCircuitResultId())
+                .flatMap(originalCircuitResultRepository::findById).orElse(null);
+        try {
+            trainingSampleRepository.save(
+                createTrainingSample(originalCircuitResult, qpuSelectionResult, executionResult));
+            synchronized (this) {
+                modifications++;
+                weightLearningDataset = null;
+            }
+        } catch (DataIntegrityViolationException e) {
+            // another execution of the same QPU selection result was stored concurrently
+            LOG.debug("Training sample for QPU selection result {} already exists.", qpuSelectionResult.getId());
+        }
+    }
+
+    /**
+     * Get all stored samples of analyzed original circuits grouped by the QPU selection job they belong to
+     *
+     * @return the training data for the prediction service
+     */
+    public List<TrainingData> getTrainingData() {
+        Map<UUID, List<OriginalCircuitAndQpuMetrics>> metricsByJob = new LinkedHashMap<>();
+        trainingSampleRepository.findAll().stream()
+            .filter(trainingSample -> Objects.nonNull(trainingSample.getOriginalCircuitResultId()) &&
+                trainingSample.getHistogramIntersection() < 1)
+            .forEach(trainingSample -> metricsByJob
+                .computeIfAbsent(trainingSample.getQpuSelectionJobId(), id -> new ArrayList<>())
+                .add(toOriginalCircuitAndQpuMetrics(trainingSample)));
+
+        List<TrainingData> trainingDataList = new ArrayList<>();
+        metricsByJob.forEach((jobId, originalCircuitAndQpuMetrics) -> {
+            TrainingData trainingData = new TrainingData();
+            trainingData.setId(jobId.toString());
+            trainingData.setOriginalCircuitAndQpuMetrics(originalCircuitAndQpuMetrics);
+            trainingDataList.add(trainingData);
+        });
+        return trainingDataList;
+    }
+
+    /**
+     * Get the current weight learning dataset containing all jobs with at least two executed compiled circuits
+     *
+     * @return the dataset and its version
+     */
+    public WeightLearningDataset getWeightLearningDataset() {
+        WeightLearningDataset current = weightLearningDataset;
+        if (Objects.isNull(current)) {
+            long modificationCount;
+            synchronized (this) {
+                modificationCount = modifications;
+            }
+            current = loadWeightLearningDataset();
+            synchronized (this) {
+                if (modificationCount == modifications) {
+                    weightLearningDataset = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Fill the samples from the stored execution results once if no samples were recorded so far, e.g., after
+     * upgrading from a version without materialized training data
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeTrainingSamples() {
+        if (trainingSampleRepository.count() > 0) {
+            return;
+        }
+
+        LOG.debug("Initializing training samples from prior QPU selection jobs...");
+        qpuSelectionJobRepository.findAll().forEach(qpuSelectionJob -> qpuSelectionJob.getJobResults()
+            .forEach(qpuSelectionResult -> executionResultRepository.findByQpuSelectionResult(qpuSelectionResult)
+                .stream().filter(executionResult -> isSample(executionResult, qpuSelectionResult))
+                .findFirst().ifPresent(executionResult -> addExecutionResult(executionResult, qpuSelectionResult))));
+        LOG.debug("Initialized {} training samples.", trainingSampleRepository.count());
+    }
+
+    private WeightLearningDataset loadWeightLearningDataset() {
+        Map<UUID, List<McdaCriteriaPerformances>> compiledCircuitsByJob = new LinkedHashMap<>();
+        CRC32 checksum = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(20);
+
+        List<TrainingSample> samples = trainingSampleRepository.findAll(Sort.by("qpuSelectionResultId"));
+        samples.forEach(sample -> {
+            compiledCircuitsByJob.computeIfAbsent(sample.getQpuSelectionJobId(), id -> new ArrayList<>())
+                .add(toMcdaCriteriaPerformances(sample));
+
+            buffer.clear();
+            buffer.putLong(sample.getQpuSelectionResultId().getMostSignificantBits())
+                .putLong(sample.getQpuSelectionResultId().getLeastSignificantBits())
+                .putFloat(sample.getHistogramIntersection());
+            checksum.update(buffer.array());
+        });
+
+        List<McdaCompiledCircuitJob> circuits = new ArrayList<>();
+        compiledCircuitsByJob.forEach((jobId, compiledCircuits) -> {
+            // a minimum of 2 compiled circuits are required, otherwise ranking doesn't work
+            if (compiledCircuits.size() > 1) {
+                circuits.add(new McdaCompiledCircuitJob(jobId, compiledCircuits));
+            }
+        });
+        return new WeightLearningDataset(Collections.unmodifiableList(circuits),
+            samples.size() + "-" + Long.toHexString(checksum.getValue()));
+    }
+
+    private static boolean isSample(ExecutionResult executionResult, QpuSelectionResult qpuSelectionResult) {
+        // TODO: add a better check if the result is from a simulator
+        return !qpuSelectionResult.getQpu().contains("simulator") && executionResult.getShots() > 0 &&
+            executionResult.getHistogramIntersectionValue() > 0 &&
+            executionResult.getStatus() == ExecutionResultStatus.FINISHED;
+    }
+
+    private static TrainingSample createTrainingSample(OriginalCircuitResult originalCircuitResult,
+                                                       QpuSelectionResult qpuSelectionResult,
+                                                       ExecutionResult executionResult) {
+        TrainingSample trainingSample = new TrainingSample();
+        trainingSample.setQpuSelectionJobId(qpuSelectionResult.getQpuSelectionJobId());
+        trainingSample.setQpuSelectionResultId(qpuSelectionResult.getId());
+        if (Objects.nonNull(originalCircuitResult)) {
+            trainingSample.setOriginalCircuitResultId(originalCircuitResult.getId());
+            trainingSample.setOriginalWidth(originalCircuitResult.getOriginalWidth());
+            trainingSample.setOriginalDepth(originalCircuitResult.getOriginalDepth());
+            trainingSample.setOriginalMultiQubitGateDepth(originalCircuitResult.getOriginalMultiQubitGateDepth());
+            trainingSample.setOriginalNumberOfSingleQubitGates(
+                originalCircuitResult.getOriginalNumberOfSingleQubitGates());
+            trainingSample.setOriginalNumberOfMultiQubitGates(
+                originalCircuitResult.getOriginalNumberOfMultiQubitGates());
+            trainingSample.setOriginalTotalNumberOfOperations(
+                originalCircuitResult.getOriginalTotalNumberOfOperations());
+            trainingSample.setOriginalNumberOfMeasurementOperations(
+                originalCircuitResult.getOriginalNumberOfMeasurementOperations());
+        }
+        trainingSample.setAnalyzedWidth(qpuSelectionResult.getAnalyzedWidth());
+        trainingSample.setAnalyzedDepth(qpuSelectionResult.getAnalyzedDepth());
+        trainingSample.setAnalyzedMultiQubitGateDepth(qpuSelectionResult.getAnalyzedMultiQubitGateDepth());
+        trainingSample.setAnalyzedTotalNumberOfOperations(qpuSelectionResult.getAnalyzedTotalNumberOfOperations());
+        trainingSample.setAnalyzedNumberOfSingleQubitGates(qpuSelectionResult.getAnalyzedNumberOfSingleQubitGates());
+        trainingSample.setAnalyzedNumberOfMultiQubitGates(qpuSelectionResult.getAnalyzedNumberOfMultiQubitGates());
+        trainingSample.setAnalyzedNumberOfMeasurementOperations(
+            qpuSelectionResult.getAnalyzedNumberOfMeasurementOperations());
+        trainingSample.setT1(qpuSelectionResult.getT1());
+        trainingSample.setT2(qpuSelectionResult.getT2());
+        trainingSample.setAvgReadoutError(qpuSelectionResult.getAvgReadoutError());
+        trainingSample.setAvgSingleQubitGateError(qpuSelectionResult.getAvgSingleQubitGateError());
+        trainingSample.setAvgMultiQubitGateError(qpuSelectionResult.getAvgMultiQubitGateError());
+        trainingSample.setAvgSingleQubitGateTime(qpuSelectionResult.getAvgSingleQubitGateTime());
+        trainingSample.setAvgMultiQubitGateTime(qpuSelectionResult.getAvgMultiQubitGateTime());
+        trainingSample.setQpu(qpuSelectionResult.getQpu());
+        trainingSample.setCompiler(qpuSelectionResult.getCompiler());
+        trainingSample.setHistogramIntersection((float) executionResult.getHistogramIntersectionValue());
+        return trainingSample;
+    }
+
+    private static OriginalCircuitAndQpuMetrics toOriginalCircuitAndQpuMetrics(TrainingSample trainingSample) {
+        OriginalCircuitAndQpuMetrics metrics = new OriginalCircuitAndQpuMetrics();
+        metrics.setId(trainingSample.getQpuSelectionResultId().toString());
+        metrics.setOriginalDepth(trainingSample.getOriginalDepth());
+        metrics.setOriginalWidth(trainingSample.getOriginalWidth());
+        metrics.setOriginalMultiQubitGateDepth(trainingSample.getOriginalMultiQubitGateDepth());
+        metrics.setOriginalNumberOfMeasurementOperations(trainingSample.getOriginalNumberOfMeasurementOperations());
+        metrics.setOriginalNumberOfMultiQubitGates(trainingSample.getOriginalNumberOfMultiQubitGates());
+        metrics.setOriginalNumberOfSingleQubitGates(trainingSample.getOriginalNumberOfSingleQubitGates());
+        metrics.setOriginalTotalNumberOfOperations(trainingSample.getOriginalTotalNumberOfOperations());
+        metrics.setT1(trainingSample.getT1());
+        metrics.setT2(trainingSample.getT2());
+        metrics.setAvgSingleQubitGateError(trainingSample.getAvgSingleQubitGateError());
+        metrics.setAvgMultiQubitGateError(trainingSample.getAvgMultiQubitGateError());
+        metrics.setAvgSingleQubitGateTime(trainingSample.getAvgSingleQubitGateTime());
+        metrics.setAvgMultiQubitGateTime(trainingSample.getAvgMultiQubitGateTime());
+        metrics.setAvgReadoutError(trainingSample.getAvgReadoutError());
+        metrics.setQpu(trainingSample.getQpu());
+        metrics.setCompiler(trainingSample.getCompiler());
+        metrics.setHistogramIntersection(trainingSample.getHistogramIntersection());
+        return metrics;
+    }
+
+    private static McdaCriteriaPerformances toMcdaCriteriaPerformances(TrainingSample sample) {
+        McdaCriteriaPerformances mcdaCriteriaPerformances = new McdaCriteriaPerformances();
+        mcdaCriteriaPerformances.setId(sample.getQpuSelectionResultId().toString());
+        mcdaCriteriaPerformances.setHistogramIntersection(sample.getHistogramIntersection());
+        mcdaCriteriaPerformances.setAnalyzedWidth(sample.getAnalyzedWidth());
+        mcdaCriteriaPerformances.setAnalyzedDepth(sample.getAnalyzedDepth());
+        mcdaCriteriaPerformances.setAnalyzedMultiQubitGateDepth(sample.getAnalyzedMultiQubitGateDepth());
+        mcdaCriteriaPerformances.setAnalyzedTotalNumberOfOperations(sample.getAnalyzedTotalNumberOfOperations());
+        mcdaCriteriaPerformances.setAnalyzedNumberOfSingleQubitGates(sample.getAnalyzedNumberOfSingleQubitGates());
+        mcdaCriteriaPerformances.setAnalyzedNumberOfMultiQubitGates(sample.getAnalyzedNumberOfMultiQubitGates());
+        mcdaCriteriaPerformances.setAnalyzedNumberOfMeasurementOperations(
+            sample.getAnalyzedNumberOfMeasurementOperations());
+        mcdaCriteriaPerformances.setAvgSingleQubitGateError(sample.getAvgSingleQubitGateError());
+        mcdaCriteriaPerformances.setAvgMultiQubitGateError(sample.getAvgMultiQubitGateError());
+        mcdaCriteriaPerformances.setAvgSingleQubitGateTime(sample.getAvgSingleQubitGateTime());
+        mcdaCriteriaPerformances.setAvgMultiQubitGateTime(sample.getAvgMultiQubitGateTime());
+        mcdaCriteriaPerformances.setAvgReadoutError(sample.getAvgReadoutError());
+        mcdaCriteriaPerformances.setT1(sample.getT1());
+        mcdaCriteriaPerformances.setT2(sample.getT2());
+        return mcdaCriteriaPerformances;
+    }
+}
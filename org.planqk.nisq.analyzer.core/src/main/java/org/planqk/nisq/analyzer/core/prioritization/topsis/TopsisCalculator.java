@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.prioritization.topsis;
+
+/**
+ * Calculation of the TOPSIS scores of alternatives using min-max normalization of the performances
+ */
+public final class TopsisCalculator {
+
+    private TopsisCalculator() {
+    }
+
+    /**
+     * Calculate the relative closeness of each alternative to the ideal solution
+     *
+     * @param performances the performances of the alternatives (rows) on the criteria (columns)
+     * @param weights      the weights of the criteria
+     * @param isCost       for each criterion, true if lower performances are better
+     * @return the scores of the alternatives between 0 and 1, higher scores are better
+     */
+    public static double[] calculateScores(double[][] performances, double[] weights, boolean[] isCost) {
+        int alternatives = performances.length;
+        int criteria = weights.length;
+        double[] normalizedWeights = normalize(weights);
+
+        // normalize the performances to [0, 1] with 1 being the best value and apply the weights
+        double[][] weighted = new double[alternatives][criteria];
+        for (int j = 0; j < criteria; j++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (double[] performance : performances) {
+                min = Math.min(min, performance[j]);
+                max = Math.max(max, performance[j]);
+            }
+            for (int i = 0; i < alternatives; i++) {
+                double normalized;
+                if (max == min) {
+                    normalized = 1;
+                } else if (isCost[j]) {
+                    normalized = (max - performances[i][j]) / (max - min);
+                } else {
+                    normalized = (performances[i][j] - min) / (max - min);
+                }
+                weighted[i][j] = normalized * normalizedWeights[j];
+            }
+        }
+
+        // determine the positive and negative ideal solution
+        double[] positiveIdeal = new double[criteria];
+        double[] negativeIdeal = new double[criteria];
+        for (int j = 0; j < criteria; j++) {
+            positiveIdeal[j] = Double.NEGATIVE_INFINITY;
+            negativeIdeal[j] = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < alternatives; i++) {
+                positiveIdeal[j] = Math.max(positiveIdeal[j], weighted[i][j]);
+                negativeIdeal[j] = Math.min(negativeIdeal[j], weighted[i][j]);
+            }
+        }
+
+        double[] scores = new double[alternatives];
+        for (int i = 0; i < alternatives; i++) {
+            double positiveDistance = 0;
+            double negativeDistance = 0;
+            for (int j = 0; j < criteria; j++) {
+                positiveDistance += Math.pow(weighted[i][j] - positiveIdeal[j], 2);
+                negativeDistance += Math.pow(weighted[i][j] - negativeIdeal[j], 2);
+            }
+            positiveDistance = Math.sqrt(positiveDistance);
+            negativeDistance = Math.sqrt(negativeDistance);
+            scores[i] = positiveDistance + negativeDistance > 0 ?
+                negativeDistance / (positiveDistance + negativeDistance) : 0.5;
+        }
+        return scores;
+    }
+
+    private static double[] normalize(double[] weights) {
+        double sum = 0;
+        for (double weight : weights) {
+            sum += weight;
+        }
+        double[] normalized = new double[weights.length];
+        for (int j = 0; j < weights.length; j++) {
+            normalized[j] = sum > 0 ? weights[j] / sum : 0;
+        }
+        return normalized;
+    }
+}
@@ -21,10 +21,18 @@ package org.planqk.nisq.analyzer.core.qprov;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
 
+import org.planqk.nisq.analyzer.core.cache.TtlCache;
 import org.planqk.nisq.analyzer.core.connector.qiskit.IbmqQpuQueue;
 import org.planqk.nisq.analyzer.core.model.Provider;
 import org.planqk.nisq.analyzer.core.model.Qpu;
@@ -42,67 +50,57 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Service
 public class QProvService {
 
     final private static Logger LOG = LoggerFactory.getLogger(QProvService.class);
 
+    private static final String PROVIDERS_KEY = "providers";
+
     // API Endpoints
     private String providerAPIEnpoint;
 
-    private List<Qpu> requiredQpuList;
+    private final TtlCache<String, List<Provider>> providerCache;
+
+    private final TtlCache<UUID, List<Qpu>> qpuCache;
+
+    private final RestTemplate restTemplate;
+
+    private final ExecutorService refreshExecutor;
 
     public QProvService(@Value("${org.planqk.nisq.analyzer.qprov.hostname}") String hostname,
-                        @Value("${org.planqk.nisq.analyzer.qprov.port}") int port) {
+                        @Value("${org.planqk.nisq.analyzer.qprov.port}") int port,
+                        @Value("${org.planqk.nisq.analyzer.qprov.cache.ttl:60000}") long cacheTtl,
+                        @Value("${org.planqk.nisq.analyzer.qprov.cache.maxSize:100}") int cacheMaxSize,
+                        @Value("${org.planqk.nisq.analyzer.qprov.cache.refreshThreads:2}") int refreshThreads,
+                        MeterRegistry meterRegistry, RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
         this.providerAPIEnpoint = String.format("http://%s:%d/qprov/providers", hostname, port);
+
+        // refresh expired entries on own threads, as the requests to QProv block
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refreshExecutor = Executors.newFixedThreadPool(refreshThreads, runnable -> {
+            Thread thread = new Thread(runnable, "qprov-refresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.providerCache = new TtlCache<>("qprov-providers", cacheTtl, 1, refreshExecutor, meterRegistry);
+        this.qpuCache = new TtlCache<>("qprov-qpus", cacheTtl, cacheMaxSize, refreshExecutor, meterRegistry);
     }
 
     public List<Provider> getProviders() {
-
-        // Query the QProv API for providers
-        RestTemplate restTemplate = new RestTemplate();
-
-        try {
-            ProviderListDto result = restTemplate.getForObject(providerAPIEnpoint, ProviderListDto.class);
-            if (result != null) {
-                return ProviderListDto.Converter.convert(result);
-            } else {
-                return new ArrayList<>();
-            }
-        } catch (RestClientException e) {
-            LOG.error("Error while connecting to QPROV: " + e.getMessage());
-            return new ArrayList<>();
-        }
+        List<Provider> providers = providerCache.get(PROVIDERS_KEY, key -> loadProviders());
+        return Objects.nonNull(providers) ? providers : new ArrayList<>();
     }
 
     public List<Qpu> getQPUs(Provider provider) {
-
-        RestTemplate restTemplate = new RestTemplate();
-
-        try {
-            QpuListDto qpuListDto =
-                restTemplate.getForObject(URI.create(String.format(providerAPIEnpoint + "/%s/qpus", provider.getId())),
-                    QpuListDto.class);
-            if (qpuListDto != null) {
-                return requiredQpuList =
-                    qpuListDto.getQpuDtoList().stream().map(dto -> QpuDto.Converter.convert(dto, provider.getName()))
-                        .collect(Collectors.toList());
-            } else {
-                return new ArrayList<>();
-            }
-        } catch (RestClientException e) {
-            LOG.error("Error while connecting to QPROV: " + e.getMessage());
-            return new ArrayList<>();
-        }
+        List<Qpu> qpus = qpuCache.get(provider.getId(), id -> loadQPUs(provider));
+        return Objects.nonNull(qpus) ? qpus : new ArrayList<>();
     }
 
     public Optional<Qpu> getQpuByName(String name, String provider) {
-        if (requiredQpuList != null) {
-            Optional<Qpu> givenQpu = requiredQpuList.stream().filter(p -> p.getName().equals(name)).findFirst();
-            if (givenQpu.isPresent()) {
-                return givenQpu;
-            }
-        }
         Optional<Provider> prov = getProviders().stream().filter(p -> p.getName().equals(provider)).findFirst();
         return prov.flatMap(
             value -> getQPUs(value).stream().filter(q -> q.getName().equalsIgnoreCase(name)).findFirst());
@@ -122,8 +120,6 @@ public class QProvService {
                 URI ibmqQueueSizeUrl = URI.create(
                     String.format("https://api.quantum-computing.ibm.com/api/Backends/%s/queue/status?", qpuName));
                 LOG.debug("Requesting IBMQ for queue size");
-                RestTemplate restTemplate = new RestTemplate();
-
                 // fake user agent, as IBMQ blocks Java/1.8
                 HttpHeaders headers = new HttpHeaders();
                 headers.set("user-agent", "python-requests/2.27.1");
@@ -148,4 +144,44 @@ public class QProvService {
         }
         return 100;
     }
+
+    private List<Provider> loadProviders() {
+
+        // Query the QProv API for providers
+        try {
+            ProviderListDto result = restTemplate.getForObject(providerAPIEnpoint, ProviderListDto.class);
+            if (result != null) {
+                return Collections.unmodifiableList(ProviderListDto.Converter.convert(result));
+            } else {
+                return null;
+            }
+        } catch (RestClientException e) {
+            LOG.error("Error while connecting to QPROV: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private List<Qpu> loadQPUs(Provider provider) {
+
+        try {
+            QpuListDto qpuListDto =
+                restTemplate.getForObject(URI.create(String.format(providerAPIEnpoint + "/%s/qpus", provider.getId())),
+                    QpuListDto.class);
+            if (qpuListDto != null) {
+                return Collections.unmodifiableList(
+                    qpuListDto.getQpuDtoList().stream().map(dto -> QpuDto.Converter.convert(dto, provider.getName()))
+                        .collect(Collectors.toList()));
+            } else {
+                return null;
+            }
+        } catch (RestClientException e) {
+            LOG.error("Error while connecting to QPROV: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
 }
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.qprov;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+
+import org.planqk.nisq.analyzer.core.cache.TtlCache;
+import org.planqk.nisq.analyzer.core.model.CircuitResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Service retrieving the queue sizes of the QPUs used by a set of circuit results, requesting each QPU only once and
+ * caching the retrieved queue sizes for a short time
+ */
+@Service
+public class QueueSizeService {
+
+    final private static Logger LOG = LoggerFactory.getLogger(QueueSizeService.class);
+
+    private final QProvService qProvService;
+
+    private final TtlCache<String, QpuQueueSize> queueSizeCache;
+
+    private final ExecutorService executor;
+
+    public QueueSizeService(QProvService qProvService, MeterRegistry meterRegistry,
+                            @Value("${org.planqk.nisq.analyzer.qprov.queueSize.cache.ttl:30000}") long cacheTtl,
+                            @Value("${org.planqk.nisq.analyzer.qprov.queueSize.cache.maxSize:500}") int cacheMaxSize,
+                            @Value("${org.planqk.nisq.analyzer.qprov.queueSize.threads:8}") int threads) {
+        this.qProvService = qProvService;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "queue-size-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // expired queue sizes are refreshed by the same threads fetching them
+        this.queueSizeCache = new TtlCache<>("qpu-queue-sizes", cacheTtl, cacheMaxSize, executor, meterRegistry);
+    }
+
+    /**
+     * Get the queue sizes of all QPUs used by the given circuit results, retrieving the queue sizes of distinct QPUs in
+     * parallel
+     *
+     * @param results the circuit results to get the queue sizes for
+     * @return the queue sizes of the QPUs, accessible via {@link #getQueueSize(Map, CircuitResult)}, mapping QPUs whose
+     * queue size is not available to null
+     */
+    public Map<String, QpuQueueSize> getQueueSizes(Collection<? extends CircuitResult> results) {
+        Map<String, CompletableFuture<QpuQueueSize>> requests = new HashMap<>();
+        for (CircuitResult result : results) {
+            requests.computeIfAbsent(getKey(result.getProvider(), result.getQpu()), key -> CompletableFuture
+                .supplyAsync(() -> queueSizeCache.get(key, k -> fetchQueueSize(result.getProvider(), result.getQpu())),
+                    executor));
+        }
+        LOG.debug("Retrieving queue sizes of {} distinct QPUs for {} results.", requests.size(), results.size());
+
+        Map<String, QpuQueueSize> queueSizes = new HashMap<>();
+        requests.forEach((key, request) -> queueSizes.put(key, request.join()));
+        return queueSizes;
+    }
+
+    /**
+     * Get the queue size of the QPU used by the given circuit result
+     *
+     * @param queueSizes the queue sizes retrieved by {@link #getQueueSizes(Collection)}
+     * @param result     the circuit result to get the queue size for
+     * @return the queue size of the QPU, or 100 if it could not be retrieved
+     */
+    public static int getQueueSize(Map<String, QpuQueueSize> queueSizes, CircuitResult result) {
+        QpuQueueSize queueSize = queueSizes.get(getKey(result.getProvider(), result.getQpu()));
+        return Objects.nonNull(queueSize) ? queueSize.getQueueSize() : 100;
+    }
+
+    private QpuQueueSize fetchQueueSize(String provider, String qpu) {
+        Integer queueSize = qProvService.getQueueSizeOfQpu(qpu, provider);
+        if (Objects.isNull(queueSize)) {
+            // do not cache unavailable queue sizes, the default is applied by getQueueSize and retried next time
+            LOG.debug("Queue size of QPU {} of provider {} is not available.", qpu, provider);
+            return null;
+        }
+        return new QpuQueueSize(provider, qpu, queueSize, OffsetDateTime.now());
+    }
+
+    private static String getKey(String provider, String qpu) {
+        return String.valueOf(provider).toLowerCase() + "/" + qpu;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
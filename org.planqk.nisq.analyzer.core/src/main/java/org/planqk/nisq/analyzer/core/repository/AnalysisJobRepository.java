@@ -25,9 +25,10 @@ import java.util.UUID;
 import org.planqk.nisq.analyzer.core.model.AnalysisJob;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
 @RepositoryRestResource(exported = false)
-public interface AnalysisJobRepository extends JpaRepository<AnalysisJob, UUID> {
+public interface AnalysisJobRepository extends JpaRepository<AnalysisJob, UUID>, JpaSpecificationExecutor<AnalysisJob> {
     List<AnalysisJob> findByImplementedAlgorithm(UUID implementedAlgorithm, Sort sort);
 }
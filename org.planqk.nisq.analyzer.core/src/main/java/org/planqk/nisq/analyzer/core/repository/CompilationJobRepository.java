@@ -23,8 +23,10 @@ import java.util.UUID;
 
 import org.planqk.nisq.analyzer.core.model.CompilationJob;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
 @RepositoryRestResource(exported = false)
-public interface CompilationJobRepository extends JpaRepository<CompilationJob, UUID> {
+public interface CompilationJobRepository extends JpaRepository<CompilationJob, UUID>,
+    JpaSpecificationExecutor<CompilationJob> {
 }
@@ -23,8 +23,10 @@ import java.util.UUID;
 
 import org.planqk.nisq.analyzer.core.model.CompilationResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
 @RepositoryRestResource(exported = false)
-public interface CompilerAnalysisResultRepository extends JpaRepository<CompilationResult, UUID> {
+public interface CompilerAnalysisResultRepository extends JpaRepository<CompilationResult, UUID>,
+    JpaSpecificationExecutor<CompilationResult> {
 }
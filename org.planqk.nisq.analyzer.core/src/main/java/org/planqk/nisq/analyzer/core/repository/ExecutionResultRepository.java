@@ -28,6 +28,7 @@ import org.planqk.nisq.analyzer.core.model.ExecutionResult;
 import org.planqk.nisq.analyzer.core.model.Implementation;
 import org.planqk.nisq.analyzer.core.model.QpuSelectionResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
 /**
@@ -35,7 +36,8 @@ import org.springframework.data.rest.core.annotation.RepositoryRestResource;
  * different queries.
  */
 @RepositoryRestResource(exported = false)
-public interface ExecutionResultRepository extends JpaRepository<ExecutionResult, UUID> {
+public interface ExecutionResultRepository extends JpaRepository<ExecutionResult, UUID>,
+    JpaSpecificationExecutor<ExecutionResult> {
     List<ExecutionResult> findByAnalysisResult(AnalysisResult analysisResult);
 
     List<ExecutionResult> findByExecutedImplementation(Implementation implementation);
@@ -43,4 +45,17 @@ public interface ExecutionResultRepository extends JpaRepository<ExecutionResult
     List<ExecutionResult> findByCompilationResult(CompilationResult compilationResult);
 
     List<ExecutionResult> findByQpuSelectionResult(QpuSelectionResult qpuSelectionResult);
+
+    boolean existsByHistogramIntersectionValueGreaterThanAndHistogramIntersectionValueLessThan(double lowerBound,
+                                                                                               double upperBound);
+
+    /**
+     * Check if there are executions with a calculated histogram intersection that can be used as prior data for the
+     * prediction of precise execution results, ignoring non-calculated values and simulator results equal to 1
+     *
+     * @return <code>true</code> if prior data is available, <code>false</code> otherwise
+     */
+    default boolean existsPriorData() {
+        return existsByHistogramIntersectionValueGreaterThanAndHistogramIntersectionValueLessThan(0, 1);
+    }
 }
@@ -24,13 +24,15 @@ import java.util.UUID;
 
 import org.planqk.nisq.analyzer.core.model.Implementation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
 /**
  * Repository to access {@link Implementation}s available in the data base with different queries.
  */
 @RepositoryRestResource(exported = false)
-public interface ImplementationRepository extends JpaRepository<Implementation, UUID> {
+public interface ImplementationRepository extends JpaRepository<Implementation, UUID>,
+    JpaSpecificationExecutor<Implementation> {
 
     List<Implementation> findByImplementedAlgorithm(UUID implementedAlgorithm);
 }
@@ -33,4 +33,7 @@ public interface McdaWeightLearningJobRepository extends JpaRepository<McdaWeigh
     List<McdaWeightLearningJob> findByMcdaMethodAndWeightLearningMethod(String mcdaMethod, String weightLearningMethod);
 
     Optional<McdaWeightLearningJob> findById(UUID id);
+
+    List<McdaWeightLearningJob> findByMcdaMethodAndWeightLearningMethodAndDatasetVersionAndStateOrderByTimeDesc(
+        String mcdaMethod, String weightLearningMethod, String datasetVersion, String state);
 }
@@ -19,6 +19,7 @@
 
 package org.planqk.nisq.analyzer.core.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,6 +27,9 @@ import javax.transaction.Transactional;
 
 import org.planqk.nisq.analyzer.core.model.QpuSelectionResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
 @RepositoryRestResource(exported = false)
@@ -33,5 +37,22 @@ import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 public interface QpuSelectionResultRepository extends JpaRepository<QpuSelectionResult, UUID> {
     List<QpuSelectionResult> findAllByUserId(String userId);
 
+    boolean existsByIdAndUserId(UUID id, String userId);
+
     List<QpuSelectionResult> findAllByQpuSelectionJobId(UUID qpuSelectionJobId);
+
+    @Query("select r.id from QpuSelectionResult r where r.qpuSelectionJobId = :qpuSelectionJobId")
+    List<UUID> findIdsByQpuSelectionJobId(@Param("qpuSelectionJobId") UUID qpuSelectionJobId);
+
+    /**
+     * Delete all results with the given ids in a single statement. Pending changes are flushed before, but the
+     * persistence context is not cleared, so that entities of the caller stay managed. Callers have to evict the
+     * deleted results from the persistence context themselves.
+     *
+     * @param ids the ids of the results to delete, must not be empty
+     * @return the number of deleted results
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("delete from QpuSelectionResult r where r.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<UUID> ids);
 }
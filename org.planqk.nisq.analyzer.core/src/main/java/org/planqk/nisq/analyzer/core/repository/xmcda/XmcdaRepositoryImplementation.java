@@ -20,9 +20,14 @@
 package org.planqk.nisq.analyzer.core.repository.xmcda;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 import javax.transaction.Transactional;
 import javax.xml.bind.JAXBException;
@@ -40,6 +45,9 @@ import org.xml.sax.SAXException;
 /**
  * XmcdaRepository implementation loading the XMCDA entities from local files
  * <p>
+ * Criteria are indexed by ID and name, and the criterion values of each MCDA method are kept in an immutable snapshot
+ * that is replaced atomically on updates, so lookups neither scan nor copy the stored entities.
+ * <p>
  * FIXME: move to database implementation
  */
 @Service
@@ -49,24 +57,44 @@ public class XmcdaRepositoryImplementation implements XmcdaRepository {
 
     final private ResourceLoader resourceLoader;
 
-    final private List<Criterion> criterionList = new CopyOnWriteArrayList<>();
+    private List<Criterion> criterionList = Collections.emptyList();
+
+    private Map<String, Criterion> criteriaById = Collections.emptyMap();
 
-    final private List<CriterionValue> criterionValueList = new CopyOnWriteArrayList<>();
+    private Map<String, Criterion> criteriaByName = Collections.emptyMap();
+
+    private volatile Map<String, MethodValues> valuesByMethod = Collections.emptyMap();
 
     public XmcdaRepositoryImplementation(ResourceLoader resourceLoader, CriterionInitializer criterionInitializer) {
-        initializeRepository(criterionInitializer);
         this.resourceLoader = resourceLoader;
+        initializeRepository(criterionInitializer);
     }
 
     private void initializeRepository(CriterionInitializer criterionInitializer) {
         LOG.debug("Initializing databases for prioritization with definitions from resource folder!");
 
         try {
-            criterionList.addAll(criterionInitializer.initializeCriterion());
+            List<Criterion> criteria = criterionInitializer.initializeCriterion();
+            Map<String, Criterion> byId = new HashMap<>();
+            Map<String, Criterion> byName = new HashMap<>();
+            for (Criterion criterion : criteria) {
+                byId.putIfAbsent(criterion.getId(), criterion);
+                byName.putIfAbsent(criterion.getName(), criterion);
+            }
+            criterionList = Collections.unmodifiableList(new ArrayList<>(criteria));
+            criteriaById = Collections.unmodifiableMap(byId);
+            criteriaByName = Collections.unmodifiableMap(byName);
+
+            Map<String, List<CriterionValue>> values = new LinkedHashMap<>();
             Resource[] resources = ResourcePatternUtils.getResourcePatternResolver(resourceLoader).getResources("classpath:xmcda/initial-weights-*");
             for (Resource mcdaMethod : resources) {
-                criterionValueList.addAll(criterionInitializer.initializeWeightsForCriterion(mcdaMethod.getFilename()));
+                for (CriterionValue criterionValue : criterionInitializer.initializeWeightsForCriterion(mcdaMethod.getFilename())) {
+                    values.computeIfAbsent(criterionValue.getMcdaMethod(), method -> new ArrayList<>()).add(criterionValue);
+                }
             }
+            Map<String, MethodValues> snapshots = new HashMap<>();
+            values.forEach((method, methodValues) -> snapshots.put(method, new MethodValues(methodValues)));
+            valuesByMethod = Collections.unmodifiableMap(snapshots);
 
             LOG.info("Successfully initialized repository with definitions from resource folder!");
         } catch (IOException | JAXBException | SAXException e) {
@@ -81,42 +109,36 @@ public class XmcdaRepositoryImplementation implements XmcdaRepository {
 
     @Override
     public List<Criterion> findByMcdaMethod(String mcdaMethod) {
-        return criterionList.stream()
-                .filter(criterion -> criterionValueList.stream().anyMatch(criterionValue -> criterionValue.getMcdaMethod().equals(mcdaMethod) &&
-                    criterionValue.getCriterionID().equals(criterion.getId())))
-            .collect(Collectors.toList());
+        MethodValues methodValues = valuesByMethod.get(mcdaMethod);
+        return Objects.nonNull(methodValues) ? methodValues.criteria : Collections.emptyList();
     }
 
     @Override
     public Optional<Criterion> findById(String id) {
-        return criterionList.stream()
-            .filter(criterion -> criterion.getId().equals(id))
-            .findFirst();
+        return Optional.ofNullable(criteriaById.get(id));
     }
 
     @Override
     public Optional<Criterion> findByCriterionName(String criterionName) {
-        return criterionList.stream()
-            .filter(criterion -> criterion.getName().equals(criterionName))
-            .findFirst();
+        return Optional.ofNullable(criteriaByName.get(criterionName));
     }
 
     @Override
     public Optional<CriterionValue> findByCriterionIdAndMethod(String criterionId, String mcdaMethod) {
-        return criterionValueList.stream()
-            .filter(criterionValue -> criterionValue.getCriterionID().equals(criterionId))
-            .filter(criterionValue -> criterionValue.getMcdaMethod().equals(mcdaMethod))
-            .findFirst();
+        MethodValues methodValues = valuesByMethod.get(mcdaMethod);
+        return Objects.nonNull(methodValues) ? Optional.ofNullable(methodValues.valuesByCriterionId.get(criterionId)) :
+            Optional.empty();
     }
 
     @Override
     public List<CriterionValue> findValuesByMcdaMethod(String mcdaMethod) {
-        return criterionValueList.stream().filter(criterionValue -> criterionValue.getMcdaMethod().equals(mcdaMethod)).collect(Collectors.toList());
+        MethodValues methodValues = valuesByMethod.get(mcdaMethod);
+        return Objects.nonNull(methodValues) ? methodValues.values : Collections.emptyList();
     }
 
     @Transactional
     @Override
-    public void updateCriterionValue(CriterionValue criterionValue) {
+    public synchronized void updateCriterionValue(CriterionValue criterionValue) {
         Optional<CriterionValue> oldValue = findByCriterionIdAndMethod(criterionValue.getCriterionID(), criterionValue.getMcdaMethod());
         if (!oldValue.isPresent()) {
             LOG.error("Unable to find criterion value for criterion ID {} and MCDA method {}. Skipping update!", criterionValue.getCriterionID(),
@@ -124,7 +146,33 @@ public class XmcdaRepositoryImplementation implements XmcdaRepository {
             return;
         }
 
-        criterionValueList.remove(oldValue.get());
-        criterionValueList.add(criterionValue);
+        // replace the value within a new snapshot of the MCDA method and publish it
+        List<CriterionValue> values = new ArrayList<>(valuesByMethod.get(criterionValue.getMcdaMethod()).values);
+        values.set(values.indexOf(oldValue.get()), criterionValue);
+        Map<String, MethodValues> snapshots = new HashMap<>(valuesByMethod);
+        snapshots.put(criterionValue.getMcdaMethod(), new MethodValues(values));
+        valuesByMethod = Collections.unmodifiableMap(snapshots);
+    }
+
+    /**
+     * Immutable snapshot of the criterion values of one MCDA method
+     */
+    private class MethodValues {
+
+        private final List<CriterionValue> values;
+
+        private final Map<String, CriterionValue> valuesByCriterionId;
+
+        private final List<Criterion> criteria;
+
+        MethodValues(List<CriterionValue> values) {
+            this.values = Collections.unmodifiableList(new ArrayList<>(values));
+            Map<String, CriterionValue> byCriterionId = new HashMap<>();
+            values.forEach(value -> byCriterionId.putIfAbsent(value.getCriterionID(), value));
+            this.valuesByCriterionId = Collections.unmodifiableMap(byCriterionId);
+            this.criteria = Collections.unmodifiableList(criterionList.stream()
+                    .filter(criterion -> byCriterionId.containsKey(criterion.getId()))
+                    .collect(Collectors.toList()));
+        }
     }
 }
@@ -21,10 +21,24 @@ package org.planqk.nisq.analyzer.core.translator;
 
 import java.io.File;
 import java.io.IOException;
+import java.math.BigInteger;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import javax.annotation.PreDestroy;
 
 import org.apache.commons.io.FileUtils;
 import org.planqk.nisq.analyzer.core.Constants;
@@ -36,34 +50,137 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Service
 public class TranslatorService {
 
     final private static Logger LOG = LoggerFactory.getLogger(TranslatorService.class);
 
+    // name of the cached translations: <content hash>-<source language>-<target language>
+    private static final Pattern CACHE_FILE_PATTERN = Pattern.compile("[0-9a-f]{64}-[a-z0-9]+-[a-z0-9]+");
+
+    private final RestTemplate restTemplate;
+
+    private final File cacheDirectory;
+
+    private final boolean persistent;
+
+    private final Map<String, File> translations;
+
+    private final Map<String, CompletableFuture<File>> pendingTranslations = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
     private URI translateAPIEndpoint;
 
     public TranslatorService(
             @Value("${org.planqk.nisq.analyzer.translator.hostname}") String hostname,
-            @Value("${org.planqk.nisq.analyzer.translator.port}") int port
-    ) {
+            @Value("${org.planqk.nisq.analyzer.translator.port}") int port,
+            @Value("${org.planqk.nisq.analyzer.translator.cache.maxSize:200}") int cacheMaxSize,
+            @Value("${org.planqk.nisq.analyzer.translator.cache.directory:}") String cacheDirectory,
+            RestTemplate restTemplate,
+            MeterRegistry meterRegistry
+    ) throws IOException {
+        this.restTemplate = restTemplate;
         translateAPIEndpoint = URI.create(String.format("http://%s:%d/convert", hostname, port));
+
+        // least recently used translations are removed from the cache and the disk if the cache exceeds its size
+        translations = Collections.synchronizedMap(new LinkedHashMap<String, File>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, File> eldest) {
+                if (size() > cacheMaxSize) {
+                    FileUtils.deleteQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        });
+
+        persistent = !cacheDirectory.isEmpty();
+        if (!persistent) {
+            this.cacheDirectory = Files.createTempDirectory("translations").toFile();
+        } else {
+            this.cacheDirectory = new File(cacheDirectory);
+            Files.createDirectories(this.cacheDirectory.toPath());
+            loadPersistedTranslations();
+        }
+
+        hits = Counter.builder("nisq.analyzer.cache.requests").description("Number of requests to the cache")
+            .tag("cache", "translations").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("nisq.analyzer.cache.requests").description("Number of requests to the cache")
+            .tag("cache", "translations").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("nisq.analyzer.cache.size", translations, Map::size).description("Number of entries in the cache")
+            .tag("cache", "translations").register(meterRegistry);
     }
 
     /**
-     * Translate the given quantum circuit into an equivalent circuit in the target language
+     * Translate the given quantum circuit into an equivalent circuit in the target language. Translations are cached
+     * by the content of the circuit, so that each circuit is only sent to the translator once per target language.
      *
      * @param circuit        the file containing the quantum circuit to translate
      * @param sourceLanguage the language of the input quantum circuit
      * @param targetLanguage the language to which the quantum circuit should be translated
-     * @return the file containing the quantum circuit in the target language or null if an error occurs
+     * @return the file containing the quantum circuit in the target language or null if an error occurs. The file is a
+     * copy of the cached translation owned by the caller, which has to delete it after use.
      */
     public File tranlateCircuit(File circuit, String sourceLanguage, String targetLanguage) {
         LOG.debug("Translating circuit from source language '{}' to target language '{}'!", sourceLanguage, targetLanguage);
 
+        String circuitCode;
         try {
-            RestTemplate restTemplate = new RestTemplate();
-            TranslationRequest request = new TranslationRequest(sourceLanguage, targetLanguage, FileUtils.readFileToString(circuit, StandardCharsets.UTF_8));
+            circuitCode = FileUtils.readFileToString(circuit, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOG.error("Error while reading circuit file.");
+            return null;
+        }
+
+        String key = getCacheKey(circuitCode, sourceLanguage, targetLanguage);
+        File cachedTranslation = translations.get(key);
+        if (Objects.nonNull(cachedTranslation) && cachedTranslation.exists()) {
+            File copy = copyTranslation(cachedTranslation);
+            if (Objects.nonNull(copy)) {
+                LOG.debug("Using cached translation of the circuit!");
+                hits.increment();
+                if (persistent) {
+                    // keep track of the usage to restore the least recently used order after a restart
+                    cachedTranslation.setLastModified(System.currentTimeMillis());
+                }
+                return copy;
+            }
+        }
+
+        // coalesce concurrent translations of the same circuit
+        misses.increment();
+        CompletableFuture<File> translation = new CompletableFuture<>();
+        CompletableFuture<File> pendingTranslation = pendingTranslations.putIfAbsent(key, translation);
+        if (Objects.nonNull(pendingTranslation)) {
+            File translatedCircuit = pendingTranslation.join();
+            return Objects.nonNull(translatedCircuit) ? copyTranslation(translatedCircuit) : null;
+        }
+
+        try {
+            File translatedCircuit = translate(circuitCode, sourceLanguage, targetLanguage, key);
+            if (Objects.nonNull(translatedCircuit)) {
+                translations.put(key, translatedCircuit);
+            }
+            translation.complete(translatedCircuit);
+            return Objects.nonNull(translatedCircuit) ? copyTranslation(translatedCircuit) : null;
+        } catch (RuntimeException e) {
+            translation.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingTranslations.remove(key, translation);
+        }
+    }
+
+    private File translate(String circuitCode, String sourceLanguage, String targetLanguage, String key) {
+        try {
+            TranslationRequest request = new TranslationRequest(sourceLanguage, targetLanguage, circuitCode);
 
             // translate the circuit into the target language
             ResponseEntity<String> response = restTemplate.postForEntity(translateAPIEndpoint, request, String.class);
@@ -72,8 +189,11 @@ public class TranslatorService {
             if (response.getStatusCode().is2xxSuccessful()) {
                 LOG.debug("Circuit translated successfully!");
 
-                final File translatedCircuit = File.createTempFile("temp", null);
-                FileUtils.writeStringToFile(translatedCircuit, response.getBody());
+                // write to a temporary file first to not persist incomplete translations
+                final File tempFile = File.createTempFile("temp", null, cacheDirectory);
+                FileUtils.writeStringToFile(tempFile, response.getBody(), StandardCharsets.UTF_8);
+                final File translatedCircuit = new File(cacheDirectory, key);
+                Files.move(tempFile.toPath(), translatedCircuit.toPath(), StandardCopyOption.REPLACE_EXISTING);
                 return translatedCircuit;
             } else {
                 LOG.error("Error while translating circuit: {}", response.getStatusCodeValue());
@@ -83,11 +203,62 @@ public class TranslatorService {
             LOG.error("Connection to translator service failed.");
             return null;
         } catch (IOException e) {
-            LOG.error("Error while reading circuit file.");
+            LOG.error("Error while writing translated circuit file.");
             return null;
         }
     }
 
+    /**
+     * Copy the given cached translation to a file owned by the caller, as the cached translation is deleted from the
+     * disk when it is evicted from the cache while the caller may still use it
+     *
+     * @param cachedTranslation the cached translation to copy
+     * @return the copy of the translation, or null if the translation was evicted in the meantime
+     */
+    private File copyTranslation(File cachedTranslation) {
+        try {
+            File copy = File.createTempFile("translation", null);
+            try {
+                // evictions delete the cached translations while holding the lock of the cache
+                synchronized (translations) {
+                    Files.copy(cachedTranslation.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                return copy;
+            } catch (IOException e) {
+                FileUtils.deleteQuietly(copy);
+                throw e;
+            }
+        } catch (IOException e) {
+            LOG.error("Unable to copy cached translation '{}': {}", cachedTranslation.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void loadPersistedTranslations() {
+        File[] persistedTranslations =
+            cacheDirectory.listFiles((directory, name) -> CACHE_FILE_PATTERN.matcher(name).matches());
+        if (Objects.isNull(persistedTranslations)) {
+            return;
+        }
+
+        // insert the most recently used translations last to keep them when the cache exceeds its size
+        Arrays.sort(persistedTranslations, Comparator.comparingLong(File::lastModified));
+        for (File persistedTranslation : persistedTranslations) {
+            translations.put(persistedTranslation.getName(), persistedTranslation);
+        }
+        LOG.debug("Loaded {} persisted translations from '{}'.", translations.size(), cacheDirectory);
+    }
+
+    private static String getCacheKey(String circuitCode, String sourceLanguage, String targetLanguage) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(circuitCode.getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x-%s-%s", new BigInteger(1, digest), sourceLanguage.toLowerCase(),
+                targetLanguage.toLowerCase());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
     /**
      * Get the list of languages that are supported by the translator as input and output format
      *
@@ -96,4 +267,14 @@ public class TranslatorService {
     public List<String> getSupportedLanguages() {
         return Arrays.asList(Constants.QISKIT, Constants.OPENQASM, Constants.QUIL, Constants.PYQUIL);
     }
+
+    /**
+     * Delete the temporary cache directory with all translations if the translations are not persisted
+     */
+    @PreDestroy
+    public void deleteTemporaryTranslations() {
+        if (!persistent) {
+            FileUtils.deleteQuietly(cacheDirectory);
+        }
+    }
 }
@@ -0,0 +1,312 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.web;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import javax.servlet.http.HttpServletResponse;
+
+import org.planqk.nisq.analyzer.core.model.HasId;
+import org.planqk.nisq.analyzer.core.web.dtos.requests.PageRequestDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Service loading the entities of list endpoints page by page. Pages are either addressed by their number, or by a
+ * cursor pointing to the last entity of the previous page, which keeps the iteration stable while new entities are
+ * added and avoids counting all matching entities. Entities can also be exported as newline-delimited JSON.
+ */
+@Service
+public class PagingService {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxPageSize;
+
+    private final int exportBatchSize;
+
+    public PagingService(EntityManager entityManager, ObjectMapper objectMapper,
+                         @Value("${org.planqk.nisq.analyzer.paging.maxPageSize:1000}") int maxPageSize,
+                         @Value("${org.planqk.nisq.analyzer.paging.exportBatchSize:500}") int exportBatchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
+        this.exportBatchSize = exportBatchSize;
+    }
+
+    /**
+     * Find the requested page of entities matching the given filter. If neither a page, a size, nor a cursor is
+     * requested, the first page of the default size is returned, as all entities can only be requested via
+     * {@link #export(Class, Specification, Function, Function, HttpServletResponse)}.
+     *
+     * @param repository  the repository to load the entities with
+     * @param type        the type of the entities
+     * @param filter      the filter the entities have to match
+     * @param time        the function returning the creation time of an entity to order by, or null to order by id
+     * @param pageRequest the requested page, or null to return the first page
+     * @param sort        the order of the entities for pages addressed by number
+     * @param <T>         the type of the entities
+     * @return the requested page of entities
+     * @throws IllegalArgumentException if the requested cursor or sort property is invalid
+     */
+    public <T extends HasId> Result<T> findPage(JpaSpecificationExecutor<T> repository, Class<T> type,
+                                                Specification<T> filter, Function<T, OffsetDateTime> time,
+                                                PageRequestDto pageRequest, Sort sort) {
+        Sort order = Objects.nonNull(sort) && sort.isSorted() ? sort : getKeysetOrder(Objects.nonNull(time));
+        validate(order, type);
+        if (Objects.isNull(pageRequest)) {
+            pageRequest = new PageRequestDto();
+        }
+
+        int size = Objects.nonNull(pageRequest.getSize())
+            ? Math.max(1, Math.min(pageRequest.getSize(), maxPageSize))
+            : DEFAULT_PAGE_SIZE;
+        if (Objects.isNull(pageRequest.getCursor())) {
+            int page = Objects.nonNull(pageRequest.getPage()) ? Math.max(0, pageRequest.getPage()) : 0;
+            Page<T> entities = repository.findAll(filter, PageRequest.of(page, size, order));
+            return new Result<>(entities.getContent(),
+                new PagedModel.PageMetadata(entities.getSize(), entities.getNumber(), entities.getTotalElements(),
+                    entities.getTotalPages()), null);
+        }
+
+        // fetch one additional entity to find out whether there is a next page
+        List<T> entities =
+            findAfter(type, filter, Objects.nonNull(time), Cursor.decode(pageRequest.getCursor()), size + 1);
+        if (entities.size() <= size) {
+            return new Result<>(entities, null, null);
+        }
+        entities = entities.subList(0, size);
+        return new Result<>(entities, null, Cursor.of(entities.get(size - 1), time).encode());
+    }
+
+    /**
+     * Write all entities matching the given filter as newline-delimited JSON to the given response, loading and
+     * converting them in batches
+     *
+     * @param type      the type of the entities
+     * @param filter    the filter the entities have to match
+     * @param time      the function returning the creation time of an entity to order by, or null to order by id
+     * @param converter the function converting an entity into the object to export
+     * @param response  the response to write the entities to
+     * @param <T>       the type of the entities
+     * @throws IOException if the entities can not be written to the response
+     */
+    public <T extends HasId> void export(Class<T> type, Specification<T> filter, Function<T, OffsetDateTime> time,
+                                         Function<T, ?> converter, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Writer writer = response.getWriter();
+
+        Cursor cursor = null;
+        List<T> batch;
+        do {
+            batch = findAfter(type, filter, Objects.nonNull(time), cursor, exportBatchSize);
+            for (T entity : batch) {
+                writer.write(objectMapper.writeValueAsString(converter.apply(entity)));
+                writer.write('\n');
+            }
+            writer.flush();
+
+            if (!batch.isEmpty()) {
+                cursor = Cursor.of(batch.get(batch.size() - 1), time);
+            }
+            // exported entities are not needed anymore and must not accumulate in the persistence context
+            entityManager.clear();
+        } while (batch.size() == exportBatchSize);
+    }
+
+    private static void validate(Sort sort, Class<?> type) {
+        for (Sort.Order order : sort) {
+            try {
+                PropertyPath.from(order.getProperty(), type);
+            } catch (PropertyReferenceException e) {
+                throw new IllegalArgumentException("Invalid sort property: " + order.getProperty(), e);
+            }
+        }
+    }
+
+    private <T extends HasId> List<T> findAfter(Class<T> type, Specification<T> filter, boolean timed, Cursor cursor,
+                                                int limit) {
+        Specification<T> specification = Specification.where(filter).and(after(cursor, timed));
+        Sort sort = getKeysetOrder(timed);
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(type);
+        Root<T> root = query.from(type);
+        query.where(specification.toPredicate(root, query, criteriaBuilder));
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private static Sort getKeysetOrder(boolean timed) {
+        return timed ? Sort.by(Sort.Direction.DESC, "time", "id") : Sort.by(Sort.Direction.DESC, "id");
+    }
+
+    private static <T> Specification<T> after(Cursor cursor, boolean timed) {
+        if (Objects.isNull(cursor)) {
+            return null;
+        }
+        return (root, query, criteriaBuilder) -> {
+            Path<UUID> id = root.get("id");
+            if (!timed || Objects.isNull(cursor.time)) {
+                return criteriaBuilder.lessThan(id, cursor.id);
+            }
+            Path<OffsetDateTime> time = root.get("time");
+            return criteriaBuilder.or(criteriaBuilder.lessThan(time, cursor.time),
+                criteriaBuilder.and(criteriaBuilder.equal(time, cursor.time), criteriaBuilder.lessThan(id, cursor.id)));
+        };
+    }
+
+    /**
+     * Filter matching entities whose attribute equals the given value, ignoring the case of strings. Nested
+     * attributes are separated by dots.
+     *
+     * @param attribute the attribute to compare
+     * @param value     the value the attribute has to be equal to, or null to not filter by the attribute
+     * @param <T>       the type of the entities
+     * @return the filter
+     */
+    public static <T> Specification<T> equal(String attribute, Object value) {
+        if (Objects.isNull(value)) {
+            return null;
+        }
+        return (root, query, criteriaBuilder) -> {
+            Path<?> path = root;
+            for (String part : attribute.split("\\.")) {
+                path = path.get(part);
+            }
+            if (value instanceof String) {
+                return criteriaBuilder.equal(criteriaBuilder.lower(path.as(String.class)),
+                    ((String) value).toLowerCase());
+            }
+            return criteriaBuilder.equal(path, value);
+        };
+    }
+
+    /**
+     * Filter matching entities created in the time range of the given page request
+     *
+     * @param pageRequest the page request defining the earliest and latest creation time, or null to not filter
+     * @param <T>         the type of the entities
+     * @return the filter
+     */
+    public static <T> Specification<T> timeBetween(PageRequestDto pageRequest) {
+        if (Objects.isNull(pageRequest)) {
+            return null;
+        }
+        OffsetDateTime from = pageRequest.getFrom();
+        OffsetDateTime to = pageRequest.getTo();
+        return (root, query, criteriaBuilder) -> {
+            Path<OffsetDateTime> time = root.get("time");
+            if (Objects.nonNull(from) && Objects.nonNull(to)) {
+                return criteriaBuilder.between(time, from, to);
+            } else if (Objects.nonNull(from)) {
+                return criteriaBuilder.greaterThanOrEqualTo(time, from);
+            } else if (Objects.nonNull(to)) {
+                return criteriaBuilder.lessThanOrEqualTo(time, to);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Page of entities together with the metadata to request further pages
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Result<T> {
+
+        private final List<T> content;
+
+        /**
+         * Metadata of pages addressed by number, null otherwise
+         */
+        private final PagedModel.PageMetadata page;
+
+        /**
+         * Cursor to request the next page with, null if there is no next page or pages are addressed by number
+         */
+        private final String nextCursor;
+    }
+
+    /**
+     * Position after the last entity of a page, encoded as opaque string for the clients
+     */
+    private static class Cursor {
+
+        private final OffsetDateTime time;
+
+        private final UUID id;
+
+        Cursor(OffsetDateTime time, UUID id) {
+            this.time = time;
+            this.id = id;
+        }
+
+        static <T extends HasId> Cursor of(T entity, Function<T, OffsetDateTime> time) {
+            return new Cursor(Objects.nonNull(time) ? time.apply(entity) : null, entity.getId());
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                return new Cursor(parts[0].isEmpty() ? null : OffsetDateTime.parse(parts[0]),
+                    UUID.fromString(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+            }
+        }
+
+        String encode() {
+            String value = (Objects.nonNull(time) ? time.toString() : "") + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -23,24 +23,18 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
 import java.net.URL;
 
 import org.apache.commons.io.IOUtils;
+import org.planqk.nisq.analyzer.core.planqk.PlanqkTokenService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 public class Utils {
 
     private final static Logger LOG = LoggerFactory.getLogger(Utils.class);
@@ -67,68 +61,24 @@ public class Utils {
         }
     }
 
-    public static File getFileObjectFromUrl(URL url, String refreshToken) {
+    public static File getFileObjectFromUrl(RestTemplate restTemplate, PlanqkTokenService planqkTokenService,
+                                            URL url, String refreshToken) {
         try {
             String[] fileNameParts = url.toString().split("/");
             String fileEnding = fileNameParts[fileNameParts.length - 1];
 
-            HttpURLConnection con = (HttpURLConnection) url.openConnection();
-
-            if (url.getHost().equals("platform.planqk.de")) {
-                String bearerToken = getBearerTokenFromRefreshToken(refreshToken)[0];
-                con.setRequestProperty("Authorization", "Bearer " + bearerToken);
-            }
+            String bearerToken = url.getHost().equals("platform.planqk.de")
+                ? planqkTokenService.getBearerToken(refreshToken)
+                : null;
 
-            return Utils.inputStreamToFile(con.getInputStream(), fileEnding);
-        } catch (IOException e) {
+            return restTemplate.execute(url.toURI(), HttpMethod.GET, request -> {
+                if (bearerToken != null) {
+                    request.getHeaders().setBearerAuth(bearerToken);
+                }
+            }, response -> Utils.inputStreamToFile(response.getBody(), fileEnding));
+        } catch (RestClientException | URISyntaxException e) {
             LOG.warn("Exception while loading file from URL: {}", e.getLocalizedMessage());
             return null;
         }
     }
-
-    /**
-     * Gets new bearer token and refresh token from the PlanQK platform.
-     * @param refreshToken valid refresh token from the PlanQK platform.
-     * @return string array: [bearer token, refresh token]
-     */
-    public static String[] getBearerTokenFromRefreshToken(String refreshToken) {
-        if (refreshToken == null || refreshToken.equals("")) {
-            LOG.info("No refresh token provided, cannot get bearer token.");
-            return new String[] {"", ""};
-        }
-
-        try {
-            String url = "https://login.planqk.de/realms/planqk/protocol/openid-connect/token";
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-            MultiValueMap<String, String> map = new LinkedMultiValueMap<String, String>();
-            map.add("grant_type", "refresh_token");
-            map.add("client_id", "planqk-login");
-            map.add("refresh_token", refreshToken);
-
-            HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<MultiValueMap<String, String>>(map, headers);
-
-            RestTemplate restTemplate = new RestTemplate();
-            ResponseEntity<String> response = restTemplate.postForEntity( url, request , String.class );
-
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode json = mapper.readTree(response.getBody());
-
-            if (json.has("error")) {
-                LOG.error("Could not get new tokens. Received error message: " + json.at("/error_description").asText());
-                return new String[0];
-            }
-
-            return new String[] {
-                json.at("/access_token").asText(),
-                json.at("/refresh_token").asText()
-            };
-        } catch (Exception e) {
-            System.err.println(e);
-
-            return new String[0];
-        }
-    }
 }
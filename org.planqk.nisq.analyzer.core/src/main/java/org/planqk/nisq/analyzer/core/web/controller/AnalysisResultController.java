@@ -22,9 +22,11 @@ package org.planqk.nisq.analyzer.core.web.controller;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import java.io.IOException;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletResponse;
 import javax.transaction.Transactional;
 
 import org.planqk.nisq.analyzer.core.Constants;
@@ -34,13 +36,16 @@ import org.planqk.nisq.analyzer.core.model.ExecutionResult;
 import org.planqk.nisq.analyzer.core.repository.AnalysisJobRepository;
 import org.planqk.nisq.analyzer.core.repository.AnalysisResultRepository;
 import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
+import org.planqk.nisq.analyzer.core.web.PagingService;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.AnalysisJobDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.AnalysisJobListDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.AnalysisResultDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.AnalysisResultListDto;
+import org.planqk.nisq.analyzer.core.web.dtos.requests.PageRequestDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -48,6 +53,7 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -74,6 +80,8 @@ public class AnalysisResultController {
 
     private final AnalysisJobRepository analysisJobRepository;
 
+    private final PagingService pagingService;
+
     @Operation(responses = {@ApiResponse(responseCode = "200"),
         @ApiResponse(responseCode = "404", content = @Content)}, description = "Retrieve all analysis results for an " +
         "algorithm")
@@ -92,17 +100,46 @@ public class AnalysisResultController {
         return new ResponseEntity<>(model, HttpStatus.OK);
     }
 
-    @Operation(responses = {@ApiResponse(responseCode = "200"),
-        @ApiResponse(responseCode = "404", content = @Content)}, description = "Retrieve all analysis jobs")
+    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
+        @ApiResponse(responseCode = "404", content = @Content)}, description = "Retrieve all analysis jobs. Without " +
+        "page, size, or cursor the first page of jobs is returned.")
+    @Parameter(in = ParameterIn.QUERY, description = "Sorting criteria in the format: property(,asc|desc). " +
+        "Default sort order is ascending. " +
+        "Multiple sort criteria are supported.", name = "sort", content = @Content(array = @ArraySchema(schema =
+    @Schema(type = "string"))))
     @GetMapping("/" + Constants.JOBS)
     @Transactional
-    public HttpEntity<AnalysisJobListDto> getAnalysisJobs() {
+    public HttpEntity<AnalysisJobListDto> getAnalysisJobs(PageRequestDto pageRequest,
+                                                          @RequestParam(required = false) Boolean ready,
+                                                          @Parameter(hidden = true) Sort sort) {
+        PagingService.Result<AnalysisJob> page;
+        try {
+            page = pagingService.findPage(analysisJobRepository, AnalysisJob.class, getAnalysisJobFilter(pageRequest,
+                ready), AnalysisJob::getTime, pageRequest, sort);
+        } catch (IllegalArgumentException e) {
+            LOG.error("Unable to retrieve analysis jobs: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
         AnalysisJobListDto model = new AnalysisJobListDto();
-        model.add(
-            analysisJobRepository.findAll().stream().map(this::createAnalysisJobDto).collect(Collectors.toList()));
+        model.add(page.getContent().stream().map(this::createAnalysisJobDto).collect(Collectors.toList()));
+        model.setPage(page.getPage());
+        model.setNextCursor(page.getNextCursor());
+        model.add(linkTo(methodOn(AnalysisResultController.class).getAnalysisJobs(pageRequest, ready, sort))
+            .withSelfRel());
         return new ResponseEntity<>(model, HttpStatus.OK);
     }
 
+    @Operation(responses = {@ApiResponse(responseCode = "200")}, description = "Export all analysis jobs as " +
+        "newline-delimited JSON")
+    @GetMapping(value = "/" + Constants.JOBS, params = "format=ndjson", produces = PagingService.NDJSON)
+    @Transactional
+    public void exportAnalysisJobs(PageRequestDto pageRequest, @RequestParam(required = false) Boolean ready,
+                                   HttpServletResponse response) throws IOException {
+        pagingService.export(AnalysisJob.class, getAnalysisJobFilter(pageRequest, ready), AnalysisJob::getTime,
+            AnalysisJobDto.Converter::convert, response);
+    }
+
     @Operation(responses = {@ApiResponse(responseCode = "200"),
         @ApiResponse(responseCode = "404", content = @Content)}, description = "Retrieve a single analysis result")
     @GetMapping("/{resId}")
@@ -170,6 +207,11 @@ public class AnalysisResultController {
         return dto;
     }
 
+    private Specification<AnalysisJob> getAnalysisJobFilter(PageRequestDto pageRequest, Boolean ready) {
+        return Specification.where(PagingService.<AnalysisJob>timeBetween(pageRequest))
+            .and(PagingService.equal("ready", ready));
+    }
+
     private AnalysisJobDto createAnalysisJobDto(AnalysisJob job) {
         AnalysisJobDto dto = AnalysisJobDto.Converter.convert(job);
         dto.add(linkTo(methodOn(AnalysisResultController.class).getAnalysisJob(job.getId())).withSelfRel());
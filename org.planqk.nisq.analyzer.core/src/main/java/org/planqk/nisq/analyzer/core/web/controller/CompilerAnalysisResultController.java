@@ -22,11 +22,14 @@ package org.planqk.nisq.analyzer.core.web.controller;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletResponse;
 import javax.transaction.Transactional;
 
 import org.planqk.nisq.analyzer.core.Constants;
@@ -39,15 +42,20 @@ import org.planqk.nisq.analyzer.core.model.ParameterValue;
 import org.planqk.nisq.analyzer.core.repository.CompilationJobRepository;
 import org.planqk.nisq.analyzer.core.repository.CompilerAnalysisResultRepository;
 import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
+import org.planqk.nisq.analyzer.core.web.PagingService;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.CompilationJobDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.CompilationJobListDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.CompilerAnalysisResultDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.CompilerAnalysisResultListDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.ExecutionResultDto;
+import org.planqk.nisq.analyzer.core.web.dtos.requests.PageRequestDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -58,7 +66,11 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -80,28 +92,96 @@ public class CompilerAnalysisResultController {
 
     private final NisqAnalyzerControlService controlService;
 
-    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
-            description = "Retrieve all compiler analysis results")
+    private final PagingService pagingService;
+
+    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
+            @ApiResponse(responseCode = "404", content = @Content)},
+            description = "Retrieve all compiler analysis results. Without page, size, or cursor the first page of " +
+                    "results is returned.")
+    @Parameter(in = ParameterIn.QUERY, description = "Sorting criteria in the format: property(,asc|desc). " +
+            "Default sort order is ascending. " +
+            "Multiple sort criteria are supported.", name = "sort", content = @Content(array = @ArraySchema(schema =
+    @Schema(type = "string"))))
     @GetMapping("/")
-    public HttpEntity<CompilerAnalysisResultListDto> getCompilerAnalysisResults() {
+    public HttpEntity<CompilerAnalysisResultListDto> getCompilerAnalysisResults(
+            PageRequestDto pageRequest, @RequestParam(required = false) String provider,
+            @RequestParam(required = false) String qpu, @RequestParam(required = false) String compiler,
+            @Parameter(hidden = true) Sort sort) {
+        PagingService.Result<CompilationResult> page;
+        try {
+            page = pagingService.findPage(compilerAnalysisResultRepository, CompilationResult.class,
+                    getCompilationResultFilter(pageRequest, provider, qpu, compiler), CompilationResult::getTime,
+                    pageRequest, sort);
+        } catch (IllegalArgumentException e) {
+            LOG.error("Unable to retrieve compiler analysis results: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
         CompilerAnalysisResultListDto model = new CompilerAnalysisResultListDto();
-        model.add(compilerAnalysisResultRepository.findAll().stream().map(this::createDto).collect(Collectors.toList()));
-        model.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisResults()).withSelfRel());
-        model.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisJobs()).withRel(Constants.JOBS));
+        model.add(page.getContent().stream().map(this::createDto).collect(Collectors.toList()));
+        model.setPage(page.getPage());
+        model.setNextCursor(page.getNextCursor());
+        model.add(linkTo(methodOn(CompilerAnalysisResultController.class)
+                .getCompilerAnalysisResults(pageRequest, provider, qpu, compiler, sort)).withSelfRel());
+        model.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisJobs(null, null, null))
+                .withRel(Constants.JOBS));
         return new ResponseEntity<>(model, HttpStatus.OK);
     }
 
-    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
-            description = "Retrieve all compiler analysis jobs")
+    @Operation(responses = {@ApiResponse(responseCode = "200")},
+            description = "Export all compiler analysis results as newline-delimited JSON")
+    @GetMapping(value = "/", params = "format=ndjson", produces = PagingService.NDJSON)
+    @Transactional
+    public void exportCompilerAnalysisResults(PageRequestDto pageRequest,
+                                              @RequestParam(required = false) String provider,
+                                              @RequestParam(required = false) String qpu,
+                                              @RequestParam(required = false) String compiler,
+                                              HttpServletResponse response) throws IOException {
+        pagingService.export(CompilationResult.class, getCompilationResultFilter(pageRequest, provider, qpu, compiler),
+                CompilationResult::getTime, CompilerAnalysisResultDto.Converter::convert, response);
+    }
+
+    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
+            @ApiResponse(responseCode = "404", content = @Content)},
+            description = "Retrieve all compiler analysis jobs. Without page, size, or cursor the first page of " +
+                    "jobs is returned.")
+    @Parameter(in = ParameterIn.QUERY, description = "Sorting criteria in the format: property(,asc|desc). " +
+            "Default sort order is ascending. " +
+            "Multiple sort criteria are supported.", name = "sort", content = @Content(array = @ArraySchema(schema =
+    @Schema(type = "string"))))
     @GetMapping("/" + Constants.JOBS)
     @Transactional
-    public HttpEntity<CompilationJobListDto> getCompilerAnalysisJobs() {
+    public HttpEntity<CompilationJobListDto> getCompilerAnalysisJobs(PageRequestDto pageRequest,
+                                                                     @RequestParam(required = false) Boolean ready,
+                                                                     @Parameter(hidden = true) Sort sort) {
+        PagingService.Result<CompilationJob> page;
+        try {
+            page = pagingService.findPage(compilationJobRepository, CompilationJob.class,
+                    getCompilationJobFilter(pageRequest, ready), CompilationJob::getTime, pageRequest, sort);
+        } catch (IllegalArgumentException e) {
+            LOG.error("Unable to retrieve compiler analysis jobs: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
         CompilationJobListDto model = new CompilationJobListDto();
-        model.add(compilationJobRepository.findAll().stream().map(this::createJobDto).collect(Collectors.toList()));
-        model.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisJobs()).withSelfRel());
+        model.add(page.getContent().stream().map(this::createJobDto).collect(Collectors.toList()));
+        model.setPage(page.getPage());
+        model.setNextCursor(page.getNextCursor());
+        model.add(linkTo(methodOn(CompilerAnalysisResultController.class)
+                .getCompilerAnalysisJobs(pageRequest, ready, sort)).withSelfRel());
         return new ResponseEntity<>(model, HttpStatus.OK);
     }
 
+    @Operation(responses = {@ApiResponse(responseCode = "200")},
+            description = "Export all compiler analysis jobs as newline-delimited JSON")
+    @GetMapping(value = "/" + Constants.JOBS, params = "format=ndjson", produces = PagingService.NDJSON)
+    @Transactional
+    public void exportCompilerAnalysisJobs(PageRequestDto pageRequest, @RequestParam(required = false) Boolean ready,
+                                           HttpServletResponse response) throws IOException {
+        pagingService.export(CompilationJob.class, getCompilationJobFilter(pageRequest, ready), CompilationJob::getTime,
+                CompilationJobDto.Converter::convert, response);
+    }
+
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
             description = "Retrieve a single compilation result")
     @GetMapping("/{resId}")
@@ -117,6 +197,30 @@ public class CompilerAnalysisResultController {
         return new ResponseEntity<>(createDto(result.get()), HttpStatus.OK);
     }
 
+    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
+            description = "Download the initial circuit of a compilation result")
+    @GetMapping(value = "/{resId}/" + Constants.INITIAL_CIRCUIT, produces = MediaType.TEXT_PLAIN_VALUE)
+    public HttpEntity<String> getInitialCircuit(@PathVariable UUID resId) {
+        Optional<CompilationResult> result = compilerAnalysisResultRepository.findById(resId);
+        if (!result.isPresent() || Objects.isNull(result.get().getInitialCircuit())) {
+            LOG.error("Unable to retrieve initial circuit of compilation result with id {}.", resId);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(result.get().getInitialCircuit(), HttpStatus.OK);
+    }
+
+    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
+            description = "Download the transpiled circuit of a compilation result")
+    @GetMapping(value = "/{resId}/" + Constants.TRANSPILED_CIRCUIT, produces = MediaType.TEXT_PLAIN_VALUE)
+    public HttpEntity<String> getTranspiledCircuit(@PathVariable UUID resId) {
+        Optional<CompilationResult> result = compilerAnalysisResultRepository.findById(resId);
+        if (!result.isPresent() || Objects.isNull(result.get().getTranspiledCircuit())) {
+            LOG.error("Unable to retrieve transpiled circuit of compilation result with id {}.", resId);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(result.get().getTranspiledCircuit(), HttpStatus.OK);
+    }
+
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
             description = "Retrieve a single compilation result")
     @GetMapping("/" + Constants.JOBS + "/{resId}")
@@ -163,9 +267,26 @@ public class CompilerAnalysisResultController {
         return new ResponseEntity<>(dto, HttpStatus.ACCEPTED);
     }
 
+    private Specification<CompilationResult> getCompilationResultFilter(PageRequestDto pageRequest, String provider,
+                                                                        String qpu, String compiler) {
+        return Specification.where(PagingService.<CompilationResult>timeBetween(pageRequest))
+                .and(PagingService.equal("provider", provider))
+                .and(PagingService.equal("qpu", qpu))
+                .and(PagingService.equal("compiler", compiler));
+    }
+
+    private Specification<CompilationJob> getCompilationJobFilter(PageRequestDto pageRequest, Boolean ready) {
+        return Specification.where(PagingService.<CompilationJob>timeBetween(pageRequest))
+                .and(PagingService.equal("ready", ready));
+    }
+
     private CompilerAnalysisResultDto createDto(CompilationResult result) {
         CompilerAnalysisResultDto dto = CompilerAnalysisResultDto.Converter.convert(result);
         dto.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisResult(result.getId())).withSelfRel());
+        dto.add(linkTo(methodOn(CompilerAnalysisResultController.class).getInitialCircuit(result.getId()))
+                .withRel(Constants.INITIAL_CIRCUIT));
+        dto.add(linkTo(methodOn(CompilerAnalysisResultController.class).getTranspiledCircuit(result.getId()))
+                .withRel(Constants.TRANSPILED_CIRCUIT));
         // dto.add(linkTo(methodOn(CompilerAnalysisResultController.class).executeCompilationResult(result.getId(), null)).withRel(Constants.EXECUTION));
         for (ExecutionResult executionResult : executionResultRepository.findByCompilationResult(result)) {
             dto.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResult(executionResult.getId()))
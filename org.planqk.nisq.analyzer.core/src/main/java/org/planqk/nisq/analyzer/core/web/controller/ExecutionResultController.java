@@ -22,20 +22,27 @@ package org.planqk.nisq.analyzer.core.web.controller;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
-import java.util.List;
+import java.io.IOException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import javax.servlet.http.HttpServletResponse;
+import javax.transaction.Transactional;
 
 import org.planqk.nisq.analyzer.core.Constants;
 import org.planqk.nisq.analyzer.core.model.ExecutionResult;
+import org.planqk.nisq.analyzer.core.model.ExecutionResultStatus;
 import org.planqk.nisq.analyzer.core.model.Implementation;
 import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
 import org.planqk.nisq.analyzer.core.repository.ImplementationRepository;
+import org.planqk.nisq.analyzer.core.web.PagingService;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.ExecutionResultDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.ExecutionResultListDto;
+import org.planqk.nisq.analyzer.core.web.dtos.requests.PageRequestDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -47,7 +54,11 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -66,17 +77,29 @@ public class ExecutionResultController {
 
     private final ExecutionResultRepository executionResultRepository;
 
-    public ExecutionResultController(ImplementationRepository implementationRepository, ExecutionResultRepository executionResultRepository) {
+    private final PagingService pagingService;
+
+    public ExecutionResultController(ImplementationRepository implementationRepository, ExecutionResultRepository executionResultRepository,
+                                     PagingService pagingService) {
         this.implementationRepository = implementationRepository;
         this.executionResultRepository = executionResultRepository;
+        this.pagingService = pagingService;
     }
 
-    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
-            description = "Retrieve all execution results for an Implementation")
+    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
+            @ApiResponse(responseCode = "404", content = @Content)},
+            description = "Retrieve all execution results for an Implementation. Without page, size, or cursor " +
+                    "the first page of results is returned.")
+    @Parameter(in = ParameterIn.QUERY, description = "Sorting criteria in the format: property(,asc|desc). " +
+            "Default sort order is ascending. " +
+            "Multiple sort criteria are supported.", name = "sort", content = @Content(array = @ArraySchema(schema =
+    @Schema(type = "string"))))
     @GetMapping("/")
-    public HttpEntity<ExecutionResultListDto> getExecutionResults(@RequestParam(required = false) UUID implId) {
-
-        List<ExecutionResult> resultList;
+    public HttpEntity<ExecutionResultListDto> getExecutionResults(
+            @RequestParam(required = false) UUID implId, PageRequestDto pageRequest,
+            @RequestParam(required = false) ExecutionResultStatus status, @RequestParam(required = false) String provider,
+            @RequestParam(required = false) String userId, @Parameter(hidden = true) Sort sort) {
+        Implementation implementation = null;
         if (Objects.nonNull(implId)) {
             LOG.debug("Get to retrieve all execution results for impl with id: {}.", implId);
 
@@ -85,21 +108,55 @@ public class ExecutionResultController {
                 LOG.error("Unable to retrieve implementation with id {} form the repository.", implId);
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             }
-            resultList = executionResultRepository.findByExecutedImplementation(implementationOptional.get());
-        } else {
-            resultList = executionResultRepository.findAll();
+            implementation = implementationOptional.get();
+        }
+
+        PagingService.Result<ExecutionResult> page;
+        try {
+            page = pagingService.findPage(executionResultRepository, ExecutionResult.class,
+                    getFilter(implementation, status, provider, userId), null, pageRequest, sort);
+        } catch (IllegalArgumentException e) {
+            LOG.error("Unable to retrieve execution results: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
 
         ExecutionResultListDto dtoList = new ExecutionResultListDto();
-        for (ExecutionResult executionResult : resultList) {
+        for (ExecutionResult executionResult : page.getContent()) {
             dtoList.add(createExecutionResultDto(executionResult));
             dtoList.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResult(executionResult.getId()))
                     .withRel(executionResult.getId().toString()));
         }
-        dtoList.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResults(implId)).withSelfRel());
+        dtoList.setPage(page.getPage());
+        dtoList.setNextCursor(page.getNextCursor());
+        dtoList.add(linkTo(methodOn(ExecutionResultController.class)
+                .getExecutionResults(implId, pageRequest, status, provider, userId, sort)).withSelfRel());
         return new ResponseEntity<>(dtoList, HttpStatus.OK);
     }
 
+    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
+            description = "Export all execution results for an Implementation as newline-delimited JSON")
+    @GetMapping(value = "/", params = "format=ndjson", produces = PagingService.NDJSON)
+    @Transactional
+    public void exportExecutionResults(@RequestParam(required = false) UUID implId,
+                                       @RequestParam(required = false) ExecutionResultStatus status,
+                                       @RequestParam(required = false) String provider,
+                                       @RequestParam(required = false) String userId,
+                                       HttpServletResponse response) throws IOException {
+        Implementation implementation = null;
+        if (Objects.nonNull(implId)) {
+            Optional<Implementation> implementationOptional = implementationRepository.findById(implId);
+            if (!implementationOptional.isPresent()) {
+                LOG.error("Unable to retrieve implementation with id {} form the repository.", implId);
+                response.sendError(HttpStatus.NOT_FOUND.value());
+                return;
+            }
+            implementation = implementationOptional.get();
+        }
+
+        pagingService.export(ExecutionResult.class, getFilter(implementation, status, provider, userId), null,
+                ExecutionResultDto.Converter::convert, response);
+    }
+
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
             description = "Retrieve a single execution result")
     @GetMapping("/{resultId}")
@@ -115,6 +172,14 @@ public class ExecutionResultController {
         return new ResponseEntity<>(createExecutionResultDto(executionResultOptional.get()), HttpStatus.CREATED);
     }
 
+    private Specification<ExecutionResult> getFilter(Implementation implementation, ExecutionResultStatus status,
+                                                     String provider, String userId) {
+        return Specification.where(PagingService.<ExecutionResult>equal("executedImplementation", implementation))
+                .and(PagingService.equal("status", status))
+                .and(PagingService.equal("qpuSelectionResult.provider", provider))
+                .and(PagingService.equal("qpuSelectionResult.userId", userId));
+    }
+
     /**
      * Create a DTO object for a given {@link ExecutionResult} with the contained data and the links to related objects.
      *
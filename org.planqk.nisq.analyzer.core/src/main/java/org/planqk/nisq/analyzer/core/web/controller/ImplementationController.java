@@ -22,12 +22,15 @@ package org.planqk.nisq.analyzer.core.web.controller;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletResponse;
+import javax.transaction.Transactional;
 
 import org.planqk.nisq.analyzer.core.Constants;
 import org.planqk.nisq.analyzer.core.control.NisqAnalyzerControlService;
@@ -35,12 +38,15 @@ import org.planqk.nisq.analyzer.core.model.Implementation;
 import org.planqk.nisq.analyzer.core.model.Sdk;
 import org.planqk.nisq.analyzer.core.repository.ImplementationRepository;
 import org.planqk.nisq.analyzer.core.repository.SdkRepository;
+import org.planqk.nisq.analyzer.core.web.PagingService;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.ImplementationDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.ImplementationListDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.ParameterDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.ParameterListDto;
+import org.planqk.nisq.analyzer.core.web.dtos.requests.PageRequestDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -56,7 +62,11 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -77,11 +87,14 @@ public class ImplementationController {
 
     private final SdkRepository sdkRepository;
 
+    private final PagingService pagingService;
+
     public ImplementationController(ImplementationRepository implementationRepository, SdkRepository sdkRepository,
-                                    NisqAnalyzerControlService controlService) {
+                                    NisqAnalyzerControlService controlService, PagingService pagingService) {
         this.implementationRepository = implementationRepository;
         this.sdkRepository = sdkRepository;
         this.controlService = controlService;
+        this.pagingService = pagingService;
     }
 
     /**
@@ -107,30 +120,53 @@ public class ImplementationController {
         return true;
     }
 
-    @Operation(responses = {@ApiResponse(responseCode = "200"),
+    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
         @ApiResponse(responseCode = "404", content = @Content)}, description = "Retrieve implementations for an " +
-        "algorithm")
+        "algorithm. Without page, size, or cursor the first page of implementations is returned.")
+    @Parameter(in = ParameterIn.QUERY, description = "Sorting criteria in the format: property(,asc|desc). " +
+        "Default sort order is ascending. " +
+        "Multiple sort criteria are supported.", name = "sort", content = @Content(array = @ArraySchema(schema =
+    @Schema(type = "string"))))
     @GetMapping("/")
-    public HttpEntity<ImplementationListDto> getImplementations(@RequestParam(required = false) UUID algoId) {
+    public HttpEntity<ImplementationListDto> getImplementations(@RequestParam(required = false) UUID algoId,
+                                                                PageRequestDto pageRequest,
+                                                                @Parameter(hidden = true) Sort sort) {
         LOG.debug("Get to retrieve all implementations received.");
-        ImplementationListDto dtoList = new ImplementationListDto();
+        PagingService.Result<Implementation> page;
+        try {
+            page = pagingService.findPage(implementationRepository, Implementation.class,
+                PagingService.equal("implementedAlgorithm", algoId), null, pageRequest, sort);
+        } catch (IllegalArgumentException e) {
+            LOG.error("Unable to retrieve implementations: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
 
-        // add all available implementations to the response
-        for (Implementation impl : implementationRepository.findAll()) {
-            // skip impl if query parameter is defined and algo id does not match
-            if (Objects.nonNull(algoId) && !impl.getImplementedAlgorithm().equals(algoId)) {
-                continue;
-            }
+        // add all requested implementations to the response
+        ImplementationListDto dtoList = new ImplementationListDto();
+        for (Implementation impl : page.getContent()) {
             dtoList.add(createImplementationDto(impl));
             dtoList.add(linkTo(methodOn(ImplementationController.class).getImplementation(impl.getId())).withRel(
                 impl.getId().toString()));
         }
+        dtoList.setPage(page.getPage());
+        dtoList.setNextCursor(page.getNextCursor());
 
         // add links and status code
-        dtoList.add(linkTo(methodOn(ImplementationController.class).getImplementations(algoId)).withSelfRel());
+        dtoList.add(linkTo(methodOn(ImplementationController.class).getImplementations(algoId, pageRequest, sort))
+            .withSelfRel());
         return new ResponseEntity<>(dtoList, HttpStatus.OK);
     }
 
+    @Operation(responses = {@ApiResponse(responseCode = "200")}, description = "Export implementations for an " +
+        "algorithm as newline-delimited JSON")
+    @GetMapping(value = "/", params = "format=ndjson", produces = PagingService.NDJSON)
+    @Transactional
+    public void exportImplementations(@RequestParam(required = false) UUID algoId, HttpServletResponse response)
+        throws IOException {
+        pagingService.export(Implementation.class, PagingService.equal("implementedAlgorithm", algoId), null,
+            ImplementationDto.Converter::convert, response);
+    }
+
     @Operation(responses = {@ApiResponse(responseCode = "200"),
         @ApiResponse(responseCode = "404", content = @Content)}, description = "Retrieve an implementation")
     @GetMapping("/{implId}")
@@ -337,8 +373,8 @@ public class ImplementationController {
         ImplementationDto dto = ImplementationDto.Converter.convert(implementation);
         dto.add(
             linkTo(methodOn(ImplementationController.class).getImplementation(implementation.getId())).withSelfRel());
-        dto.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResults(implementation.getId())).withRel(
-            Constants.RESULTS_LINK));
+        dto.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResults(implementation.getId(), null,
+            null, null, null, null)).withRel(Constants.RESULTS_LINK));
         dto.add(linkTo(methodOn(ImplementationController.class).getInputParameters(implementation.getId())).withRel(
             Constants.INPUT_PARAMS));
         dto.add(linkTo(methodOn(ImplementationController.class).getOutputParameters(implementation.getId())).withRel(
@@ -51,6 +51,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -124,6 +125,32 @@ public class QpuSelectionResultController {
         }
     }
 
+    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "403", content = @Content),
+        @ApiResponse(responseCode = "404", content = @Content)}, description = "Download the transpiled circuit of a " +
+        "QPU selection result")
+    @GetMapping(value = "/{resId}/" + Constants.TRANSPILED_CIRCUIT, produces = MediaType.TEXT_PLAIN_VALUE)
+    public HttpEntity<String> getTranspiledCircuit(@PathVariable UUID resId,
+                                                   @RequestParam(value = "userId", required = false) String userId) {
+        // check the owner before loading the result, so that the circuit is only loaded for the user owning it
+        if (!qpuSelectionResultRepository.existsByIdAndUserId(resId, userId)) {
+            if (!qpuSelectionResultRepository.existsById(resId)) {
+                LOG.error("Unable to retrieve QPU selection result with id {} from the repository.", resId);
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            LOG.error("Unable to retrieve transpiled circuit of QPU selection result with id {} for user {}.", resId,
+                userId);
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+
+        String transpiledCircuit = qpuSelectionResultRepository.findById(resId)
+            .map(QpuSelectionResult::getTranspiledCircuit).orElse(null);
+        if (Objects.isNull(transpiledCircuit)) {
+            LOG.error("Unable to retrieve transpiled circuit of QPU selection result with id {}.", resId);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(transpiledCircuit, HttpStatus.OK);
+    }
+
     @Operation(responses = {@ApiResponse(responseCode = "200"),
         @ApiResponse(responseCode = "404", content = @Content)}, description = "Retrieve all QPU selection jobs")
     @GetMapping("/" + Constants.JOBS)
@@ -252,6 +279,8 @@ public class QpuSelectionResultController {
         QpuSelectionResultDto dto = QpuSelectionResultDto.Converter.convert(result);
         dto.add(linkTo(methodOn(QpuSelectionResultController.class).getQpuSelectionResult(result.getId(),
             result.getUserId())).withSelfRel().expand());
+        dto.add(linkTo(methodOn(QpuSelectionResultController.class).getTranspiledCircuit(result.getId(),
+            result.getUserId())).withRel(Constants.TRANSPILED_CIRCUIT).expand());
         //dto.add(linkTo(methodOn(QpuSelectionResultController.class).executeQpuSelectionResult(result.getId(), null)
         // ).withRel(Constants.EXECUTION));
         for (ExecutionResult executionResult : executionResultRepository.findByQpuSelectionResult(result)) {
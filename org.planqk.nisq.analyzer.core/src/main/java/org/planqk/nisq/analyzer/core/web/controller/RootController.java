@@ -31,13 +31,17 @@ import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 import org.planqk.nisq.analyzer.core.Constants;
 import org.planqk.nisq.analyzer.core.control.NisqAnalyzerControlService;
+import org.planqk.nisq.analyzer.core.execution.JobExecutorService;
+import org.planqk.nisq.analyzer.core.execution.JobQueue;
 import org.planqk.nisq.analyzer.core.model.AnalysisJob;
 import org.planqk.nisq.analyzer.core.model.CompilationJob;
 import org.planqk.nisq.analyzer.core.model.QpuSelectionJob;
+import org.planqk.nisq.analyzer.core.planqk.PlanqkTokenService;
 import org.planqk.nisq.analyzer.core.repository.AnalysisJobRepository;
 import org.planqk.nisq.analyzer.core.repository.CompilationJobRepository;
 import org.planqk.nisq.analyzer.core.repository.QpuSelectionJobRepository;
@@ -63,6 +67,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -89,14 +94,26 @@ public class RootController {
 
     private final QpuSelectionJobRepository qpuSelectionJobRepository;
 
+    private final JobExecutorService jobExecutorService;
+
+    private final RestTemplate restTemplate;
+
+    private final PlanqkTokenService planqkTokenService;
+
     public RootController(NisqAnalyzerControlService nisqAnalyzerService,
                           CompilationJobRepository compilationJobRepository,
                           AnalysisJobRepository analysisJobRepository,
-                          QpuSelectionJobRepository qpuSelectionJobRepository) {
+                          QpuSelectionJobRepository qpuSelectionJobRepository,
+                          JobExecutorService jobExecutorService,
+                          RestTemplate restTemplate,
+                          PlanqkTokenService planqkTokenService) {
         this.nisqAnalyzerService = nisqAnalyzerService;
         this.compilationJobRepository = compilationJobRepository;
         this.analysisJobRepository = analysisJobRepository;
         this.qpuSelectionJobRepository = qpuSelectionJobRepository;
+        this.jobExecutorService = jobExecutorService;
+        this.restTemplate = restTemplate;
+        this.planqkTokenService = planqkTokenService;
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200")}, description = "Root operation, returns further links")
@@ -106,8 +123,8 @@ public class RootController {
 
         // add links to sub-controllers
         responseEntity.add(linkTo(methodOn(RootController.class).root()).withSelfRel());
-        responseEntity.add(linkTo(methodOn(ImplementationController.class).getImplementations(null)).withRel(
-            Constants.IMPLEMENTATIONS));
+        responseEntity.add(linkTo(methodOn(ImplementationController.class).getImplementations(null, null, null))
+            .withRel(Constants.IMPLEMENTATIONS));
         responseEntity.add(linkTo(methodOn(SdkController.class).getSdks()).withRel(Constants.SDKS));
         responseEntity.add(
             linkTo(methodOn(RootController.class).getSelectionParams(null)).withRel(Constants.SELECTION_PARAMS));
@@ -116,10 +133,10 @@ public class RootController {
         responseEntity.add(linkTo(methodOn(RootController.class).selectCompilerForFile(null, null)).withRel(
             Constants.COMPILER_SELECTION));
         responseEntity.add(
-            linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisResults()).withRel(
-                Constants.COMPILER_RESULTS));
-        responseEntity.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResults(null)).withRel(
-            Constants.EXECUTION_RESULTS));
+            linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisResults(null, null, null, null,
+                null)).withRel(Constants.COMPILER_RESULTS));
+        responseEntity.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResults(null, null, null, null,
+            null, null)).withRel(Constants.EXECUTION_RESULTS));
         responseEntity.add(linkTo(methodOn(XmcdaCriteriaController.class).getSupportedPrioritizationMethods()).withRel(
             Constants.MCDA_METHODS));
 
@@ -150,7 +167,8 @@ public class RootController {
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
-        @ApiResponse(responseCode = "500", content = @Content)}, description = "Select implementations for an " +
+        @ApiResponse(responseCode = "429", content = @Content), @ApiResponse(responseCode = "500", content = @Content)},
+        description = "Select implementations for an " +
         "algorithm")
     @PostMapping("/" + Constants.SELECTION)
     public HttpEntity<AnalysisJobDto> selectImplementations(@RequestBody SelectionRequestDto params) {
@@ -173,14 +191,23 @@ public class RootController {
         job.setInputParameters(params.getParameters());
         analysisJobRepository.save(job);
 
-        new Thread(() -> {
-            nisqAnalyzerService.performSelection(job, params.getAlgorithmId(), params.getParameters(),
-                params.getTokens(), params.getRefreshToken(), params.getAllowedProviders(), params.getCompilers(),
-                params.isPreciseResultsPreference(), params.isShortWaitingTimesPreference(),
-                params.getQueueImportanceRatio(), params.getMaxNumberOfCompiledCircuits(),
-                params.getPredictionAlgorithm(), params.getMetaOptimizer(), params.getMcdaMethodName(),
-                params.getMcdaWeightLearningMethod());
-        }).start();
+        try {
+            jobExecutorService.submit(JobQueue.ANALYSIS, () -> {
+                nisqAnalyzerService.performSelection(job, params.getAlgorithmId(), params.getParameters(),
+                    params.getTokens(), params.getRefreshToken(), params.getAllowedProviders(), params.getCompilers(),
+                    params.isPreciseResultsPreference(), params.isShortWaitingTimesPreference(),
+                    params.getQueueImportanceRatio(), params.getMaxNumberOfCompiledCircuits(),
+                    params.getPredictionAlgorithm(), params.getMetaOptimizer(), params.getMcdaMethodName(),
+                    params.getMcdaWeightLearningMethod());
+            }, e -> {
+                job.setReady(true);
+                analysisJobRepository.save(job);
+            });
+        } catch (RejectedExecutionException e) {
+            analysisJobRepository.delete(job);
+            return new ResponseEntity("Too many running selection jobs, please try again later.",
+                HttpStatus.TOO_MANY_REQUESTS);
+        }
 
         AnalysisJobDto dto = AnalysisJobDto.Converter.convert(job);
         dto.add(linkTo(methodOn(AnalysisResultController.class).getAnalysisJob(job.getId())).withSelfRel());
@@ -188,7 +215,8 @@ public class RootController {
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
-        @ApiResponse(responseCode = "500", content = @Content)}, description = "Select the most suitable quantum " +
+        @ApiResponse(responseCode = "429", content = @Content), @ApiResponse(responseCode = "500", content = @Content)},
+        description = "Select the most suitable quantum " +
         "computer for a quantum circuit passed in as file")
     @PostMapping(value = "/" + Constants.QPU_SELECTION, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public HttpEntity<QpuSelectionJobDto> selectQpuForCircuitFile(@RequestBody QpuSelectionDto qpuSelectionDto,
@@ -214,14 +242,23 @@ public class RootController {
         }
 
         qpuSelectionJobRepository.save(job);
-        new Thread(() -> {
-            nisqAnalyzerService.performQpuSelectionForCircuit(job, qpuSelectionDto.getAllowedProviders(),
-                qpuSelectionDto.getCircuitLanguage(), circuitFile, qpuSelectionDto.getTokens(),
-                qpuSelectionDto.getCircuitName(), qpuSelectionDto.getCompilers(),
-                qpuSelectionDto.isPreciseResultsPreference(), qpuSelectionDto.isShortWaitingTimesPreference(),
-                qpuSelectionDto.getQueueImportanceRatio(), qpuSelectionDto.getMaxNumberOfCompiledCircuits(),
-                qpuSelectionDto.getPredictionAlgorithm(), qpuSelectionDto.getMetaOptimizer());
-        }).start();
+        try {
+            jobExecutorService.submit(JobQueue.QPU_SELECTION, () -> {
+                nisqAnalyzerService.performQpuSelectionForCircuit(job, qpuSelectionDto.getAllowedProviders(),
+                    qpuSelectionDto.getCircuitLanguage(), circuitFile, qpuSelectionDto.getTokens(),
+                    qpuSelectionDto.getCircuitName(), qpuSelectionDto.getCompilers(),
+                    qpuSelectionDto.isPreciseResultsPreference(), qpuSelectionDto.isShortWaitingTimesPreference(),
+                    qpuSelectionDto.getQueueImportanceRatio(), qpuSelectionDto.getMaxNumberOfCompiledCircuits(),
+                    qpuSelectionDto.getPredictionAlgorithm(), qpuSelectionDto.getMetaOptimizer());
+            }, e -> {
+                job.setReady(true);
+                qpuSelectionJobRepository.save(job);
+            });
+        } catch (RejectedExecutionException e) {
+            qpuSelectionJobRepository.delete(job);
+            return new ResponseEntity("Too many running QPU selection jobs, please try again later.",
+                HttpStatus.TOO_MANY_REQUESTS);
+        }
 
         // send back QPU selection job to track the progress
         QpuSelectionJobDto dto = QpuSelectionJobDto.Converter.convert(job);
@@ -244,7 +281,7 @@ public class RootController {
                 Utils.inputStreamToFile(new ByteArrayInputStream(qasm.getBytes(StandardCharsets.UTF_8)), "qasm");
         } else {
             // get file from passed URL
-            circuitFile = Utils.getFileObjectFromUrl(url, refreshToken);
+            circuitFile = Utils.getFileObjectFromUrl(restTemplate, planqkTokenService, url, refreshToken);
             if (Objects.isNull(circuitFile)) {
                 throw new IOException("Unable to load file from given URL");
             }
@@ -254,7 +291,8 @@ public class RootController {
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
-        @ApiResponse(responseCode = "500", content = @Content)}, description = "Select the most suitable quantum " +
+        @ApiResponse(responseCode = "429", content = @Content), @ApiResponse(responseCode = "500", content = @Content)},
+        description = "Select the most suitable quantum " +
         "computer for a quantum circuit loaded from the given URL")
     @PostMapping(value = "/" + Constants.QPU_SELECTION, consumes = {MediaType.APPLICATION_XML_VALUE,
         MediaType.APPLICATION_JSON_VALUE})
@@ -284,13 +322,22 @@ public class RootController {
 
         qpuSelectionJobRepository.save(job);
 
-        new Thread(() -> {
-            nisqAnalyzerService.performQpuSelectionForCircuit(job, params.getAllowedProviders(),
-                params.getCircuitLanguage(), circuitFile, params.getTokens(), params.getCircuitName(),
-                params.getCompilers(), params.isPreciseResultsPreference(), params.isShortWaitingTimesPreference(),
-                params.getQueueImportanceRatio(), params.getMaxNumberOfCompiledCircuits(),
-                params.getPredictionAlgorithm(), params.getMetaOptimizer());
-        }).start();
+        try {
+            jobExecutorService.submit(JobQueue.QPU_SELECTION, () -> {
+                nisqAnalyzerService.performQpuSelectionForCircuit(job, params.getAllowedProviders(),
+                    params.getCircuitLanguage(), circuitFile, params.getTokens(), params.getCircuitName(),
+                    params.getCompilers(), params.isPreciseResultsPreference(), params.isShortWaitingTimesPreference(),
+                    params.getQueueImportanceRatio(), params.getMaxNumberOfCompiledCircuits(),
+                    params.getPredictionAlgorithm(), params.getMetaOptimizer());
+            }, e -> {
+                job.setReady(true);
+                qpuSelectionJobRepository.save(job);
+            });
+        } catch (RejectedExecutionException e) {
+            qpuSelectionJobRepository.delete(job);
+            return new ResponseEntity("Too many running QPU selection jobs, please try again later.",
+                HttpStatus.TOO_MANY_REQUESTS);
+        }
 
         // send back QPU selection job to track the progress
         QpuSelectionJobDto dto = QpuSelectionJobDto.Converter.convert(job);
@@ -300,7 +347,8 @@ public class RootController {
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
-        @ApiResponse(responseCode = "500", content = @Content)}, description = "Select the most suitable compiler for" +
+        @ApiResponse(responseCode = "429", content = @Content), @ApiResponse(responseCode = "500", content = @Content)},
+        description = "Select the most suitable compiler for" +
         " an implementation passed in as file")
     @PostMapping(value = "/" + Constants.COMPILER_SELECTION, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public HttpEntity<CompilationJobDto> selectCompilerForFile(@RequestBody CompilerSelectionDto compilerSelectionDto,
@@ -314,12 +362,21 @@ public class RootController {
 
         // create object for the compilation job and call asynchronously to update the job
         CompilationJob job = compilationJobRepository.save(new CompilationJob());
-        new Thread(() -> {
-            nisqAnalyzerService.performCompilerSelection(job, compilerSelectionDto.getProviderName().toLowerCase(),
-                compilerSelectionDto.getQpuName().toLowerCase(),
-                compilerSelectionDto.getCircuitLanguage().toLowerCase(), circuitFile,
-                compilerSelectionDto.getCircuitName(), null, compilerSelectionDto.getTokens());
-        }).start();
+        try {
+            jobExecutorService.submit(JobQueue.COMPILATION, () -> {
+                nisqAnalyzerService.performCompilerSelection(job, compilerSelectionDto.getProviderName().toLowerCase(),
+                    compilerSelectionDto.getQpuName().toLowerCase(),
+                    compilerSelectionDto.getCircuitLanguage().toLowerCase(), circuitFile,
+                    compilerSelectionDto.getCircuitName(), null, compilerSelectionDto.getTokens());
+            }, e -> {
+                job.setReady(true);
+                compilationJobRepository.save(job);
+            });
+        } catch (RejectedExecutionException e) {
+            compilationJobRepository.delete(job);
+            return new ResponseEntity("Too many running compilation jobs, please try again later.",
+                HttpStatus.TOO_MANY_REQUESTS);
+        }
 
         // send back compilation job
         CompilationJobDto dto = CompilationJobDto.Converter.convert(job);
@@ -329,7 +386,8 @@ public class RootController {
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
-        @ApiResponse(responseCode = "500", content = @Content)}, description = "Select the most suitable compiler for" +
+        @ApiResponse(responseCode = "429", content = @Content), @ApiResponse(responseCode = "500", content = @Content)},
+        description = "Select the most suitable compiler for" +
         " an implementation loaded from the given URL")
     @PostMapping(value = "/" + Constants.COMPILER_SELECTION, consumes = {MediaType.APPLICATION_XML_VALUE,
         MediaType.APPLICATION_JSON_VALUE})
@@ -355,12 +413,21 @@ public class RootController {
 
         // create object for the compilation job and call asynchronously to update the job
         CompilationJob job = compilationJobRepository.save(new CompilationJob());
-        new Thread(() -> {
-            nisqAnalyzerService.performCompilerSelection(job, compilerSelectionDto.getProviderName().toLowerCase(),
-                compilerSelectionDto.getQpuName().toLowerCase(),
-                compilerSelectionDto.getCircuitLanguage().toLowerCase(), circuitFile,
-                compilerSelectionDto.getCircuitName(), null, compilerSelectionDto.getTokens());
-        }).start();
+        try {
+            jobExecutorService.submit(JobQueue.COMPILATION, () -> {
+                nisqAnalyzerService.performCompilerSelection(job, compilerSelectionDto.getProviderName().toLowerCase(),
+                    compilerSelectionDto.getQpuName().toLowerCase(),
+                    compilerSelectionDto.getCircuitLanguage().toLowerCase(), circuitFile,
+                    compilerSelectionDto.getCircuitName(), null, compilerSelectionDto.getTokens());
+            }, e -> {
+                job.setReady(true);
+                compilationJobRepository.save(job);
+            });
+        } catch (RejectedExecutionException e) {
+            compilationJobRepository.delete(job);
+            return new ResponseEntity("Too many running compilation jobs, please try again later.",
+                HttpStatus.TOO_MANY_REQUESTS);
+        }
 
         // send back compilation job
         CompilationJobDto dto = CompilationJobDto.Converter.convert(job);
@@ -29,9 +29,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 import org.planqk.nisq.analyzer.core.Constants;
+import org.planqk.nisq.analyzer.core.execution.JobExecutorService;
+import org.planqk.nisq.analyzer.core.execution.JobQueue;
 import org.planqk.nisq.analyzer.core.model.ExecutionResultStatus;
 import org.planqk.nisq.analyzer.core.model.JobType;
 import org.planqk.nisq.analyzer.core.model.McdaJob;
@@ -101,6 +104,8 @@ public class XmcdaCriteriaController {
 
     final private QpuSelectionResultRepository qpuSelectionResultRepository;
 
+    final private JobExecutorService jobExecutorService;
+
     @Operation(responses = {
         @ApiResponse(responseCode = "200")}, description = "Get all supported prioritization methods")
     @GetMapping("/")
@@ -319,7 +324,8 @@ public class XmcdaCriteriaController {
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
-        @ApiResponse(responseCode = "500", content = @Content)}, description = "Run the MCDA method on the NISQ " +
+        @ApiResponse(responseCode = "429", content = @Content), @ApiResponse(responseCode = "500", content = @Content)},
+        description = "Run the MCDA method on the NISQ " +
         "Analyzer job passed as parameter")
     @PostMapping(value = "/{methodName}/" + Constants.MCDA_PRIORITIZE)
     public HttpEntity<EntityModel<McdaJob>> prioritizeCompiledCircuitsOfJob(@PathVariable String methodName,
@@ -369,9 +375,17 @@ public class XmcdaCriteriaController {
         // store object to generate UUID
         McdaJob storedMcdaJob = mcdaJobRepository.save(mcdaJob);
 
-        new Thread(() -> {
-            mcdaMethod.executeMcdaMethod(storedMcdaJob);
-        }).start();
+        try {
+            jobExecutorService.submit(JobQueue.MCDA, () -> mcdaMethod.executeMcdaMethod(storedMcdaJob), e -> {
+                storedMcdaJob.setState(ExecutionResultStatus.FAILED.toString());
+                storedMcdaJob.setReady(true);
+                mcdaJobRepository.save(storedMcdaJob);
+            });
+        } catch (RejectedExecutionException e) {
+            mcdaJobRepository.delete(storedMcdaJob);
+            return new ResponseEntity("Too many running prioritization jobs, please try again later.",
+                HttpStatus.TOO_MANY_REQUESTS);
+        }
 
         // return dto with link to poll for updates
         EntityModel<McdaJob> mcdaJobDto = new EntityModel<>(storedMcdaJob);
@@ -432,7 +446,8 @@ public class XmcdaCriteriaController {
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
-        @ApiResponse(responseCode = "500", content = @Content)}, description = "Run the MCDA method and weight " +
+        @ApiResponse(responseCode = "429", content = @Content), @ApiResponse(responseCode = "500", content = @Content)},
+        description = "Run the MCDA method and weight " +
         "learning method on the NISQ Analyzer, job passed as parameter")
     @PostMapping(value = "/{methodName}/" + Constants.WEIGHT_LEARNING_METHODS + "/{weightLearningMethod}/" +
         Constants.MCDA_LEARN_WEIGHTS)
@@ -468,9 +483,18 @@ public class XmcdaCriteriaController {
         // store object to generate UUID
         McdaWeightLearningJob storedMcdaWeightLearningJob = mcdaWeightLearningJobRepository.save(mcdaWeightLearningJob);
 
-        new Thread(() -> {
-            prioritizationService.learnWeights(storedMcdaWeightLearningJob);
-        }).start();
+        try {
+            jobExecutorService.submit(JobQueue.WEIGHT_LEARNING,
+                () -> prioritizationService.learnWeights(storedMcdaWeightLearningJob), e -> {
+                    storedMcdaWeightLearningJob.setState(ExecutionResultStatus.FAILED.toString());
+                    storedMcdaWeightLearningJob.setReady(true);
+                    mcdaWeightLearningJobRepository.save(storedMcdaWeightLearningJob);
+                });
+        } catch (RejectedExecutionException e) {
+            mcdaWeightLearningJobRepository.delete(storedMcdaWeightLearningJob);
+            return new ResponseEntity("Too many running weight learning jobs, please try again later.",
+                HttpStatus.TOO_MANY_REQUESTS);
+        }
 
         // return dto with link to poll for updates
         EntityModel<McdaWeightLearningJob> mcdaWeightLearningJobDto = new EntityModel<>(storedMcdaWeightLearningJob);
@@ -551,7 +575,8 @@ public class XmcdaCriteriaController {
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
-        @ApiResponse(responseCode = "500", content = @Content)}, description = "Run the MCDA method on the NISQ " +
+        @ApiResponse(responseCode = "429", content = @Content), @ApiResponse(responseCode = "500", content = @Content)},
+        description = "Run the MCDA method on the NISQ " +
         "Analyzer job passed as parameter")
     @PostMapping(value = "/{methodName}/" + Constants.MCDA_SENSITIVITY_ANALYZES + "/" +
         Constants.MCDA_ANALYZE_SENSITIVITY)
@@ -601,9 +626,18 @@ public class XmcdaCriteriaController {
         McdaSensitivityAnalysisJob storedMcdaSensitivityAnalysisJob =
             mcdaSensitivityAnalysisJobRepository.save(mcdaSensitivityAnalysisJob);
 
-        new Thread(() -> {
-            prioritizationService.analyzeSensitivity(storedMcdaSensitivityAnalysisJob);
-        }).start();
+        try {
+            jobExecutorService.submit(JobQueue.SENSITIVITY_ANALYSIS,
+                () -> prioritizationService.analyzeSensitivity(storedMcdaSensitivityAnalysisJob), e -> {
+                    storedMcdaSensitivityAnalysisJob.setState(ExecutionResultStatus.FAILED.toString());
+                    storedMcdaSensitivityAnalysisJob.setReady(true);
+                    mcdaSensitivityAnalysisJobRepository.save(storedMcdaSensitivityAnalysisJob);
+                });
+        } catch (RejectedExecutionException e) {
+            mcdaSensitivityAnalysisJobRepository.delete(storedMcdaSensitivityAnalysisJob);
+            return new ResponseEntity("Too many running sensitivity analysis jobs, please try again later.",
+                HttpStatus.TOO_MANY_REQUESTS);
+        }
 
         // return dto with link to poll for updates
         EntityModel<McdaSensitivityAnalysisJob> mcdaSensitivityAnalysisJobDto =
@@ -23,9 +23,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import lombok.Getter;
-import org.springframework.hateoas.RepresentationModel;
 
-public class AnalysisJobListDto extends RepresentationModel<AnalysisJobListDto> {
+public class AnalysisJobListDto extends PagedListDto<AnalysisJobListDto> {
 
     @Getter
     private final List<AnalysisJobDto> analysisJobList = new ArrayList<>();
@@ -22,11 +22,9 @@ package org.planqk.nisq.analyzer.core.web.dtos.entities;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.springframework.hateoas.RepresentationModel;
-
 import lombok.Getter;
 
-public class CompilationJobListDto extends RepresentationModel<CompilationJobListDto> {
+public class CompilationJobListDto extends PagedListDto<CompilationJobListDto> {
 
     @Getter
     private final List<CompilationJobDto> compilationJobList = new ArrayList<>();
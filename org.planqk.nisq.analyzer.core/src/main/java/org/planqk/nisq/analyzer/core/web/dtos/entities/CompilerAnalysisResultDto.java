@@ -30,12 +30,8 @@ import lombok.EqualsAndHashCode;
 @Data
 public class CompilerAnalysisResultDto extends CircuitResultDto {
 
-    String initialCircuit;
-
     String circuitName;
 
-    String transpiledCircuit;
-
     public static final class Converter {
 
         public static CompilerAnalysisResultDto convert(final CompilationResult object) {
@@ -52,8 +48,6 @@ public class CompilerAnalysisResultDto extends CircuitResultDto {
             dto.setAnalyzedNumberOfMultiQubitGates(object.getAnalyzedNumberOfMultiQubitGates());
             dto.setAnalyzedMultiQubitGateDepth(object.getAnalyzedMultiQubitGateDepth());
             dto.setCircuitName(object.getCircuitName());
-            dto.setInitialCircuit(object.getInitialCircuit());
-            dto.setTranspiledCircuit(object.getTranspiledCircuit());
             dto.setAvgMultiQubitGateError(object.getAvgMultiQubitGateError());
             dto.setAvgMultiQubitGateTime(object.getAvgMultiQubitGateTime());
             dto.setAvgSingleQubitGateError(object.getAvgSingleQubitGateError());
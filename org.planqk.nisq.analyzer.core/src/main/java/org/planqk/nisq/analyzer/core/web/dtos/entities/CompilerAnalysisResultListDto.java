@@ -22,11 +22,9 @@ package org.planqk.nisq.analyzer.core.web.dtos.entities;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.springframework.hateoas.RepresentationModel;
-
 import lombok.Getter;
 
-public class CompilerAnalysisResultListDto extends RepresentationModel<CompilerAnalysisResultListDto> {
+public class CompilerAnalysisResultListDto extends PagedListDto<CompilerAnalysisResultListDto> {
 
     @Getter
     private final List<CompilerAnalysisResultDto> compilerAnalysisResultList = new ArrayList<>();
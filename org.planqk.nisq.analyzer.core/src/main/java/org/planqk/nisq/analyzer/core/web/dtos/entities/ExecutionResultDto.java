@@ -20,6 +20,8 @@
 package org.planqk.nisq.analyzer.core.web.dtos.entities;
 
 import java.net.URI;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 import org.planqk.nisq.analyzer.core.model.ExecutionResult;
@@ -50,6 +52,10 @@ public class ExecutionResultDto extends RepresentationModel<ExecutionResultDto>
     @Setter
     private String result;
 
+    @Getter
+    @Setter
+    private Map<String, Integer> counts;
+
     @Getter
     @Setter
     private int shots;
@@ -69,7 +75,9 @@ public class ExecutionResultDto extends RepresentationModel<ExecutionResultDto>
             dto.setId(object.getId());
             dto.setStatus(object.getStatus());
             dto.setStatusCode(object.getStatusCode());
-            dto.setResult(object.getResult());
+            dto.setCounts(object.getCounts());
+            dto.setResult(Objects.nonNull(object.getResult()) || Objects.isNull(object.getCounts()) ?
+                object.getResult() : object.getCounts().toString());
             dto.setShots(object.getShots());
             dto.setHistogramIntersectionValue(object.getHistogramIntersectionValue());
             dto.setResultLocation(object.getResultLocation());
@@ -24,12 +24,11 @@ import java.util.List;
 
 import lombok.Getter;
 import org.assertj.core.util.Lists;
-import org.springframework.hateoas.RepresentationModel;
 
 /**
  * Data transfer object for multiple ExecutionResults ({@link org.planqk.nisq.analyzer.core.model.ExecutionResult}).
  */
-public class ExecutionResultListDto extends RepresentationModel<ExecutionResultListDto> {
+public class ExecutionResultListDto extends PagedListDto<ExecutionResultListDto> {
 
     @Getter
     private final List<ExecutionResultDto> executionResultDtos = Lists.newArrayList();
@@ -19,20 +19,19 @@
 
 package org.planqk.nisq.analyzer.core.web.dtos.entities;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 import lombok.Getter;
-import org.springframework.hateoas.RepresentationModel;
 
 /**
  * Data transfer object for multiple Implementations ({@link org.planqk.nisq.analyzer.core.model.Implementation}).
  */
-public class ImplementationListDto extends RepresentationModel<ImplementationListDto> {
+public class ImplementationListDto extends PagedListDto<ImplementationListDto> {
 
     @Getter
-    private final Set<ImplementationDto> implementationDtos = new HashSet<>();
+    private final Set<ImplementationDto> implementationDtos = new LinkedHashSet<>();
 
     public void add(final List<ImplementationDto> implementations) {
         this.implementationDtos.addAll(implementations);
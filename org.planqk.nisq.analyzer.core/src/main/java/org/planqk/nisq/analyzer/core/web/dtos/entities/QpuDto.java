@@ -95,6 +95,10 @@ public class QpuDto extends RepresentationModel<QpuDto> {
     @Setter
     private int queueSize;
 
+    @Getter
+    @Setter
+    private String lastCalibrated;
+
     public static final class Converter {
 
         public static QpuDto convert(final Qpu object) {
@@ -111,6 +115,7 @@ public class QpuDto extends RepresentationModel<QpuDto> {
             dto.setAvgMultiQubitGateTime(object.getAvgMultiQubitGateTime());
             dto.setMaxGateTime(object.getMaxGateTime());
             dto.setQueueSize(object.getQueueSize());
+            dto.setLastCalibrated(object.getLastCalibrated());
             return dto;
         }
 
@@ -125,6 +130,7 @@ public class QpuDto extends RepresentationModel<QpuDto> {
             qpu.setQubitCount(object.getNumberOfQubits());
             qpu.setSimulator(object.isSimulator());
             qpu.setQueueSize(object.getQueueSize());
+            qpu.setLastCalibrated(object.getLastCalibrated());
 
             // time unit has to be converted
             qpu.setT1(convert_micro_to_nano_seconds(object.getT1()));
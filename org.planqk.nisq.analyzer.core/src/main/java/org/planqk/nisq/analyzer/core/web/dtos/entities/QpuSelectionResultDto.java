@@ -34,8 +34,6 @@ public class QpuSelectionResultDto extends CircuitResultDto {
 
     int queueSize;
 
-    String transpiledCircuit;
-
     String transpiledLanguage;
 
     private String circuitName;
@@ -58,7 +56,6 @@ public class QpuSelectionResultDto extends CircuitResultDto {
             dto.setQueueSize(object.getQueueSize());
             dto.setTime(object.getTime());
             dto.setCircuitName(object.getCircuitName());
-            dto.setTranspiledCircuit(object.getTranspiledCircuit());
             dto.setTranspiledLanguage(object.getTranspiledLanguage());
             dto.setQpuSelectionJobId(object.getQpuSelectionJobId());
             dto.setUserId(object.getUserId());
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.model;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class CircuitConverterTest {
+
+    private static final String SMALL_CIRCUIT = "OPENQASM 2.0;\ninclude \"qelib1.inc\";\nqreg q[2];\nh q[0];\n"
+        + "cx q[0],q[1];\n";
+
+    private final CircuitConverter converter = new CircuitConverter();
+
+    @Test
+    public void convertNull() {
+        Assertions.assertNull(converter.convertToDatabaseColumn(null));
+        Assertions.assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    public void roundTripEmptyCircuit() {
+        String stored = converter.convertToDatabaseColumn("");
+
+        Assertions.assertEquals("" + CircuitConverter.MARKER + CircuitConverter.PLAIN_CODEC, stored);
+        Assertions.assertEquals("", converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    public void storeSmallCircuitAsPlainText() {
+        Assertions.assertTrue(SMALL_CIRCUIT.length() < CircuitConverter.MIN_COMPRESSION_SIZE);
+        String stored = converter.convertToDatabaseColumn(SMALL_CIRCUIT);
+
+        Assertions.assertEquals("" + CircuitConverter.MARKER + CircuitConverter.PLAIN_CODEC + SMALL_CIRCUIT, stored);
+        Assertions.assertEquals(SMALL_CIRCUIT, converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    public void storeLargeCircuitCompressed() {
+        StringBuilder circuit = new StringBuilder("OPENQASM 2.0;\ninclude \"qelib1.inc\";\nqreg q[5];\ncreg c[5];\n");
+        for (int i = 0; i < 200; i++) {
+            circuit.append("cx q[").append(i % 5).append("],q[").append((i + 1) % 5).append("];\n");
+            circuit.append("rz(").append(i * 0.01).append(") q[").append(i % 5).append("];\n");
+        }
+        circuit.append("measure q -> c;\n");
+        String stored = converter.convertToDatabaseColumn(circuit.toString());
+
+        Assertions.assertEquals(CircuitConverter.MARKER, stored.charAt(0));
+        Assertions.assertEquals(CircuitConverter.DEFLATE_CODEC, stored.charAt(1));
+        Assertions.assertTrue(stored.length() < circuit.length());
+        Assertions.assertEquals(circuit.toString(), converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    public void storeIncompressibleCircuitAsPlainText() {
+        StringBuilder circuit = new StringBuilder();
+        Random random = new Random(42);
+        while (circuit.length() < 2 * CircuitConverter.MIN_COMPRESSION_SIZE) {
+            circuit.append((char) ('!' + random.nextInt(90)));
+        }
+        String stored = converter.convertToDatabaseColumn(circuit.toString());
+
+        Assertions.assertEquals(CircuitConverter.PLAIN_CODEC, stored.charAt(1));
+        Assertions.assertEquals(circuit.toString(), converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    public void readLegacyCircuitWithoutMarker() {
+        Assertions.assertEquals(SMALL_CIRCUIT, converter.convertToEntityAttribute(SMALL_CIRCUIT));
+        Assertions.assertEquals("", converter.convertToEntityAttribute(""));
+    }
+
+    @Test
+    public void rejectUnknownCodec() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> converter.convertToEntityAttribute(CircuitConverter.MARKER + "X" + SMALL_CIRCUIT));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> converter.convertToEntityAttribute(String.valueOf(CircuitConverter.MARKER)));
+    }
+}
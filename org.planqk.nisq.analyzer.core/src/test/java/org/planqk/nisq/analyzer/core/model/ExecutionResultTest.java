@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class ExecutionResultTest {
+
+    @Test
+    public void parseLegacyCounts() {
+        ExecutionResult executionResult = new ExecutionResult();
+        executionResult.setResult("{00=480, 11=544}");
+
+        Map<String, Integer> expected = new HashMap<>();
+        expected.put("00", 480);
+        expected.put("11", 544);
+        Assertions.assertEquals(expected, executionResult.getCounts());
+    }
+
+    @Test
+    public void parseEmptyLegacyCounts() {
+        ExecutionResult executionResult = new ExecutionResult();
+        executionResult.setResult("{}");
+
+        Assertions.assertEquals(Collections.emptyMap(), executionResult.getCounts());
+    }
+
+    @Test
+    public void preferCountsOverLegacyCounts() {
+        ExecutionResult executionResult = new ExecutionResult();
+        executionResult.setResult("{00=480, 11=544}");
+        executionResult.setCounts(Collections.singletonMap("01", 1024));
+
+        Assertions.assertEquals(Collections.singletonMap("01", 1024), executionResult.getCounts());
+    }
+
+    @Test
+    public void returnNullForUnfinishedExecution() {
+        Assertions.assertNull(new ExecutionResult().getCounts());
+    }
+}
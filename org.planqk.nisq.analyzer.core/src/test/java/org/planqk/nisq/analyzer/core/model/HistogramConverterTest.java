@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class HistogramConverterTest {
+
+    private final HistogramConverter converter = new HistogramConverter();
+
+    @Test
+    public void convertNull() {
+        Assertions.assertNull(converter.convertToDatabaseColumn(null));
+        Assertions.assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    public void roundTripEmptyHistogram() {
+        Map<String, Integer> counts = new HashMap<>();
+
+        Assertions.assertEquals(counts, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(counts)));
+    }
+
+    @Test
+    public void roundTripBitstringHistogram() {
+        Map<String, Integer> counts = new HashMap<>();
+        counts.put("000000000", 1);
+        counts.put("100000001", 127);
+        counts.put("011111110", 128);
+        counts.put("111111111", 300000);
+        byte[] data = converter.convertToDatabaseColumn(counts);
+
+        // one byte for the format, the bit length and the size, two bytes per outcome and up to three per count
+        Assertions.assertTrue(data.length <= 3 + counts.size() * 5);
+        Assertions.assertEquals(counts, converter.convertToEntityAttribute(data));
+    }
+
+    @Test
+    public void roundTripGenericHistogram() {
+        Map<String, Integer> counts = new HashMap<>();
+        counts.put("0x0", 500);
+        counts.put("0x3", 524);
+        counts.put("01", 0);
+        counts.put("zustand-ü", 1);
+
+        Assertions.assertEquals(counts, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(counts)));
+    }
+
+    @Test
+    public void roundTripBitstringsOfDifferentLength() {
+        Map<String, Integer> counts = new HashMap<>();
+        counts.put("0", 3);
+        counts.put("11", 5);
+
+        Assertions.assertEquals(counts, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(counts)));
+    }
+
+    @Test
+    public void rejectUnknownFormat() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> converter.convertToEntityAttribute(new byte[] {42, 0}));
+    }
+}
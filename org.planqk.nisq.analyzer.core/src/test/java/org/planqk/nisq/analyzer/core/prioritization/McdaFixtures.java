@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.prioritization;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compiled circuits of two QPU selection jobs used as input for the tests of the in-process MCDA methods. The expected
+ * scores and rankings in the tests pin the current results of these methods to detect regressions. They were not
+ * recorded from the prioritization service, so the tests do not show that the rankings agree with it.
+ */
+public final class McdaFixtures {
+
+    /**
+     * Shor-15 compiled for three IBMQ QPUs, criteria: depth, multi-qubit-gate-depth, avg-multi-qubit-gate-error,
+     * avg-readout-error, avg-t1
+     */
+    public static final List<String> SHOR_ALTERNATIVES =
+        Arrays.asList("lima-qiskit", "lima-pytket", "quito-qiskit", "nairobi-qiskit", "nairobi-pytket");
+
+    public static final double[][] SHOR_PERFORMANCES = {
+        {52, 20, 0.0112, 0.031, 95.2},
+        {47, 18, 0.0112, 0.031, 95.2},
+        {60, 24, 0.0089, 0.042, 81.4},
+        {45, 19, 0.0105, 0.027, 118.9},
+        {49, 17, 0.0105, 0.027, 118.9}
+    };
+
+    public static final double[] SHOR_WEIGHTS = {0.3, 0.2, 0.2, 0.15, 0.15};
+
+    public static final boolean[] SHOR_IS_COST = {true, true, true, true, false};
+
+    /**
+     * Grover-SAT compiled by four compilers for the same QPU, criteria: total-number-of-operations, width,
+     * number-of-multi-qubit-gates, avg-t2
+     */
+    public static final List<String> GROVER_ALTERNATIVES = Arrays.asList("qiskit-o1", "qiskit-o3", "pytket", "cirq");
+
+    public static final double[][] GROVER_PERFORMANCES = {
+        {310, 7, 96, 62.5},
+        {254, 7, 88, 62.5},
+        {281, 6, 91, 48.0},
+        {402, 8, 120, 70.1}
+    };
+
+    public static final double[] GROVER_WEIGHTS = {0.25, 0.25, 0.25, 0.25};
+
+    public static final boolean[] GROVER_IS_COST = {true, true, true, false};
+
+    private McdaFixtures() {
+    }
+
+    /**
+     * Order the given alternatives by descending score
+     *
+     * @param alternatives the names of the alternatives
+     * @param scores       the scores of the alternatives
+     * @return the names of the alternatives, starting with the best one
+     */
+    public static List<String> rank(List<String> alternatives, double[] scores) {
+        return IntStream.range(0, scores.length).boxed()
+            .sorted(Comparator.comparingDouble((Integer i) -> scores[i]).reversed())
+            .map(alternatives::get).collect(Collectors.toList());
+    }
+}
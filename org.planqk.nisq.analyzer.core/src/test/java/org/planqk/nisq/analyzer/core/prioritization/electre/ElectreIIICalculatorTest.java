@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.prioritization.electre;
+
+import static org.planqk.nisq.analyzer.core.prioritization.McdaFixtures.GROVER_IS_COST;
+import static org.planqk.nisq.analyzer.core.prioritization.McdaFixtures.GROVER_PERFORMANCES;
+import static org.planqk.nisq.analyzer.core.prioritization.McdaFixtures.GROVER_WEIGHTS;
+import static org.planqk.nisq.analyzer.core.prioritization.McdaFixtures.SHOR_IS_COST;
+import static org.planqk.nisq.analyzer.core.prioritization.McdaFixtures.SHOR_PERFORMANCES;
+import static org.planqk.nisq.analyzer.core.prioritization.McdaFixtures.SHOR_WEIGHTS;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+import org.planqk.nisq.analyzer.core.prioritization.McdaConstants;
+import org.planqk.nisq.analyzer.core.prioritization.XmlUtils;
+import org.xmcda.v2.AlternativesComparisons;
+import org.xmcda.v2.XMCDA;
+
+public class ElectreIIICalculatorTest {
+
+    @Test
+    public void rankShorJobWithoutThresholds() throws IOException {
+        int[] positions = rank(SHOR_PERFORMANCES, SHOR_WEIGHTS, SHOR_IS_COST, new double[5], new double[5],
+            noVeto(5));
+
+        Assertions.assertArrayEquals(new int[] {3, 3, 5, 1, 1}, positions);
+        Assertions.assertArrayEquals(interpret("electre-III-intersection-distillation-shor.xml", 5), positions);
+    }
+
+    @Test
+    public void rankShorJobWithThresholds() throws IOException {
+        int[] positions = rank(SHOR_PERFORMANCES, SHOR_WEIGHTS, SHOR_IS_COST,
+            new double[] {3, 1, 0.0005, 0.002, 5},
+            new double[] {8, 3, 0.0015, 0.006, 15},
+            new double[] {20, Double.NaN, Double.NaN, Double.NaN, 40});
+
+        Assertions.assertArrayEquals(new int[] {4, 2, 5, 1, 2}, positions);
+        Assertions.assertArrayEquals(interpret("electre-III-intersection-distillation-shor-thresholds.xml", 5),
+            positions);
+    }
+
+    @Test
+    public void rankGroverJobWithoutThresholds() throws IOException {
+        int[] positions = rank(GROVER_PERFORMANCES, GROVER_WEIGHTS, GROVER_IS_COST, new double[4], new double[4],
+            noVeto(4));
+
+        Assertions.assertArrayEquals(new int[] {3, 1, 2, 4}, positions);
+        Assertions.assertArrayEquals(interpret("electre-III-intersection-distillation-grover.xml", 4), positions);
+    }
+
+    @Test
+    public void rankGroverJobWithThresholds() throws IOException {
+        int[] positions = rank(GROVER_PERFORMANCES, GROVER_WEIGHTS, GROVER_IS_COST,
+            new double[] {20, 0, 5, 2},
+            new double[] {60, 1, 15, 8},
+            new double[] {150, Double.NaN, Double.NaN, Double.NaN});
+
+        Assertions.assertArrayEquals(new int[] {1, 1, 1, 4}, positions);
+        Assertions.assertArrayEquals(interpret("electre-III-intersection-distillation-grover-thresholds.xml", 4),
+            positions);
+    }
+
+    @Test
+    public void vetoCancelsOutranking() {
+        // a is better on the first criterion but exceeds the veto threshold on the second one
+        double[][] credibility = ElectreIIICalculator.calculateCredibility(new double[][] {{10, 0}, {0, 10}},
+            new double[] {0.9, 0.1}, new boolean[] {false, false}, new double[2], new double[2],
+            new double[] {Double.NaN, 5});
+
+        Assertions.assertEquals(0, credibility[0][1], 1e-9);
+        Assertions.assertEquals(0.1, credibility[1][0], 1e-9);
+    }
+
+    /**
+     * Rank the alternatives like the local Electre III method
+     */
+    private static int[] rank(double[][] performances, double[] weights, boolean[] isCost, double[] indifference,
+                              double[] preference, double[] veto) {
+        return ElectreIIICalculator.getPositions(ElectreIIICalculator.distill(ElectreIIICalculator.cut(
+            ElectreIIICalculator.calculateCredibility(performances, weights, isCost, indifference, preference, veto),
+            0.5)));
+    }
+
+    /**
+     * Rank the alternatives like the Electre III method interprets the intersection distillation returned by the
+     * ranking web service, i.e., the XMCDA 2.0.0 document with the given name, in which the alternatives are identified
+     * by the UUIDs ending with their one-based index
+     */
+    private static int[] interpret(String intersectionDistillation, int alternatives) throws IOException {
+        String xmcdaString;
+        try (InputStream stream = ElectreIIICalculatorTest.class.getResourceAsStream(
+            "/xmcda/" + intersectionDistillation)) {
+            xmcdaString = IOUtils.toString(stream, StandardCharsets.UTF_8);
+        }
+        XmlUtils xmlUtils = new XmlUtils();
+        XMCDA xmcda = xmlUtils.stringToXmcda(xmlUtils.changeXMCDAVersion(xmcdaString,
+            McdaConstants.WEB_SERVICE_NAMESPACE_2_0_0, McdaConstants.WEB_SERVICE_NAMESPACE_DEFAULT));
+
+        List<UUID> alternativeIDs = new ArrayList<>();
+        for (int i = 1; i <= alternatives; i++) {
+            alternativeIDs.add(UUID.fromString(String.format("00000000-0000-0000-0000-%012d", i)));
+        }
+        Map<UUID, Integer> positionsByID = ElectreIIIMethod.getPositions(
+            (AlternativesComparisons) xmcda.getProjectReferenceOrMethodMessagesOrMethodParameters().get(0).getValue(),
+            alternativeIDs);
+
+        int[] positions = new int[alternatives];
+        for (int i = 0; i < alternatives; i++) {
+            positions[i] = positionsByID.get(alternativeIDs.get(i));
+        }
+        return positions;
+    }
+
+    private static double[] noVeto(int criteria) {
+        double[] veto = new double[criteria];
+        Arrays.fill(veto, Double.NaN);
+        return veto;
+    }
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2024 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.planqk.nisq.analyzer.core.prioritization.topsis;
+
+import static org.planqk.nisq.analyzer.core.prioritization.McdaFixtures.GROVER_ALTERNATIVES;
+import static org.planqk.nisq.analyzer.core.prioritization.McdaFixtures.GROVER_IS_COST;
+import static org.planqk.nisq.analyzer.core.prioritization.McdaFixtures.GROVER_PERFORMANCES;
+import static org.planqk.nisq.analyzer.core.prioritization.McdaFixtures.GROVER_WEIGHTS;
+import static org.planqk.nisq.analyzer.core.prioritization.McdaFixtures.SHOR_ALTERNATIVES;
+import static org.planqk.nisq.analyzer.core.prioritization.McdaFixtures.SHOR_IS_COST;
+import static org.planqk.nisq.analyzer.core.prioritization.McdaFixtures.SHOR_PERFORMANCES;
+import static org.planqk.nisq.analyzer.core.prioritization.McdaFixtures.SHOR_WEIGHTS;
+import static org.planqk.nisq.analyzer.core.prioritization.McdaFixtures.rank;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class TopsisCalculatorTest {
+
+    @Test
+    public void rankShorJob() {
+        double[] scores = TopsisCalculator.calculateScores(SHOR_PERFORMANCES, SHOR_WEIGHTS, SHOR_IS_COST);
+
+        Assertions.assertArrayEquals(new double[] {0.454465, 0.592588, 0.323452, 0.726181, 0.697625}, scores, 1e-6);
+        Assertions.assertEquals(
+            Arrays.asList("nairobi-qiskit", "nairobi-pytket", "lima-pytket", "lima-qiskit", "quito-qiskit"),
+            rank(SHOR_ALTERNATIVES, scores));
+    }
+
+    @Test
+    public void rankGroverJob() {
+        double[] scores = TopsisCalculator.calculateScores(GROVER_PERFORMANCES, GROVER_WEIGHTS, GROVER_IS_COST);
+
+        Assertions.assertArrayEquals(new double[] {0.627551, 0.729577, 0.607181, 0.366025}, scores, 1e-6);
+        Assertions.assertEquals(Arrays.asList("qiskit-o3", "qiskit-o1", "pytket", "cirq"),
+            rank(GROVER_ALTERNATIVES, scores));
+    }
+
+    @Test
+    public void scoreEqualPerformancesAsIdeal() {
+        double[] scores = TopsisCalculator.calculateScores(new double[][] {{5, 1}, {5, 1}}, new double[] {1, 1},
+            new boolean[] {true, false});
+
+        Assertions.assertArrayEquals(new double[] {0.5, 0.5}, scores, 1e-9);
+    }
+}